@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Runs the whole suite with the GC profiler and writes results/<commit>.json, plus results/<commit>.env with the
+# machine it ran on. Extra arguments go to JMH, e.g. ./run.sh TopicDiscoveryBenchmark -p fileCount=10000
+set -euo pipefail
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+cd "$root"
+
+# Results are named after the commit they measure, so they only mean something for a clean tree
+if [ -n "$(git status --porcelain -- src benchmarks/src pom.xml benchmarks/pom.xml)" ]; then
+    echo "Uncommitted changes under src/ or benchmarks/; commit them first so the results match a commit" >&2
+    exit 1
+fi
+commit="$(git rev-parse --short HEAD)"
+
+mvn -B -q install -DskipTests
+mvn -B -q -f benchmarks/pom.xml package
+
+{
+    echo "commit: $commit"
+    echo "date: $(date -u +%Y-%m-%dT%H:%M:%SZ)"
+    echo "os: $(uname -srm)"
+    echo "cpu: $(grep -m1 'model name' /proc/cpuinfo 2>/dev/null | cut -d: -f2- | sed 's/^ *//' || sysctl -n machdep.cpu.brand_string)"
+    echo "cores: $(getconf _NPROCESSORS_ONLN)"
+    java -version 2>&1 | sed 's/^/java: /'
+} > "benchmarks/results/$commit.env"
+
+java -jar benchmarks/target/benchmarks.jar -prof gc -rf json -rff "benchmarks/results/$commit.json" "$@"
+echo "Wrote benchmarks/results/$commit.json and benchmarks/results/$commit.env"
@@ -0,0 +1,58 @@
+package com.interview.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+// Builds application services outside Spring and reaches their private hot-path methods, so the
+// benchmarks measure the production code as is rather than copies of it
+final class Instances {
+
+    private Instances() {
+    }
+
+    // Calls the (single, Lombok-generated) constructor; each parameter gets the first given collaborator of a
+    // matching type, or null for collaborators the benchmarked methods never touch
+    static <T> T create(Class<T> type, Object... collaborators) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructors()[0];
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                for (Object collaborator : collaborators) {
+                    if (parameterTypes[i].isInstance(collaborator)) {
+                        args[i] = collaborator;
+                        break;
+                    }
+                }
+            }
+            constructor.setAccessible(true);
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getName(), e);
+        }
+    }
+
+    // Stands in for @Value injection
+    static void set(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName, e);
+        }
+    }
+
+    // Held in static final fields, a method handle is a JIT constant and adds no reflective overhead per call
+    static MethodHandle method(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            var method = type.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + type.getName() + "." + name, e);
+        }
+    }
+}
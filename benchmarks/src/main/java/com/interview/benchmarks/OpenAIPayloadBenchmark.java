@@ -0,0 +1,135 @@
+package com.interview.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.config.JacksonConfig;
+import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.QuestionDTO;
+import com.interview.quizsystem.model.QuestionType;
+import com.interview.quizsystem.service.impl.OpenAIAnswerEvaluationService;
+import com.interview.quizsystem.service.impl.OpenAIClient;
+import com.interview.quizsystem.service.impl.QuestionGeneratorServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Everything done around an OpenAI call in-process: building prompts, cleaning and parsing the responses
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OpenAIPayloadBenchmark {
+
+    private static final MethodHandle BUILD_QUESTION_PROMPT =
+            Instances.method(QuestionGeneratorServiceImpl.class, "buildPrompt", String.class, Difficulty.class);
+    private static final MethodHandle CLEAN_JSON_RESPONSE =
+            Instances.method(QuestionGeneratorServiceImpl.class, "cleanJsonResponse", String.class);
+    private static final MethodHandle PARSE_QUESTION = Instances.method(QuestionGeneratorServiceImpl.class,
+            "parseQuestionFromResponse", String.class, String.class, Difficulty.class, String.class);
+    private static final MethodHandle PARSE_COMPLETION =
+            Instances.method(OpenAIClient.class, "parseCompletion", String.class, String.class);
+    private static final MethodHandle BUILD_EVALUATION_PROMPT =
+            Instances.method(OpenAIAnswerEvaluationService.class, "buildPrompt", QuestionDTO.class, String.class);
+    private static final MethodHandle PARSE_EVALUATION =
+            Instances.method(OpenAIAnswerEvaluationService.class, "parseResponse", String.class);
+
+    private static final String QUESTION_JSON = """
+            {
+                "question": "Why is merge sort preferred over quicksort for sorting linked lists?",
+                "type": "MULTIPLE_CHOICE",
+                "options": ["It needs no random access", "It is always faster", "It sorts in place", "It is unstable"],
+                "correctAnswer": "It needs no random access",
+                "explanation": "Merge sort only walks the lists sequentially, while quicksort's partitioning relies on random access."
+            }""";
+
+    private static final String EVALUATION_JSON = """
+            {
+                "correct": false,
+                "similarityScore": 62.5,
+                "feedback": "The answer identifies stability but misses the access pattern argument.",
+                "correctParts": "Mentions that merge sort is stable.",
+                "incorrectParts": "Does not explain why random access matters for quicksort.",
+                "improvementSuggestions": "Compare how each algorithm walks the data structure.",
+                "conceptualUnderstanding": "Partial"
+            }""";
+
+    // Content pieces range from a short note to a long page of a notes repository
+    @Param({"500", "8000"})
+    private int contentLength;
+
+    private QuestionGeneratorServiceImpl generator;
+    private OpenAIClient client;
+    private OpenAIAnswerEvaluationService evaluator;
+    private String content;
+    private String fencedQuestion;
+    private String completionBody;
+    private QuestionDTO question;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        generator = Instances.create(QuestionGeneratorServiceImpl.class, objectMapper);
+        client = Instances.create(OpenAIClient.class, objectMapper);
+        evaluator = Instances.create(OpenAIAnswerEvaluationService.class, objectMapper);
+
+        String paragraph = "Merge sort splits the array in halves, sorts them recursively and merges the results. ";
+        content = paragraph.repeat(contentLength / paragraph.length() + 1).substring(0, contentLength);
+        // Models usually wrap JSON in a markdown fence, which cleanJsonResponse strips
+        fencedQuestion = "```json\n" + QUESTION_JSON + "\n```";
+        completionBody = objectMapper.writeValueAsString(Map.of(
+                "id", "chatcmpl-benchmark",
+                "object", "chat.completion",
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", fencedQuestion),
+                        "finish_reason", "stop")),
+                "usage", Map.of("prompt_tokens", contentLength / 4, "completion_tokens", 120,
+                        "total_tokens", contentLength / 4 + 120)));
+        question = QuestionDTO.builder()
+                .id("q1")
+                .content("Why is merge sort preferred over quicksort for sorting linked lists?")
+                .type(QuestionType.SHORT_ANSWER)
+                .correctAnswer("It needs no random access")
+                .explanation(content)
+                .topic("algorithms")
+                .difficulty(Difficulty.MEDIUM)
+                .build();
+    }
+
+    @Benchmark
+    public String buildQuestionPrompt() throws Throwable {
+        return (String) BUILD_QUESTION_PROMPT.invoke(generator, content, Difficulty.MEDIUM);
+    }
+
+    @Benchmark
+    public String buildEvaluationPrompt() throws Throwable {
+        return (String) BUILD_EVALUATION_PROMPT.invoke(evaluator, question, "Merge sort is stable");
+    }
+
+    @Benchmark
+    public String cleanJsonResponse() throws Throwable {
+        return (String) CLEAN_JSON_RESPONSE.invoke(generator, fencedQuestion);
+    }
+
+    // Envelope of the chat completion: choices[0].message.content and usage
+    @Benchmark
+    public OpenAIClient.Completion parseCompletion() throws Throwable {
+        return (OpenAIClient.Completion) PARSE_COMPLETION.invoke(client, completionBody, content);
+    }
+
+    // Cleaned question JSON into a QuestionDTO
+    @Benchmark
+    public QuestionDTO parseQuestion() throws Throwable {
+        return (QuestionDTO) PARSE_QUESTION.invoke(generator, QUESTION_JSON, "algorithms", Difficulty.MEDIUM, content);
+    }
+
+    @Benchmark
+    public AnswerFeedback parseEvaluation() throws Throwable {
+        return (AnswerFeedback) PARSE_EVALUATION.invoke(evaluator, EVALUATION_JSON);
+    }
+}
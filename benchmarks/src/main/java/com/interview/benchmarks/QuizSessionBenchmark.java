@@ -0,0 +1,142 @@
+package com.interview.benchmarks;
+
+import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.model.*;
+import com.interview.quizsystem.model.entity.Question;
+import com.interview.quizsystem.model.entity.Topic;
+import com.interview.quizsystem.service.AnswerEvaluationService;
+import com.interview.quizsystem.service.impl.QuizSessionServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-request work of submitAnswer/endSession that does not touch the database
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QuizSessionBenchmark {
+
+    private static final MethodHandle VALIDATE_ANSWER =
+            Instances.method(QuizSessionServiceImpl.class, "validateAnswer", QuestionDTO.class, String.class);
+    private static final MethodHandle CALCULATE_SCORE =
+            Instances.method(QuizSessionServiceImpl.class, "calculateScore", QuizSession.class);
+    private static final MethodHandle CONVERT_TO_DTO =
+            Instances.method(QuizSessionServiceImpl.class, "convertToDTO", Question.class);
+    private static final MethodHandle CONVERT_TO_ENTITY =
+            Instances.method(QuizSessionServiceImpl.class, "convertToEntity", QuestionDTO.class, Topic.class);
+
+    // Questions per session: the API's default and its maximum
+    @Param({"5", "20"})
+    private int questionCount;
+
+    private QuizSessionServiceImpl service;
+    private QuestionDTO multipleChoice;
+    private QuestionDTO trueFalse;
+    private QuestionDTO shortAnswer;
+    private Question entity;
+    private Topic topic;
+    private QuizSession session;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Stands in for the OpenAI call, so only the service's own work is measured
+        AnswerEvaluationService evaluator = (question, answer) -> AnswerFeedback.builder()
+                .correct(true)
+                .similarityScore(85.0)
+                .feedback("stub")
+                .correctAnswer(question.getCorrectAnswer())
+                .build();
+        service = Instances.create(QuizSessionServiceImpl.class, evaluator);
+        topic = Topic.builder().id(1L).name("algorithms").build();
+
+        List<String> options = List.of("O(n)", "O(n log n)", "O(n^2)", "O(log n)");
+        multipleChoice = question(QuestionType.MULTIPLE_CHOICE, options, "O(n log n)");
+        trueFalse = question(QuestionType.TRUE_FALSE, List.of(), "true");
+        shortAnswer = question(QuestionType.SHORT_ANSWER, List.of(), "A stable sort keeps equal elements in order");
+        entity = Question.builder()
+                .id(UUID.randomUUID().toString())
+                .topic(topic)
+                .questionText(multipleChoice.getContent())
+                .questionType(QuestionType.MULTIPLE_CHOICE)
+                .options(new ArrayList<>(options))
+                .difficulty(Difficulty.MEDIUM)
+                .expectedAnswer("O(n log n)")
+                .explanation(multipleChoice.getExplanation())
+                .sourceContent(multipleChoice.getSourceContent())
+                .build();
+
+        List<QuestionDTO> questions = new ArrayList<>();
+        List<UserAnswer> answers = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            QuestionDTO question = question(QuestionType.MULTIPLE_CHOICE, options, "O(n log n)");
+            questions.add(question);
+            answers.add(UserAnswer.builder()
+                    .questionId(question.getId())
+                    .answer(i % 3 == 0 ? "O(n)" : "O(n log n)")
+                    .correct(i % 3 != 0)
+                    .answeredAt(LocalDateTime.now())
+                    .build());
+        }
+        session = QuizSession.builder()
+                .id(UUID.randomUUID().toString())
+                .topic(topic.getName())
+                .difficulty(Difficulty.MEDIUM)
+                .status(SessionStatus.COMPLETED)
+                .questions(questions)
+                .answers(answers)
+                .build();
+    }
+
+    private static QuestionDTO question(QuestionType type, List<String> options, String correctAnswer) {
+        return QuestionDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .content("What is the average time complexity of merge sort on an array of n elements?")
+                .type(type)
+                .options(new ArrayList<>(options))
+                .correctAnswer(correctAnswer)
+                .explanation("Merge sort splits the array in halves log n times and merges each level in O(n).")
+                .topic("algorithms")
+                .difficulty(Difficulty.MEDIUM)
+                .sourceContent("Merge sort splits the array in halves, sorts them and merges the results.")
+                .build();
+    }
+
+    @Benchmark
+    public boolean validateMultipleChoice() throws Throwable {
+        return (boolean) VALIDATE_ANSWER.invoke(service, multipleChoice, "O(n log n)");
+    }
+
+    @Benchmark
+    public boolean validateTrueFalse() throws Throwable {
+        return (boolean) VALIDATE_ANSWER.invoke(service, trueFalse, " True ");
+    }
+
+    // Free-text answers with the AI evaluation stubbed out
+    @Benchmark
+    public boolean validateShortAnswer() throws Throwable {
+        return (boolean) VALIDATE_ANSWER.invoke(service, shortAnswer, "Equal elements keep their relative order");
+    }
+
+    @Benchmark
+    public double calculateScore() throws Throwable {
+        return (double) CALCULATE_SCORE.invoke(service, session);
+    }
+
+    @Benchmark
+    public QuestionDTO convertToDTO() throws Throwable {
+        return (QuestionDTO) CONVERT_TO_DTO.invoke(service, entity);
+    }
+
+    @Benchmark
+    public Question convertToEntity() throws Throwable {
+        return (Question) CONVERT_TO_ENTITY.invoke(service, multipleChoice, topic);
+    }
+}
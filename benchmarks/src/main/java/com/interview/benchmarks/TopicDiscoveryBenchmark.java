@@ -0,0 +1,111 @@
+package com.interview.benchmarks;
+
+import com.interview.quizsystem.model.entity.Topic;
+import com.interview.quizsystem.service.TopicService;
+import com.interview.quizsystem.service.impl.GitHubParserServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Topic discovery walks the whole notes checkout on every cache miss; measured over synthetic repositories
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TopicDiscoveryBenchmark {
+
+    private static final MethodHandle EXTRACT_TOPIC = Instances.method(GitHubParserServiceImpl.class, "extractTopic", Path.class);
+    private static final int TOPICS = 100;
+
+    @Param({"1000", "10000", "100000"})
+    private int fileCount;
+
+    private Path repository;
+    private List<Path> files;
+    private GitHubParserServiceImpl parser;
+
+    @Setup(Level.Trial)
+    public void createRepository() throws IOException {
+        repository = Files.createTempDirectory("topic-discovery");
+        files = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            String topic = "topic" + (i % TOPICS);
+            // Roughly the mix of a real notes repository: mostly notes, some assets and vendored files
+            Path file = switch (i % 10) {
+                case 0 -> repository.resolve("node_modules/pkg" + i % 50).resolve("readme-" + i + ".md");
+                case 1 -> repository.resolve("assets").resolve("diagram-" + i + ".png");
+                case 2 -> repository.resolve("notes").resolve(topic + "_part" + i + ".md");
+                default -> repository.resolve("docs/area" + i % 20).resolve(topic + "-part" + i + ".md");
+            };
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "# " + topic + "\n\nSynthetic note " + i + "\n");
+            files.add(file);
+        }
+
+        // Every call misses the scan cache, so each one measures a full discovery pass
+        parser = Instances.create(GitHubParserServiceImpl.class, new InMemoryTopicService(), new NoOpCacheManager());
+        Instances.set(parser, "localPath", repository.toString());
+        Instances.set(parser, "filePatterns", "**/*.md,**/docs/*.md,**/notes/*.md");
+        Instances.set(parser, "excludePatterns", "**/node_modules/**,**/target/**");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteRepository() throws IOException {
+        try (Stream<Path> paths = Files.walk(repository)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // Whole discovery pass: directory walk, glob matching and topic extraction
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> availableTopics() {
+        return parser.getAvailableTopics();
+    }
+
+    // Topic extraction alone, over every file of the repository
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void extractTopic(Blackhole blackhole) throws Throwable {
+        for (Path file : files) {
+            blackhole.consume((String) EXTRACT_TOPIC.invoke(parser, file));
+        }
+    }
+
+    // Topics are created once by discovery; keep that cheap and out of the measurement
+    private static final class InMemoryTopicService implements TopicService {
+        private final Topic topic = Topic.builder().id(1L).name("topic").build();
+
+        @Override
+        public Topic createTopic(String name, String description) {
+            return topic;
+        }
+
+        @Override
+        public Topic getOrCreateTopic(String name) {
+            return topic;
+        }
+
+        @Override
+        public List<Topic> getAllTopics() {
+            return List.of(topic);
+        }
+
+        @Override
+        public Topic getTopicByName(String name) {
+            return topic;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.interview.loadtest;
+
+import com.interview.quizsystem.InterviewQuizSystemApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.eclipse.jgit.api.Git;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// The application under test in this JVM: embedded Postgres, a local notes repository and the OpenAI stub.
+// Nothing leaves the machine, so runs are repeatable offline
+class EmbeddedQuizApp implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    private final int port;
+
+    private EmbeddedQuizApp(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+        this.port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    static EmbeddedQuizApp start(List<String> appArgs) throws Exception {
+        Path workDir = Files.createTempDirectory("quiz-load-test");
+        Path notes = createNotesRepository(workDir.resolve("repo"));
+
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try {
+            // Command-line arguments take precedence over any application.properties packaged with the app
+            List<String> args = new ArrayList<>();
+            Properties properties = new Properties();
+            try (InputStream in = EmbeddedQuizApp.class.getResourceAsStream("/load-test.properties")) {
+                properties.load(in);
+            }
+            // load.app-args replace same-named settings rather than adding a second value for them
+            for (String arg : appArgs) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("Expected --key=value in load.app-args: " + arg);
+                }
+                properties.setProperty(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+            properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+            // getJdbcUrl already carries ?user=
+            args.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+            args.add("--github.repository.local-path=" + notes);
+            args.add("--progress.storage.path=" + workDir.resolve("progress.json"));
+
+            ConfigurableApplicationContext context = SpringApplication.run(
+                    InterviewQuizSystemApplication.class, args.toArray(String[]::new));
+            return new EmbeddedQuizApp(postgres, context);
+        } catch (Exception e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    // The app reads topics from a Git working copy; a committed local repository needs no clone
+    private static Path createNotesRepository(Path directory) throws Exception {
+        Files.createDirectories(directory);
+        Resource[] notes = new PathMatchingResourcePatternResolver().getResources("classpath:/notes/*.md");
+        for (Resource note : notes) {
+            try (InputStream in = note.getInputStream()) {
+                Files.copy(in, directory.resolve(note.getFilename()));
+            }
+        }
+        try (Git git = Git.init().setDirectory(directory.toFile()).call()) {
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Load test notes").setAuthor("load-test", "load-test@localhost")
+                    .setCommitter("load-test", "load-test@localhost").call();
+        }
+        return directory;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.interview.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency and error counts per endpoint. Recording is wait-free; intervals are cut at the end of the warmup
+// (discarded) and at the end of the run (reported)
+class EndpointRecorder {
+
+    private static final int PRECISION = 3;
+
+    private final Map<String, Recorder> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean failed) {
+        latencies.computeIfAbsent(endpoint, key -> new Recorder(PRECISION))
+                .recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        if (failed) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    void reset() {
+        latencies.values().forEach(Recorder::getIntervalHistogram);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    LoadReport report(double measuredSeconds) {
+        LoadReport report = new LoadReport();
+        latencies.forEach((endpoint, recorder) -> {
+            Histogram histogram = recorder.getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            long failed = errors.getOrDefault(endpoint, new LongAdder()).sum();
+            report.put(endpoint, new LoadReport.EndpointResult(
+                    count,
+                    count / measuredSeconds,
+                    count > 0 ? (double) failed / count : 0.0,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(95) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0));
+        });
+        return report;
+    }
+}
@@ -0,0 +1,80 @@
+package com.interview.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Per-endpoint results of one run; the same JSON shape is used for reports and the stored baseline
+class LoadReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record EndpointResult(long requests, double throughputPerSecond, double errorRate,
+                          double p50Ms, double p95Ms, double p99Ms) {
+    }
+
+    private final Map<String, EndpointResult> endpoints = new TreeMap<>();
+
+    void put(String endpoint, EndpointResult result) {
+        endpoints.put(endpoint, result);
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        LoadReport report = new LoadReport();
+        report.endpoints.putAll(MAPPER.readValue(path.toFile(), new TypeReference<Map<String, EndpointResult>>() {
+        }));
+        return report;
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), endpoints);
+    }
+
+    String format() {
+        StringBuilder table = new StringBuilder(String.format("%-40s %10s %10s %8s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms"));
+        endpoints.forEach((endpoint, result) -> table.append(String.format("%-40s %10d %10.1f %7.2f%% %10.1f %10.1f %10.1f%n",
+                endpoint, result.requests(), result.throughputPerSecond(), result.errorRate() * 100,
+                result.p50Ms(), result.p95Ms(), result.p99Ms())));
+        return table.toString();
+    }
+
+    // A regression is a slower p95/p99, lower throughput or higher error rate than the baseline allows
+    List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        baseline.endpoints.forEach((endpoint, expected) -> {
+            EndpointResult actual = endpoints.get(endpoint);
+            if (actual == null) {
+                regressions.add(endpoint + ": no requests recorded");
+                return;
+            }
+            if (actual.p95Ms() > expected.p95Ms() * (1 + tolerance)) {
+                regressions.add(String.format("%s: p95 %.1f ms > baseline %.1f ms", endpoint, actual.p95Ms(), expected.p95Ms()));
+            }
+            if (actual.p99Ms() > expected.p99Ms() * (1 + tolerance)) {
+                regressions.add(String.format("%s: p99 %.1f ms > baseline %.1f ms", endpoint, actual.p99Ms(), expected.p99Ms()));
+            }
+            if (actual.throughputPerSecond() < expected.throughputPerSecond() * (1 - tolerance)) {
+                regressions.add(String.format("%s: %.1f req/s < baseline %.1f req/s",
+                        endpoint, actual.throughputPerSecond(), expected.throughputPerSecond()));
+            }
+            // Error rates are compared in absolute terms; a relative tolerance on ~0 means nothing
+            if (actual.errorRate() > expected.errorRate() + 0.01) {
+                regressions.add(String.format("%s: error rate %.2f%% > baseline %.2f%%",
+                        endpoint, actual.errorRate() * 100, expected.errorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+}
@@ -0,0 +1,77 @@
+package com.interview.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Drives a closed-model load (a fixed number of users, each waiting for its previous request) against the
+// quiz REST API, reports throughput and p50/p95/p99 per endpoint, and fails on regression against the baseline
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        EmbeddedQuizApp app = settings.embedded() ? EmbeddedQuizApp.start(settings.appArgs()) : null;
+        LoadReport report;
+        try {
+            String baseUrl = app != null ? app.baseUrl() : settings.target();
+            report = run(baseUrl, settings);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+
+        System.out.println(report.format());
+        report.write(settings.report());
+        System.out.println("Report written to " + settings.report());
+
+        if (settings.updateBaseline() || !Files.exists(settings.baseline())) {
+            report.write(settings.baseline());
+            System.out.println("Baseline written to " + settings.baseline() + "; commit it to track later runs");
+            return;
+        }
+        List<String> regressions = report.regressionsAgainst(LoadReport.read(settings.baseline()), settings.tolerance());
+        if (!regressions.isEmpty()) {
+            regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+            throw new IllegalStateException(regressions.size() + " performance regressions against " + settings.baseline());
+        }
+        System.out.println("No regressions against " + settings.baseline() + " (tolerance " + settings.tolerance() + ")");
+    }
+
+    private static LoadReport run(String baseUrl, LoadTestSettings settings) throws InterruptedException {
+        EndpointRecorder recorder = new EndpointRecorder();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds() + settings.durationSeconds());
+        ExecutorService users = Executors.newFixedThreadPool(settings.users());
+        for (int user = 0; user < settings.users(); user++) {
+            // Fixed seeds: the same settings replay the same sequence of choices per user
+            users.submit(new QuizUserScenario(baseUrl, httpClient, objectMapper, recorder, settings, deadline, user));
+        }
+
+        // Warmup results (JIT, connection pools, caches) are thrown away
+        TimeUnit.SECONDS.sleep(settings.warmupSeconds());
+        recorder.reset();
+        long measuredFrom = System.nanoTime();
+
+        users.shutdown();
+        if (!users.awaitTermination(settings.durationSeconds() + 120L, TimeUnit.SECONDS)) {
+            users.shutdownNow();
+        }
+        double measuredSeconds = (System.nanoTime() - measuredFrom) / 1e9;
+        System.out.printf("%d users, %d s warmup, %.0f s measured against %s%n",
+                settings.users(), settings.warmupSeconds(), measuredSeconds, baseUrl);
+        return recorder.report(measuredSeconds);
+    }
+}
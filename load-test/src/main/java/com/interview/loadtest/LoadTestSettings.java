@@ -0,0 +1,41 @@
+package com.interview.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// Read from system properties (set by the exec plugin from the load.* Maven properties)
+record LoadTestSettings(String target,
+                        int users,
+                        int durationSeconds,
+                        int warmupSeconds,
+                        int questionsPerSession,
+                        long thinkTimeMs,
+                        Path baseline,
+                        double tolerance,
+                        boolean updateBaseline,
+                        Path report,
+                        List<String> appArgs) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("load.target", ""),
+                Integer.getInteger("load.users", 20),
+                Integer.getInteger("load.duration-seconds", 120),
+                Integer.getInteger("load.warmup-seconds", 20),
+                Integer.getInteger("load.questions-per-session", 5),
+                Long.getLong("load.think-time-ms", 200),
+                Path.of(System.getProperty("load.baseline", "baseline.json")),
+                Double.parseDouble(System.getProperty("load.tolerance", "0.15")),
+                Boolean.getBoolean("load.update-baseline"),
+                Path.of(System.getProperty("load.report", "target/load-report.json")),
+                // Extra --key=value arguments for the embedded app, e.g. to switch on the virtual-threads profile
+                Arrays.stream(System.getProperty("load.app-args", "").trim().split("\\s+"))
+                        .filter(arg -> !arg.isBlank())
+                        .toList());
+    }
+
+    boolean embedded() {
+        return target.isBlank();
+    }
+}
@@ -0,0 +1,146 @@
+package com.interview.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+// One simulated user, following the same flow as QuizSystemCLI: pick a topic, start a session, answer its
+// questions, end it and look at progress. Repeats until the deadline
+class QuizUserScenario implements Runnable {
+
+    private static final List<String> DIFFICULTIES = List.of("EASY", "MEDIUM", "HARD");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final EndpointRecorder recorder;
+    private final LoadTestSettings settings;
+    private final long deadlineNanos;
+    private final Random random;
+
+    QuizUserScenario(String baseUrl, HttpClient httpClient, ObjectMapper objectMapper, EndpointRecorder recorder,
+                     LoadTestSettings settings, long deadlineNanos, long seed) {
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+        this.settings = settings;
+        this.deadlineNanos = deadlineNanos;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            try {
+                runIteration();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // Already counted against the endpoint; start over with a new session
+            }
+        }
+    }
+
+    private void runIteration() throws IOException, InterruptedException {
+        JsonNode topics = call("GET /api/topics", get("/api/topics"));
+        if (topics == null || topics.isEmpty()) {
+            return;
+        }
+        String topic = topics.get(random.nextInt(topics.size())).asText();
+        String topicPath = encode(topic);
+        call("GET /api/topics/{topic}/availability", get("/api/topics/" + topicPath + "/availability"));
+        think();
+
+        ObjectNode start = objectMapper.createObjectNode();
+        start.put("topic", topic);
+        start.put("questionCount", settings.questionsPerSession());
+        // A quarter of the sessions leave the difficulty to the adaptive engine
+        if (random.nextInt(4) > 0) {
+            start.put("difficulty", DIFFICULTIES.get(random.nextInt(DIFFICULTIES.size())));
+        }
+        JsonNode session = call("POST /api/sessions/start", post("/api/sessions/start", start));
+        if (session == null) {
+            return;
+        }
+        String sessionId = session.path("id").asText();
+
+        // The last question is sometimes left unanswered, like a user running out of time
+        JsonNode questions = session.path("questions");
+        int toAnswer = random.nextInt(5) == 0 ? Math.max(0, questions.size() - 1) : questions.size();
+        for (int i = 0; i < toAnswer; i++) {
+            think();
+            JsonNode question = questions.get(i);
+            ObjectNode submit = objectMapper.createObjectNode();
+            submit.put("questionId", question.path("id").asText());
+            submit.put("answer", answerFor(question));
+            call("POST /api/sessions/{id}/submit", post("/api/sessions/" + sessionId + "/submit", submit));
+        }
+
+        think();
+        call("POST /api/sessions/{id}/end", post("/api/sessions/" + sessionId + "/end", objectMapper.createObjectNode()));
+        call("GET /api/progress/topics/{topic}", get("/api/progress/topics/" + topicPath));
+    }
+
+    // Mixed answers: a random option for choice questions, free text for the AI-evaluated ones
+    private String answerFor(JsonNode question) {
+        JsonNode options = question.path("options");
+        return switch (question.path("type").asText()) {
+            case "MULTIPLE_CHOICE" -> options.isEmpty() ? "" : options.get(random.nextInt(options.size())).asText();
+            case "TRUE_FALSE" -> Boolean.toString(random.nextBoolean());
+            default -> "load test answer " + random.nextInt(1000);
+        };
+    }
+
+    private JsonNode call(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, true);
+            throw e;
+        }
+        boolean failed = response.statusCode() >= 400;
+        recorder.record(endpoint, System.nanoTime() - start, failed);
+        if (failed) {
+            return null;
+        }
+        return response.body().length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private void think() throws InterruptedException {
+        if (settings.thinkTimeMs() > 0) {
+            // Uniform around the configured mean, so users drift out of lockstep
+            Thread.sleep(settings.thinkTimeMs() / 2 + (long) (random.nextDouble() * settings.thinkTimeMs()));
+        }
+    }
+
+    private static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
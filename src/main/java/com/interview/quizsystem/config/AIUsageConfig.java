@@ -0,0 +1,22 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai-usage")
+public class AIUsageConfig {
+    // Monthly ai_model_usage partitions created ahead of time
+    private int partitionMonthsAhead = 3;
+    // Raw usage and error rows older than this are dropped with their partition; rollups are kept
+    private int retentionMonths = 12;
+    private int hourlyRollupRetentionDays = 90;
+    // Usage rows commit after their created_at, so the most recent buckets are rebuilt on every run
+    private int rollupLookbackHours = 2;
+    // Also the length of the job's schedule slot: at most one node refreshes per interval
+    private long rollupIntervalMs = 300_000;
+    // Latency percentiles are computed from raw rows, so their window is capped
+    private int maxLatencyWindowDays = 31;
+}
@@ -0,0 +1,27 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "adaptive-difficulty")
+public class AdaptiveDifficultyConfig {
+    // Elo scale shared by users and questions; new users start at MEDIUM's nominal rating
+    private double initialRating = 1500;
+    // Larger steps until the estimate has settled, then smaller ones
+    private int provisionalAnswers = 20;
+    private double provisionalK = 40;
+    private double k = 16;
+    // Questions are answered by many users, so each answer moves them less
+    private double itemK = 8;
+    // Probability of a correct answer the engine aims for when picking difficulty and bank questions
+    private double targetSuccessRate = 0.7;
+    // At most this share of a new session is reused from the bank; the rest is generated
+    private double bankShare = 0.5;
+    // Random spread (in rating points) added when ranking bank questions, so sessions don't repeat
+    private double bankRatingJitter = 100;
+    private long cacheMaximumSize = 50_000;
+    private long cacheExpireAfterWriteMinutes = 10;
+}
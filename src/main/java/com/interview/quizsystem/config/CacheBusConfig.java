@@ -0,0 +1,16 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.bus")
+public class CacheBusConfig {
+    // Enable when running more than one node against the same database
+    private boolean enabled = false;
+    private String channel = "quiz_cache_invalidation";
+    private int pollTimeoutMs = 500;
+    private long reconnectDelayMs = 5000;
+}
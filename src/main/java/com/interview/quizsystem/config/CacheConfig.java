@@ -1,25 +1,71 @@
 package com.interview.quizsystem.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
-import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    public static final String TOPICS = "topics";
+    public static final String TOPIC_CONTENT = "topic-content";
+    public static final String TOPICS_BY_NAME = "topics-by-name";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String SKILL_RATINGS = "skill-ratings";
+
     @Bean
-    public CacheManager cacheManager() {
-        SimpleCacheManager cacheManager = new SimpleCacheManager();
-        cacheManager.setCaches(Arrays.asList(
-            new ConcurrentMapCache("topics"),
-            new ConcurrentMapCache("topic-availability")
-        ));
+    public CacheManager cacheManager(TopicCacheConfig config, EntityCacheConfig entityConfig,
+                                     AdaptiveDifficultyConfig adaptiveDifficultyConfig) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // No dynamic caches: every cache is bounded and registered explicitly below
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+
+        Duration ttl = Duration.ofMinutes(config.getExpireAfterWriteMinutes());
+        cacheManager.registerCustomCache(TOPICS, Caffeine.newBuilder()
+                .maximumSize(config.getMaximumTopicLists())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(TOPIC_CONTENT, Caffeine.newBuilder()
+                .maximumWeight(config.getContentMaximumWeightKb())
+                .weigher((key, value) -> contentWeightKb(value))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+
+        for (String name : List.of(TOPICS_BY_NAME, USERS_BY_EMAIL)) {
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumSize(entityConfig.getMaximumSize())
+                    .expireAfterWrite(Duration.ofMinutes(entityConfig.getExpireAfterWriteMinutes()))
+                    .recordStats()
+                    .build());
+        }
+
+        // Evicted when a rating changes, on other nodes through the cache bus; expiry covers missed broadcasts
+        cacheManager.registerCustomCache(SKILL_RATINGS, Caffeine.newBuilder()
+                .maximumSize(adaptiveDifficultyConfig.getCacheMaximumSize())
+                .expireAfterWrite(Duration.ofMinutes(adaptiveDifficultyConfig.getCacheExpireAfterWriteMinutes()))
+                .recordStats()
+                .build());
         return cacheManager;
     }
-} 
\ No newline at end of file
+
+    private static int contentWeightKb(Object value) {
+        long chars = 0;
+        if (value instanceof Map<?, ?> content) {
+            for (Object text : content.values()) {
+                chars += text.toString().length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, chars / 1024 + 1);
+    }
+}
@@ -0,0 +1,15 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.entities")
+public class EntityCacheConfig {
+    // Near-cache of topic ids by name and user ids by email; entities are never shared between threads
+    private long maximumSize = 10_000;
+    // Only hits are cached, so a name created elsewhere is found on the next lookup
+    private long expireAfterWriteMinutes = 10;
+}
@@ -0,0 +1,37 @@
+package com.interview.quizsystem.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class FlywayConfig {
+
+    // Migrations that backfill derived progress state use the configured learning cycle instead of its defaults
+    @Bean
+    public FlywayConfigurationCustomizer learningCyclePlaceholders(LearningCycleConfig learningCycleConfig) {
+        return configuration -> {
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.putAll(placeholders(learningCycleConfig));
+            configuration.placeholders(placeholders);
+        };
+    }
+
+    // Flyway's default Postgres lock is a transaction-level advisory lock held by an open transaction, which
+    // CREATE INDEX CONCURRENTLY (V7) would wait on forever; the session-level lock has no such transaction
+    @Bean
+    public FlywayConfigurationCustomizer sessionLevelMigrationLock() {
+        return configuration -> configuration.configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+
+    public static Map<String, String> placeholders(LearningCycleConfig learningCycleConfig) {
+        return Map.of(
+                "learningCycleDays", String.valueOf(learningCycleConfig.getDays()),
+                "learningCycleMinQuestions", String.valueOf(learningCycleConfig.getMinQuestions()),
+                "learningCycleProgressionThreshold",
+                String.valueOf(learningCycleConfig.getDifficultyProgressionThreshold()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "jobs")
+public class JobConfig {
+    // How often a running job verifies its lock connection and records a heartbeat
+    private long heartbeatIntervalMs = 15_000;
+}
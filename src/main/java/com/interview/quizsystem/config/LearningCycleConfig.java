@@ -12,4 +12,5 @@ public class LearningCycleConfig {
     private int minQuestions = 20;
     private double passThreshold = 70.0;
     private double difficultyProgressionThreshold = 80.0;
+    private int resetBatchSize = 1000;
 } 
\ No newline at end of file
@@ -3,7 +3,11 @@ package com.interview.quizsystem.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kong.unirest.Unirest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import jakarta.annotation.PostConstruct;
 
@@ -13,10 +17,27 @@ public class OpenAIConfig {
     @Value("${openai.api.key}")
     private String apiKey;
 
+    // Every call goes to the same host, so the per-route limit is the one that caps in-flight OpenAI requests
+    @Value("${openai.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${openai.http.max-connections-per-route:100}")
+    private int maxConnectionsPerRoute;
+
     @PostConstruct
     public void init() {
         Unirest.config()
+            .concurrency(maxConnections, maxConnectionsPerRoute)
             .setDefaultHeader("Authorization", "Bearer " + apiKey)
             .setDefaultHeader("Content-Type", "application/json");
     }
-} 
\ No newline at end of file
+
+    // Non-blocking client used by the reactive session API
+    @Bean
+    public WebClient openAIWebClient(WebClient.Builder builder) {
+        return builder
+            .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+            .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "openai.governor")
+public class OpenAIGovernorConfig {
+    // Account limits for the configured model; keep slightly below what OpenAI reports
+    private long requestsPerMinute = 500;
+    private long tokensPerMinute = 90_000;
+    // Callers waiting longer than this give up instead of piling up behind a saturated quota
+    private long maxQueueWaitMs = 30_000;
+    // Pause applied after a 429 that carries no Retry-After header
+    private long defaultBackoffMs = 2_000;
+}
@@ -0,0 +1,26 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Behaviour of the local chat completions stub started by the openai-stub profile
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "openai.stub")
+public class OpenAIStubConfig {
+    private int port = 8089;
+    // Handler threads; each one sleeps through a response's latency, like a connection waiting on OpenAI
+    private int threads = 200;
+    // Latency is log-normal: most responses are near the median, with a long tail reaching p99
+    private long latencyMedianMs = 800;
+    private long latencyP99Ms = 4000;
+    // Share of requests answered with 500 and with 429 (plus Retry-After)
+    private double errorRate = 0.0;
+    private double rateLimitRate = 0.0;
+    private int retryAfterSeconds = 1;
+    // Delay between chunks when the request asks for a streamed response
+    private long streamChunkDelayMs = 20;
+    // Same seed and same requests give the same latencies, failures and payloads, whatever order they arrive in
+    private long seed = 42;
+}
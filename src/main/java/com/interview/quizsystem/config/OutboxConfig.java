@@ -0,0 +1,17 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxConfig {
+    private long pollIntervalMs = 500;
+    // Users handled per poll, and events applied per user in one transaction
+    private int keysPerPoll = 50;
+    private int batchSize = 100;
+    private int maxAttempts = 10;
+    private int processedRetentionDays = 7;
+}
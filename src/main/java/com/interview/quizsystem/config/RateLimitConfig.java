@@ -1,22 +1,27 @@
 package com.interview.quizsystem.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
-import org.springframework.context.annotation.Bean;
+import com.interview.quizsystem.model.AIOperationType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 
+@Data
 @Configuration
+@ConfigurationProperties(prefix = "rate-limit")
 public class RateLimitConfig {
-
-    @Bean
-    public Bucket sessionRateLimitBucket() {
-        // Allow 10 requests per minute
-        Bandwidth limit = Bandwidth.classic(10, Refill.greedy(10, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-} 
\ No newline at end of file
+    private long sessionStartsPerUserPerMinute = 10;
+    private long sessionStartsPerTopicPerMinute = 100;
+    private Map<AIOperationType, Long> aiCallsPerUserPerMinute = new EnumMap<>(Map.of(
+            AIOperationType.QUESTION_GENERATION, 60L,
+            AIOperationType.ANSWER_EVALUATION, 30L));
+    // Applies to operations missing from the map above, so a new operation is never unlimited
+    private long defaultAiCallsPerUserPerMinute = 30;
+    // OpenAI spend per user, in tokens
+    private long aiTokensPerUserPerHour = 100_000;
+    // Buckets idle for two hours are full again anyway (token debt is capped at an hour's budget), so dropping
+    // them loses nothing
+    private long maxTrackedBuckets = 100_000;
+}
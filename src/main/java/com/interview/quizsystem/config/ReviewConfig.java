@@ -0,0 +1,17 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "review")
+public class ReviewConfig {
+    // SM-2 defaults: the ease factor multiplies the interval after each correct review
+    private double initialEaseFactor = 2.5;
+    private double minEaseFactor = 1.3;
+    private int firstIntervalDays = 1;
+    private int secondIntervalDays = 6;
+    private int maxIntervalDays = 365;
+}
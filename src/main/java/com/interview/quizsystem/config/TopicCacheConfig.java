@@ -0,0 +1,16 @@
+package com.interview.quizsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.topics")
+public class TopicCacheConfig {
+    // Entries are also evicted on every repository sync; the TTL only bounds staleness from out-of-band edits
+    private long expireAfterWriteMinutes = 60;
+    private long maximumTopicLists = 16;
+    // Upper bound on cached note content, in KB of characters
+    private long contentMaximumWeightKb = 32 * 1024;
+}
@@ -0,0 +1,78 @@
+package com.interview.quizsystem.controller;
+
+import com.interview.quizsystem.dto.AIUsageLatencyDTO;
+import com.interview.quizsystem.dto.AIUsageStatsDTO;
+import com.interview.quizsystem.model.UsageGroupBy;
+import com.interview.quizsystem.model.UsageRollupGranularity;
+import com.interview.quizsystem.service.AIUsageAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Cost, token, error and latency breakdowns of OpenAI usage; windows are [from, to), default to the last 7 days
+// and are rejected with 400 when empty or inverted
+@Slf4j
+@RestController
+@RequestMapping("/api/ai-usage")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class AIUsageController {
+
+    private static final int DEFAULT_WINDOW_DAYS = 7;
+
+    private final AIUsageAnalyticsService aiUsageAnalyticsService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(
+            @RequestParam(defaultValue = "TOPIC") UsageGroupBy groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS);
+        try {
+            List<AIUsageStatsDTO> summary = aiUsageAnalyticsService.getSummary(groupBy, start, end);
+            return ResponseEntity.ok(summary);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected summary query: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/timeseries")
+    public ResponseEntity<?> getTimeseries(
+            @RequestParam(defaultValue = "TOPIC") UsageGroupBy groupBy,
+            @RequestParam(defaultValue = "HOUR") UsageRollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS);
+        try {
+            List<AIUsageStatsDTO> points = aiUsageAnalyticsService.getTimeseries(groupBy, granularity, start, end);
+            return ResponseEntity.ok(points);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected timeseries query: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/latency")
+    public ResponseEntity<?> getLatency(
+            @RequestParam(defaultValue = "TOPIC") UsageGroupBy groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS);
+        try {
+            List<AIUsageLatencyDTO> latency = aiUsageAnalyticsService.getLatency(groupBy, start, end);
+            return ResponseEntity.ok(latency);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected latency query: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
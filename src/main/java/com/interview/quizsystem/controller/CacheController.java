@@ -0,0 +1,47 @@
+package com.interview.quizsystem.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.interview.quizsystem.dto.CacheStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    // Hit rates and evictions since startup, for sizing cache.* limits
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(CacheController::toDTO)
+                .toList());
+    }
+
+    private static CacheStatsDTO toDTO(CaffeineCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return CacheStatsDTO.builder()
+                .name(cache.getName())
+                .estimatedSize(cache.getNativeCache().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.interview.quizsystem.controller;
+
+import com.interview.quizsystem.dto.JobRunDTO;
+import com.interview.quizsystem.service.ClusterJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class JobController {
+
+    private final ClusterJobService clusterJobService;
+
+    // Last run of every job, including duration and rows affected
+    @GetMapping
+    public ResponseEntity<List<JobRunDTO>> getLatestRuns() {
+        return ResponseEntity.ok(clusterJobService.getLatestRuns());
+    }
+
+    @GetMapping("/{jobName}")
+    public ResponseEntity<List<JobRunDTO>> getRecentRuns(@PathVariable String jobName) {
+        return ResponseEntity.ok(clusterJobService.getRecentRuns(jobName));
+    }
+}
@@ -1,11 +1,14 @@
 package com.interview.quizsystem.controller;
 
 import com.interview.quizsystem.dto.StartQuizRequest;
+import com.interview.quizsystem.dto.StartReviewRequest;
 import com.interview.quizsystem.dto.SubmitAnswerRequest;
+import com.interview.quizsystem.exception.RateLimitExceededException;
 import com.interview.quizsystem.model.QuizSession;
 import com.interview.quizsystem.service.GitHubParserService;
 import com.interview.quizsystem.service.QuizSessionService;
-import io.github.bucket4j.Bucket;
+import com.interview.quizsystem.service.RateLimitService;
+import com.interview.quizsystem.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,7 +28,8 @@ public class QuizSessionController {
 
     private final QuizSessionService quizSessionService;
     private final GitHubParserService gitHubParserService;
-    private final Bucket rateLimitBucket;
+    private final RateLimitService rateLimitService;
+    private final UserService userService;
 
     @PostMapping("/start")
     public ResponseEntity<?> startSession(@Valid @RequestBody StartQuizRequest request) {
@@ -33,7 +37,7 @@ public class QuizSessionController {
             request.getTopic(), request.getDifficulty(), request.getQuestionCount());
 
         // Check rate limit
-        if (!rateLimitBucket.tryConsume(1)) {
+        if (!rateLimitService.tryStartSession(userService.getCurrentUser(), request.getTopic())) {
             log.warn("Rate limit exceeded for quiz session request");
             return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
                     .body(new ErrorResponse("Rate limit exceeded", "Too many requests. Please try again later."));
@@ -83,6 +87,10 @@ public class QuizSessionController {
             log.error("Invalid request parameters", e);
             return ResponseEntity.badRequest()
                     .body(new ErrorResponse("Invalid request", e.getMessage()));
+        } catch (RateLimitExceededException e) {
+            log.warn("AI rate limit exceeded while starting quiz session: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(new ErrorResponse("Rate limit exceeded", e.getMessage()));
         } catch (Exception e) {
             log.error("Failed to start quiz session", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -90,6 +98,38 @@ public class QuizSessionController {
         }
     }
 
+    // Review sessions only reuse stored questions, so they skip the AI rate limits and start immediately
+    @PostMapping("/review")
+    public ResponseEntity<?> startReviewSession(@Valid @RequestBody StartReviewRequest request) {
+        log.info("Received request to start review session for topic: {}, questionCount: {}",
+            request.getTopic(), request.getQuestionCount());
+
+        try {
+            QuizSession session = quizSessionService.startReviewSession(request.getTopic(), request.getQuestionCount());
+            session.getQuestions().forEach(q -> q.setCorrectAnswer(null));
+            log.info("Successfully created review session with ID: {}", session.getId());
+            return ResponseEntity.ok(session);
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot start review session: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("Not found", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to start review session", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Server error", "Failed to start review session"));
+        }
+    }
+
+    @GetMapping("/review/due")
+    public ResponseEntity<?> countDueReviews(@RequestParam String topic) {
+        try {
+            return ResponseEntity.ok(Map.of("topic", topic, "dueCount", quizSessionService.countDueReviews(topic)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("Not found", e.getMessage()));
+        }
+    }
+
     @PostMapping("/{sessionId}/submit")
     public ResponseEntity<?> submitAnswer(
             @PathVariable String sessionId,
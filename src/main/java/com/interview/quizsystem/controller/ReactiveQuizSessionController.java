@@ -0,0 +1,79 @@
+package com.interview.quizsystem.controller;
+
+import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.dto.StartQuizRequest;
+import com.interview.quizsystem.dto.SubmitAnswerRequest;
+import com.interview.quizsystem.exception.RateLimitExceededException;
+import com.interview.quizsystem.model.QuestionDTO;
+import com.interview.quizsystem.service.GitHubParserService;
+import com.interview.quizsystem.service.RateLimitService;
+import com.interview.quizsystem.service.ReactiveQuizSessionService;
+import com.interview.quizsystem.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+// Streaming variant of QuizSessionController: questions are sent as NDJSON while they are generated,
+// so the request holds no thread while waiting on OpenAI
+@Slf4j
+@RestController
+@RequestMapping("/api/reactive/sessions")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = ReactiveQuizSessionController.SESSION_ID_HEADER)
+public class ReactiveQuizSessionController {
+
+    static final String SESSION_ID_HEADER = "X-Quiz-Session-Id";
+
+    private final ReactiveQuizSessionService reactiveQuizSessionService;
+    private final GitHubParserService gitHubParserService;
+    private final RateLimitService rateLimitService;
+    private final UserService userService;
+
+    // The session id is sent up front in a header; it can be used once the stream has completed
+    @PostMapping(value = "/start", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<QuestionDTO>> startSession(@Valid @RequestBody StartQuizRequest request) {
+        log.info("Received reactive request to start quiz session for topic: {}, difficulty: {}, questionCount: {}",
+                request.getTopic(), request.getDifficulty(), request.getQuestionCount());
+
+        if (!rateLimitService.tryStartSession(userService.getCurrentUser(), request.getTopic())) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many requests. Please try again later.");
+        }
+        if (!gitHubParserService.getAvailableTopics().contains(request.getTopic())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Topic does not exist");
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        Flux<QuestionDTO> questions = reactiveQuizSessionService
+                .startSession(sessionId, request.getTopic(), request.getDifficulty(), request.getQuestionCount())
+                .onErrorMap(RateLimitExceededException.class,
+                        e -> new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()))
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage()));
+        return ResponseEntity.ok()
+                .header(SESSION_ID_HEADER, sessionId)
+                .body(questions);
+    }
+
+    @PostMapping("/{sessionId}/submit")
+    public Mono<AnswerFeedback> submitAnswer(
+            @PathVariable String sessionId,
+            @Valid @RequestBody SubmitAnswerRequest request) {
+        log.info("Received reactive answer submission for session: {}, question: {}",
+                sessionId, request.getQuestionId());
+
+        return reactiveQuizSessionService.submitAnswer(sessionId, request.getQuestionId(), request.getAnswer())
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onErrorMap(IllegalStateException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+}
@@ -3,7 +3,6 @@ package com.interview.quizsystem.controller;
 import com.interview.quizsystem.service.GitHubParserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,8 +32,8 @@ public class TopicController {
         "design patterns"
     );
 
+    // Topics and content are cached in GitHubParserService, so fallback responses are never cached
     @GetMapping
-    @Cacheable(value = "topics", unless = "#result.statusCode != T(org.springframework.http.HttpStatus).OK")
     public ResponseEntity<?> getTopics() {
         try {
             List<String> topics = gitHubParserService.getAvailableTopics();
@@ -50,8 +49,6 @@ public class TopicController {
     }
 
     @GetMapping("/{topic}/availability")
-    @Cacheable(value = "topic-availability", key = "#topic", 
-               unless = "#result.statusCode != T(org.springframework.http.HttpStatus).OK")
     public ResponseEntity<?> getTopicAvailability(@PathVariable String topic) {
         try {
             // Check if topic exists
@@ -0,0 +1,22 @@
+package com.interview.quizsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AIUsageLatencyDTO {
+    private String key;
+    private String label;
+    private long count;
+    private double meanMs;
+    private long p50Ms;
+    private long p90Ms;
+    private long p95Ms;
+    private long p99Ms;
+    private long maxMs;
+}
@@ -0,0 +1,32 @@
+package com.interview.quizsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AIUsageStatsDTO {
+    // Null for window totals, the bucket start for time series points
+    private LocalDateTime bucketStart;
+    // Window totals only: the [windowStart, windowEnd) actually covered. Rollups hold whole hours or days, so the
+    // requested window is widened to bucket boundaries
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private String key;
+    private String label;
+    private long requestCount;
+    private long errorCount;
+    private double errorRate;
+    private long tokensUsed;
+    private BigDecimal costInUsd;
+    // Highest p95 of any single rollup bucket (one hour or day of one topic, user, model and operation) merged into
+    // this row. Percentiles cannot be merged, so this is not the p95 of the row's requests; /latency computes that
+    private Double worstBucketP95ResponseTimeMs;
+}
@@ -0,0 +1,26 @@
+package com.interview.quizsystem.dto;
+
+import com.interview.quizsystem.model.JobRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunDTO {
+    private String jobName;
+    private LocalDateTime slot;
+    private String nodeId;
+    private JobRunStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+    private Long rowsAffected;
+    private String errorMessage;
+}
@@ -4,7 +4,6 @@ import com.interview.quizsystem.model.Difficulty;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 @Data
@@ -12,7 +11,7 @@ public class StartQuizRequest {
     @NotBlank(message = "Topic is required")
     private String topic;
 
-    @NotNull(message = "Difficulty is required")
+    // Optional: when omitted, the difficulty is picked from the user's skill rating in the topic
     private Difficulty difficulty;
 
     @Min(value = 1, message = "Question count must be at least 1")
@@ -0,0 +1,17 @@
+package com.interview.quizsystem.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class StartReviewRequest {
+    @NotBlank(message = "Topic is required")
+    private String topic;
+
+    // Upper bound; the session holds fewer questions when fewer are due
+    @Min(value = 1, message = "Question count must be at least 1")
+    @Max(value = 20, message = "Question count cannot exceed 20")
+    private int questionCount;
+}
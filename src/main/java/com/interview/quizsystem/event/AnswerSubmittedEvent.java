@@ -0,0 +1,11 @@
+package com.interview.quizsystem.event;
+
+import com.interview.quizsystem.model.Difficulty;
+
+// Outbox payload written by submitAnswer/endSession; consumers apply progress and other side effects
+// skipped marks questions left unanswered when the session ended; they count as wrong for progress only
+public record AnswerSubmittedEvent(Long userId, Long topicId, Difficulty difficulty, boolean correct,
+                                   String sessionId, String questionId, boolean skipped) {
+
+    public static final String TYPE = "answer_submitted";
+}
@@ -0,0 +1,20 @@
+package com.interview.quizsystem.event;
+
+import com.interview.quizsystem.model.Difficulty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Published with every batch of counter increments written to topic_progress/difficulty_progress. Carries the
+// deltas themselves, so read models add them instead of recomputing from the write-side tables
+public record ProgressIncrementedEvent(List<Increment> increments) {
+
+    public record Increment(Long userId, Long topicId, Difficulty difficulty, int attempted, int correct,
+                            LocalDateTime at) {
+    }
+
+    public static ProgressIncrementedEvent of(Long userId, Long topicId, Difficulty difficulty, int attempted,
+                                              int correct, LocalDateTime at) {
+        return new ProgressIncrementedEvent(List.of(new Increment(userId, topicId, difficulty, attempted, correct, at)));
+    }
+}
@@ -0,0 +1,15 @@
+package com.interview.quizsystem.event;
+
+import java.util.Set;
+
+// Published when topic_progress rows change other than by counter increments (a topic started), so read models
+// rebuild those (user, topic) rows from the write-side tables. Cycle resets zero the summary rows set-wise instead
+public record ProgressUpdatedEvent(Set<Key> keys) {
+
+    public record Key(Long userId, Long topicId) {
+    }
+
+    public static ProgressUpdatedEvent of(Long userId, Long topicId) {
+        return new ProgressUpdatedEvent(Set.of(new Key(userId, topicId)));
+    }
+}
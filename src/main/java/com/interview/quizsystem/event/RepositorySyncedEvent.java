@@ -0,0 +1,12 @@
+package com.interview.quizsystem.event;
+
+import java.util.Set;
+
+// Published after a pull moved the notes repository to a new HEAD, so anything derived from it can be invalidated.
+// A null changedTopics means every topic may have changed (e.g. the first pull of a fresh clone).
+public record RepositorySyncedEvent(String head, boolean topicSetChanged, Set<String> changedTopics) {
+
+    public static RepositorySyncedEvent everything(String head) {
+        return new RepositorySyncedEvent(head, true, null);
+    }
+}
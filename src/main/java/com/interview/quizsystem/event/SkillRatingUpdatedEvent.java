@@ -0,0 +1,7 @@
+package com.interview.quizsystem.event;
+
+import java.util.Set;
+
+// Published when a user's skill ratings change, so cached ratings can be dropped after commit
+public record SkillRatingUpdatedEvent(Long userId, Set<Long> topicIds) {
+}
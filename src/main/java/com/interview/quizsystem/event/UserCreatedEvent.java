@@ -0,0 +1,5 @@
+package com.interview.quizsystem.event;
+
+// Published when a user row is inserted, so an id cached before the insert committed or rolled back is dropped
+public record UserCreatedEvent(String email) {
+}
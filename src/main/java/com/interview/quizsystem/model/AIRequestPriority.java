@@ -0,0 +1,8 @@
+package com.interview.quizsystem.model;
+
+// Order matters: earlier constants are served first when OpenAI capacity is scarce
+public enum AIRequestPriority {
+    INTERACTIVE_EVALUATION,
+    INTERACTIVE_GENERATION,
+    BACKGROUND_GENERATION
+}
@@ -0,0 +1,27 @@
+package com.interview.quizsystem.model;
+
+// Every cluster-wide scheduled job. The lock id is the second advisory lock key: fixed per job, so two jobs can
+// never collide the way hashed names could. Never reuse or renumber an id while older nodes may still be running
+public enum ClusterJob {
+    RESET_EXPIRED_PROGRESS("reset-expired-progress", 1),
+    REFRESH_AI_USAGE_ROLLUPS("refresh-ai-usage-rollups", 2),
+    MAINTAIN_AI_USAGE_PARTITIONS("maintain-ai-usage-partitions", 3),
+    PURGE_PROCESSED_OUTBOX_EVENTS("purge-processed-outbox-events", 4);
+
+    // Name recorded in job_runs and used by /api/jobs/{jobName}
+    private final String jobName;
+    private final int lockId;
+
+    ClusterJob(String jobName, int lockId) {
+        this.jobName = jobName;
+        this.lockId = lockId;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public int getLockId() {
+        return lockId;
+    }
+}
@@ -1,7 +1,18 @@
 package com.interview.quizsystem.model;
 
 public enum Difficulty {
-    EASY,
-    MEDIUM,
-    HARD
-} 
\ No newline at end of file
+    EASY(1200),
+    MEDIUM(1500),
+    HARD(1800);
+
+    // Starting item rating of a question at this level, on the same Elo scale as user skill ratings
+    private final double nominalRating;
+
+    Difficulty(double nominalRating) {
+        this.nominalRating = nominalRating;
+    }
+
+    public double getNominalRating() {
+        return nominalRating;
+    }
+}
@@ -0,0 +1,8 @@
+package com.interview.quizsystem.model;
+
+public enum JobRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    LEASE_LOST
+}
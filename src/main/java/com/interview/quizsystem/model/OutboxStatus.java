@@ -0,0 +1,7 @@
+package com.interview.quizsystem.model;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSED,
+    FAILED
+}
@@ -1,5 +1,6 @@
 package com.interview.quizsystem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.interview.quizsystem.dto.AnswerFeedback;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,4 +24,7 @@ public class QuestionDTO {
     private String sourceFile;
     private String sourceContent;
     private AnswerFeedback answerFeedback;
+    // Bank question this one was copied from, if any
+    @JsonIgnore
+    private String originQuestionId;
 } 
\ No newline at end of file
@@ -1,8 +1,19 @@
 package com.interview.quizsystem.model;
 
 public enum QuestionType {
-    MULTIPLE_CHOICE,
-    TRUE_FALSE,
-    SHORT_ANSWER,
-    SCENARIO_BASED
-} 
\ No newline at end of file
+    MULTIPLE_CHOICE(false),
+    TRUE_FALSE(false),
+    SHORT_ANSWER(true),
+    SCENARIO_BASED(true);
+
+    // Free-text answers are judged by the answer evaluation service; the others are matched exactly
+    private final boolean aiEvaluated;
+
+    QuestionType(boolean aiEvaluated) {
+        this.aiEvaluated = aiEvaluated;
+    }
+
+    public boolean isAiEvaluated() {
+        return aiEvaluated;
+    }
+}
@@ -1,5 +1,6 @@
 package com.interview.quizsystem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.interview.quizsystem.model.entity.Question;
 import jakarta.persistence.*;
@@ -7,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,10 +19,14 @@ import java.util.List;
 @Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
-public class QuizSession {
+public class QuizSession implements Persistable<String> {
     @Id
     private String id;
 
+    // Null for sessions stored before sessions were attributed
+    @Column(name = "user_id")
+    private Long userId;
+
     @Column(name = "topic", nullable = false)
     private String topic;
 
@@ -34,6 +40,11 @@ public class QuizSession {
     @Column(name = "end_time")
     private LocalDateTime endTime;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "session_type", nullable = false)
+    @Builder.Default
+    private SessionType sessionType = SessionType.QUIZ;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private SessionStatus status;
@@ -45,8 +56,9 @@ public class QuizSession {
     @OneToMany(mappedBy = "quizSession", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<UserAnswer> answers = new ArrayList<>();
 
+    // nullable = false lets Hibernate write the foreign key in the INSERT instead of a follow-up UPDATE per question
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "quiz_session_id")
+    @JoinColumn(name = "quiz_session_id", nullable = false)
     private List<Question> storedQuestions = new ArrayList<>();
 
     @Transient
@@ -54,4 +66,22 @@ public class QuizSession {
 
     @Transient
     private List<QuestionDTO> visibleQuestions = new ArrayList<>();
-} 
\ No newline at end of file
+
+    // Ids are assigned up front, so without this save() would merge and SELECT the session and every question first
+    @Transient
+    @JsonIgnore
+    @Builder.Default
+    private boolean newSession = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newSession;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newSession = false;
+    }
+}
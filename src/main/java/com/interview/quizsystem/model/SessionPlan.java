@@ -0,0 +1,19 @@
+package com.interview.quizsystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.ArrayList;
+import java.util.List;
+
+// What a new session starts from: the difficulty to generate at and the bank questions that need no generating
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionPlan {
+    private Difficulty difficulty;
+    @Builder.Default
+    private List<QuestionDTO> bankQuestions = new ArrayList<>();
+}
@@ -0,0 +1,8 @@
+package com.interview.quizsystem.model;
+
+public enum SessionType {
+    // Questions generated for the session or reused from the bank
+    QUIZ,
+    // Questions the user is due to review, no generation
+    REVIEW
+}
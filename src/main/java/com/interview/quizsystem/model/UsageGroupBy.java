@@ -0,0 +1,8 @@
+package com.interview.quizsystem.model;
+
+public enum UsageGroupBy {
+    TOPIC,
+    USER,
+    MODEL,
+    OPERATION
+}
@@ -0,0 +1,69 @@
+package com.interview.quizsystem.model.entity;
+
+import com.interview.quizsystem.model.AIOperationType;
+import com.interview.quizsystem.model.UsageRollupGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Written only by the rollup job's native queries
+@Entity
+@Immutable
+@Table(name = "ai_usage_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AIUsageRollup {
+    @Id
+    private Long id;
+
+    @Column(name = "granularity", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private UsageRollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "topic_id")
+    private Long topicId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "model_provider", nullable = false, length = 50)
+    private String modelProvider;
+
+    @Column(name = "model_name", nullable = false, length = 50)
+    private String modelName;
+
+    @Column(name = "operation_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AIOperationType operationType;
+
+    @Column(name = "request_count", nullable = false)
+    private long requestCount;
+
+    @Column(name = "error_count", nullable = false)
+    private long errorCount;
+
+    @Column(name = "tokens_used", nullable = false)
+    private long tokensUsed;
+
+    @Column(name = "cost_in_usd", nullable = false, precision = 14, scale = 6)
+    private BigDecimal costInUsd;
+
+    @Column(name = "p50_response_time_ms")
+    private Double p50ResponseTimeMs;
+
+    @Column(name = "p95_response_time_ms")
+    private Double p95ResponseTimeMs;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
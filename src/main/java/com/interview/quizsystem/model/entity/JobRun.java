@@ -0,0 +1,54 @@
+package com.interview.quizsystem.model.entity;
+
+import com.interview.quizsystem.model.JobRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_runs_seq")
+    @SequenceGenerator(name = "job_runs_seq", sequenceName = "job_runs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    // Schedule slot this run claimed; unique per job among running and succeeded runs
+    @Column(name = "slot", nullable = false)
+    private LocalDateTime slot;
+
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private JobRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "rows_affected")
+    private Long rowsAffected;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+}
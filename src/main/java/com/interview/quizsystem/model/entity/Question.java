@@ -1,5 +1,6 @@
 package com.interview.quizsystem.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.interview.quizsystem.model.Difficulty;
 import com.interview.quizsystem.model.QuestionType;
 import jakarta.persistence.*;
@@ -7,7 +8,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -20,6 +24,9 @@ public class Question {
     @Id
     private String id;
 
+    // Usually an uninitialized proxy (topics come from the near-cache by id), which Jackson cannot write; the
+    // session JSON names the topic anyway
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topic_id")
     private Topic topic;
@@ -31,9 +38,9 @@ public class Question {
     @Column(name = "question_type", nullable = false)
     private QuestionType questionType;
 
-    @ElementCollection
-    @CollectionTable(name = "question_options", joinColumns = @JoinColumn(name = "question_id"))
-    @Column(name = "option_value")
+    // Stored inline as a JSONB array: loads with the row and saves in the same INSERT/UPDATE
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "options", columnDefinition = "jsonb", nullable = false)
     private List<String> options;
 
     @Enumerated(EnumType.STRING)
@@ -52,6 +59,17 @@ public class Question {
     @Column(name = "source_content", columnDefinition = "TEXT")
     private String sourceContent;
 
+    // Set when the question was reused from the bank; ratings are kept on the original
+    @Column(name = "origin_question_id")
+    private String originQuestionId;
+
+    // Only moved by QuestionRepository.adjustItemRating, never by entity updates
+    @Column(name = "item_rating", nullable = false, updatable = false)
+    private Double itemRating;
+
+    @Column(name = "times_answered", nullable = false, updatable = false)
+    private int timesAnswered;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -60,6 +78,12 @@ public class Question {
 
     @PrePersist
     protected void onCreate() {
+        if (options == null) {
+            options = new ArrayList<>();
+        }
+        if (itemRating == null) {
+            itemRating = difficulty.getNominalRating();
+        }
         createdAt = LocalDateTime.now();
         lastUpdated = LocalDateTime.now();
     }
@@ -0,0 +1,52 @@
+package com.interview.quizsystem.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Written by ReviewScheduleRepository.upsert only
+@Entity
+@Table(name = "review_schedule",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "question_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_schedule_seq")
+    @SequenceGenerator(name = "review_schedule_seq", sequenceName = "review_schedule_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // The bank original, never a per-session copy
+    @Column(name = "question_id", nullable = false)
+    private String questionId;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(name = "ease_factor", nullable = false)
+    private double easeFactor;
+
+    @Column(name = "interval_days", nullable = false)
+    private int intervalDays;
+
+    // Consecutive correct reviews; reset by a lapse
+    @Column(name = "repetitions", nullable = false)
+    private int repetitions;
+
+    @Column(name = "lapses", nullable = false)
+    private int lapses;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "last_reviewed_at", nullable = false)
+    private LocalDateTime lastReviewedAt;
+}
@@ -0,0 +1,39 @@
+package com.interview.quizsystem.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Written by SkillRatingRepository.upsert only
+@Entity
+@Table(name = "skill_ratings",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "topic_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillRating {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "topic_id", nullable = false)
+    private Topic topic;
+
+    @Column(name = "rating", nullable = false)
+    private double rating;
+
+    @Column(name = "answers_count", nullable = false)
+    private int answersCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
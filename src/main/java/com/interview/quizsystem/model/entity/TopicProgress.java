@@ -18,7 +18,8 @@ import java.util.List;
 @AllArgsConstructor
 public class TopicProgress {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topic_progress_seq")
+    @SequenceGenerator(name = "topic_progress_seq", sequenceName = "topic_progress_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
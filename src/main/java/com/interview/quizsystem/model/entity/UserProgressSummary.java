@@ -0,0 +1,84 @@
+package com.interview.quizsystem.model.entity;
+
+import com.interview.quizsystem.model.Difficulty;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Read model projected from topic_progress/difficulty_progress by ProgressSummaryProjector
+@Entity
+@Table(name = "user_progress_summary",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "topic_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProgressSummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(name = "start_date")
+    private LocalDateTime startDate;
+
+    @Column(name = "last_attempt_date")
+    private LocalDateTime lastAttemptDate;
+
+    @Column(name = "cycle_expires_at")
+    private LocalDateTime cycleExpiresAt;
+
+    @Column(name = "is_active", nullable = false)
+    private boolean active;
+
+    @Column(name = "questions_attempted", nullable = false)
+    private int questionsAttempted;
+
+    @Column(name = "questions_correct", nullable = false)
+    private int questionsCorrect;
+
+    @Column(name = "overall_score", nullable = false)
+    private double overallScore;
+
+    @Column(name = "easy_attempted", nullable = false)
+    private int easyAttempted;
+
+    @Column(name = "easy_correct", nullable = false)
+    private int easyCorrect;
+
+    @Column(name = "easy_last_attempt_date")
+    private LocalDateTime easyLastAttemptDate;
+
+    @Column(name = "medium_attempted", nullable = false)
+    private int mediumAttempted;
+
+    @Column(name = "medium_correct", nullable = false)
+    private int mediumCorrect;
+
+    @Column(name = "medium_last_attempt_date")
+    private LocalDateTime mediumLastAttemptDate;
+
+    @Column(name = "hard_attempted", nullable = false)
+    private int hardAttempted;
+
+    @Column(name = "hard_correct", nullable = false)
+    private int hardCorrect;
+
+    @Column(name = "hard_last_attempt_date")
+    private LocalDateTime hardLastAttemptDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_difficulty", nullable = false)
+    private Difficulty currentDifficulty;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
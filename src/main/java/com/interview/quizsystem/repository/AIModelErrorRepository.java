@@ -3,11 +3,19 @@ package com.interview.quizsystem.repository;
 import com.interview.quizsystem.model.entity.AIModelError;
 import com.interview.quizsystem.model.entity.AIModelUsage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface AIModelErrorRepository extends JpaRepository<AIModelError, Long> {
     List<AIModelError> findByUsage(AIModelUsage usage);
+
+    // Errors no longer cascade from usage rows, so retention removes them alongside the dropped partitions
+    @Modifying
+    @Query(value = "DELETE FROM ai_model_errors WHERE created_at < :before", nativeQuery = true)
+    int deleteCreatedBefore(LocalDateTime before);
 } 
\ No newline at end of file
@@ -5,11 +5,15 @@ import com.interview.quizsystem.model.entity.AIModelUsage;
 import com.interview.quizsystem.model.entity.Topic;
 import com.interview.quizsystem.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AIModelUsageRepository extends JpaRepository<AIModelUsage, Long> {
@@ -18,7 +22,19 @@ public interface AIModelUsageRepository extends JpaRepository<AIModelUsage, Long
     
     @Query("SELECT u FROM AIModelUsage u WHERE u.topic = :topic AND u.operationType = :operationType ORDER BY u.createdAt DESC")
     List<AIModelUsage> findLatestByTopicAndOperation(Topic topic, AIOperationType operationType);
-    
-    @Query("SELECT COUNT(u) FROM AIModelUsage u WHERE u.topic = :topic AND u.createdAt >= :since")
-    long countUsageByTopicSince(Topic topic, LocalDateTime since);
+
+    // Counts and sums over time ranges are served by AIUsageRollupRepository
+
+    // Must be consumed inside a transaction; the fetch size makes the driver page through the range with a cursor
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT u.topic.id AS topicId, u.user.id AS userId, u.modelProvider AS modelProvider, u.modelName AS modelName,
+                   u.operationType AS operationType, u.responseTimeMs AS responseTimeMs
+            FROM AIModelUsage u
+            WHERE u.createdAt >= :from AND u.createdAt < :to AND u.responseTimeMs IS NOT NULL
+            """)
+    Stream<UsageLatencyRow> streamLatencies(LocalDateTime from, LocalDateTime to);
 } 
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.UsageRollupGranularity;
+import com.interview.quizsystem.model.entity.AIUsageRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+@Repository
+public interface AIUsageRollupRepository extends JpaRepository<AIUsageRollup, Long> {
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM ai_usage_rollups
+            WHERE granularity = :granularity AND bucket_start >= :from AND bucket_start < :to
+            """, nativeQuery = true)
+    int deleteBuckets(String granularity, LocalDateTime from, LocalDateTime to);
+
+    // Rebuilds every bucket in [from, to) from raw usage; the range only touches the partitions it covers
+    @Modifying
+    @Query(value = """
+            INSERT INTO ai_usage_rollups (granularity, bucket_start, topic_id, user_id, model_provider, model_name,
+                                          operation_type, request_count, error_count, tokens_used, cost_in_usd,
+                                          p50_response_time_ms, p95_response_time_ms, updated_at)
+            SELECT :granularity, date_trunc(:granularity, u.created_at), u.topic_id, u.user_id,
+                   u.model_provider, u.model_name, u.operation_type,
+                   COUNT(*),
+                   COUNT(*) FILTER (WHERE u.status <> 'SUCCESS'),
+                   COALESCE(SUM(u.tokens_used), 0),
+                   COALESCE(SUM(u.cost_in_usd), 0),
+                   percentile_cont(0.5) WITHIN GROUP (ORDER BY u.response_time_ms),
+                   percentile_cont(0.95) WITHIN GROUP (ORDER BY u.response_time_ms),
+                   :now
+            FROM ai_model_usage u
+            WHERE u.created_at >= :from AND u.created_at < :to
+            GROUP BY 2, 3, 4, 5, 6, 7
+            """, nativeQuery = true)
+    int insertBuckets(String granularity, LocalDateTime from, LocalDateTime to, LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM ai_usage_rollups WHERE granularity = :granularity AND bucket_start < :before",
+            nativeQuery = true)
+    int deleteBucketsBefore(String granularity, LocalDateTime before);
+
+    @Query(value = """
+            SELECT COALESCE(SUM(request_count), 0) FROM ai_usage_rollups
+            WHERE granularity = 'HOUR' AND topic_id = :topicId AND bucket_start >= :since
+            """, nativeQuery = true)
+    long countRequestsByTopicSince(Long topicId, LocalDateTime since);
+
+    @Query(value = """
+            SELECT COALESCE(SUM(tokens_used), 0) FROM ai_usage_rollups
+            WHERE granularity = 'HOUR' AND user_id = :userId AND bucket_start >= :since
+            """, nativeQuery = true)
+    long sumTokensByUserSince(Long userId, LocalDateTime since);
+
+    // Must be consumed inside a transaction; rows are aggregated as they arrive instead of being collected first
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT r FROM AIUsageRollup r
+            WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to
+            ORDER BY r.bucketStart
+            """)
+    Stream<AIUsageRollup> streamBuckets(UsageRollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
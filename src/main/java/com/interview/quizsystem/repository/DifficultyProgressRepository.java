@@ -4,11 +4,49 @@ import com.interview.quizsystem.model.Difficulty;
 import com.interview.quizsystem.model.entity.DifficultyProgress;
 import com.interview.quizsystem.model.entity.TopicProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DifficultyProgressRepository extends JpaRepository<DifficultyProgress, Long> {
     Optional<DifficultyProgress> findByTopicProgressAndDifficulty(TopicProgress topicProgress, Difficulty difficulty);
+
+    // Must run after TopicProgressRepository.incrementCounters so the parent row exists
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO difficulty_progress (topic_progress_id, difficulty, score,
+                                             questions_attempted, questions_correct, last_attempt_date)
+            SELECT tp.id, :difficulty, :correct * 100.0 / :attempted, :attempted, :correct, :now
+            FROM topic_progress tp
+            WHERE tp.user_id = :userId AND tp.topic_id = :topicId
+            ON CONFLICT (topic_progress_id, difficulty) DO UPDATE SET
+                questions_attempted = difficulty_progress.questions_attempted + EXCLUDED.questions_attempted,
+                questions_correct = difficulty_progress.questions_correct + EXCLUDED.questions_correct,
+                score = (difficulty_progress.questions_correct + EXCLUDED.questions_correct) * 100.0
+                        / (difficulty_progress.questions_attempted + EXCLUDED.questions_attempted),
+                last_attempt_date = EXCLUDED.last_attempt_date
+            """, nativeQuery = true)
+    int incrementCounters(Long userId, Long topicId, String difficulty, int attempted, int correct, LocalDateTime now);
+
+    // Must run before TopicProgressRepository.resetCycles, which replaces the cycle start date
+    @Modifying
+    @Query(value = """
+            INSERT INTO difficulty_progress_history (topic_progress_id, cycle_start_date, difficulty, score,
+                                                     questions_attempted, questions_correct, last_attempt_date)
+            SELECT dp.topic_progress_id, tp.start_date, dp.difficulty, dp.score,
+                   dp.questions_attempted, dp.questions_correct, dp.last_attempt_date
+            FROM difficulty_progress dp
+            JOIN topic_progress tp ON tp.id = dp.topic_progress_id
+            WHERE dp.topic_progress_id IN (:topicProgressIds)
+            """, nativeQuery = true)
+    int archiveCycles(List<Long> topicProgressIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM difficulty_progress WHERE topic_progress_id IN (:topicProgressIds)", nativeQuery = true)
+    int deleteByTopicProgressIds(List<Long> topicProgressIds);
 } 
\ No newline at end of file
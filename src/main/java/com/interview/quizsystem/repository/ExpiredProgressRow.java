@@ -0,0 +1,9 @@
+package com.interview.quizsystem.repository;
+
+import java.time.LocalDateTime;
+
+// Keyset cursor for the expiry job: rows are paged in (lastActivityDate, id) order
+public interface ExpiredProgressRow {
+    Long getId();
+    LocalDateTime getLastActivityDate();
+}
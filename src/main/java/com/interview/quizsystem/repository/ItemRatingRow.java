@@ -0,0 +1,8 @@
+package com.interview.quizsystem.repository;
+
+public interface ItemRatingRow {
+    String getQuestionId();
+    // The question holding the rating: the bank original for reused questions, otherwise the question itself
+    String getItemId();
+    double getItemRating();
+}
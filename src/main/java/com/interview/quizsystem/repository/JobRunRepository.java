@@ -0,0 +1,43 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.entity.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    // Most recent run of every job
+    @Query(value = """
+            SELECT DISTINCT ON (job_name) *
+            FROM job_runs
+            ORDER BY job_name, started_at DESC
+            """, nativeQuery = true)
+    List<JobRun> findLatestRuns();
+
+    List<JobRun> findTop20ByJobNameOrderByStartedAtDesc(String jobName);
+
+    // Called from the lease heartbeat thread, outside any caller transaction
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobRun r SET r.heartbeatAt = :now WHERE r.id = :id")
+    int heartbeat(Long id, LocalDateTime now);
+
+    // Only called while holding the job's lock, so any run still marked RUNNING belongs to a node that died mid-run
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE job_runs
+            SET status = 'FAILED',
+                finished_at = :now,
+                error_message = 'Abandoned: the node running it lost its lock without finishing'
+            WHERE job_name = :jobName AND status = 'RUNNING'
+            """, nativeQuery = true)
+    int failAbandonedRuns(String jobName, LocalDateTime now);
+}
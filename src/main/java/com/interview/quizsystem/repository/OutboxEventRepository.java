@@ -0,0 +1,61 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Keys with pending events, longest-waiting first
+    @Query(value = """
+            SELECT aggregate_key FROM outbox_events
+            WHERE status = 'PENDING'
+            GROUP BY aggregate_key
+            ORDER BY MIN(created_at)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findPendingKeys(int limit);
+
+    // Pooled ids are handed out in per-node blocks, so creation time orders events from different nodes
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE aggregate_key = :aggregateKey AND status = 'PENDING'
+            ORDER BY created_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<OutboxEvent> findPendingByKey(String aggregateKey, int limit);
+
+    // Held until the surrounding transaction ends; another node that fails to get it skips the key
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:namespace, hashtext(:aggregateKey))", nativeQuery = true)
+    boolean tryLockKey(int namespace, String aggregateKey);
+
+    // Only pending rows change state, so a concurrent consumer that already processed them is detected
+    @Modifying
+    @Query(value = """
+            UPDATE outbox_events SET status = 'PROCESSED', processed_at = :now
+            WHERE id IN (:ids) AND status = 'PENDING'
+            """, nativeQuery = true)
+    int markProcessed(Collection<Long> ids, LocalDateTime now);
+
+    // Gives up on the event once it has failed maxAttempts times, so it stops blocking the events behind it
+    @Modifying
+    @Query(value = """
+            UPDATE outbox_events SET
+                attempts = attempts + 1,
+                last_error = :error,
+                status = CASE WHEN attempts + 1 >= :maxAttempts THEN 'FAILED' ELSE status END
+            WHERE id = :id AND status = 'PENDING'
+            """, nativeQuery = true)
+    int recordFailure(Long id, String error, int maxAttempts);
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE status = 'PROCESSED' AND processed_at < :before", nativeQuery = true)
+    int deleteProcessedBefore(LocalDateTime before);
+}
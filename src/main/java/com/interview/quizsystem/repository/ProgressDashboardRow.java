@@ -0,0 +1,21 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.Difficulty;
+
+import java.time.LocalDateTime;
+
+// One row per topic x difficulty_progress row; progress and difficulty columns are null when absent
+public interface ProgressDashboardRow {
+    Long getTopicId();
+    String getTopicName();
+    Long getProgressId();
+    LocalDateTime getStartDate();
+    LocalDateTime getLastAttemptDate();
+    Boolean getActive();
+    Integer getQuestionsAttempted();
+    Integer getQuestionsCorrect();
+    Difficulty getDifficulty();
+    Integer getDifficultyAttempted();
+    Integer getDifficultyCorrect();
+    LocalDateTime getDifficultyLastAttemptDate();
+}
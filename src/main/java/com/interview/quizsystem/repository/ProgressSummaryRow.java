@@ -0,0 +1,54 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.Difficulty;
+
+import java.time.LocalDateTime;
+
+// A topic joined with the user's progress summary; summary columns are null when the topic was never started
+public interface ProgressSummaryRow {
+    Long getTopicId();
+    String getTopicName();
+    Long getSummaryId();
+    LocalDateTime getStartDate();
+    LocalDateTime getLastAttemptDate();
+    LocalDateTime getCycleExpiresAt();
+    Boolean getActive();
+    Integer getQuestionsAttempted();
+    Integer getQuestionsCorrect();
+    Integer getEasyAttempted();
+    Integer getEasyCorrect();
+    LocalDateTime getEasyLastAttemptDate();
+    Integer getMediumAttempted();
+    Integer getMediumCorrect();
+    LocalDateTime getMediumLastAttemptDate();
+    Integer getHardAttempted();
+    Integer getHardCorrect();
+    LocalDateTime getHardLastAttemptDate();
+    Difficulty getCurrentDifficulty();
+
+    default int getAttempted(Difficulty difficulty) {
+        Integer value = switch (difficulty) {
+            case EASY -> getEasyAttempted();
+            case MEDIUM -> getMediumAttempted();
+            case HARD -> getHardAttempted();
+        };
+        return value == null ? 0 : value;
+    }
+
+    default int getCorrect(Difficulty difficulty) {
+        Integer value = switch (difficulty) {
+            case EASY -> getEasyCorrect();
+            case MEDIUM -> getMediumCorrect();
+            case HARD -> getHardCorrect();
+        };
+        return value == null ? 0 : value;
+    }
+
+    default LocalDateTime getLastAttemptDate(Difficulty difficulty) {
+        return switch (difficulty) {
+            case EASY -> getEasyLastAttemptDate();
+            case MEDIUM -> getMediumLastAttemptDate();
+            case HARD -> getHardLastAttemptDate();
+        };
+    }
+}
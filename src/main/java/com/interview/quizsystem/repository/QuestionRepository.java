@@ -4,14 +4,54 @@ import com.interview.quizsystem.model.Difficulty;
 import com.interview.quizsystem.model.QuestionType;
 import com.interview.quizsystem.model.entity.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface QuestionRepository extends JpaRepository<Question, Long> {
+public interface QuestionRepository extends JpaRepository<Question, String> {
     List<Question> findByTopicId(Long topicId);
     List<Question> findByTopicIdAndDifficulty(Long topicId, Difficulty difficulty);
     List<Question> findByTopicIdAndQuestionType(Long topicId, QuestionType questionType);
     List<Question> findByDifficulty(Difficulty difficulty);
-} 
\ No newline at end of file
+
+    // Original questions (not bank copies) closest to the target item rating, with a little jitter for variety.
+    // Originals the user already answered in one of their sessions, directly or through a copy, or already has
+    // scheduled for review are left out; those come back through review sessions
+    @Query(value = """
+            SELECT q.* FROM questions q
+            WHERE q.topic_id = :topicId AND q.difficulty = :difficulty
+              AND q.origin_question_id IS NULL AND q.expected_answer IS NOT NULL
+              AND NOT EXISTS (
+                  SELECT 1 FROM user_answers ua JOIN quiz_sessions s ON s.id = ua.quiz_session_id
+                  WHERE ua.question_id = q.id AND s.user_id = :userId)
+              AND NOT EXISTS (
+                  SELECT 1 FROM questions c
+                  JOIN user_answers ua ON ua.question_id = c.id
+                  JOIN quiz_sessions s ON s.id = ua.quiz_session_id
+                  WHERE c.origin_question_id = q.id AND s.user_id = :userId)
+              AND NOT EXISTS (SELECT 1 FROM review_schedule r WHERE r.user_id = :userId AND r.question_id = q.id)
+            ORDER BY abs(q.item_rating - :targetRating) + random() * :jitter
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Question> findBankQuestions(Long userId, Long topicId, String difficulty, double targetRating, double jitter,
+                                     int limit);
+
+    @Query(value = """
+            SELECT q.id AS questionId, i.id AS itemId, i.item_rating AS itemRating FROM questions q
+            JOIN questions i ON i.id = COALESCE(q.origin_question_id, q.id)
+            WHERE q.id IN (:questionIds)
+            """, nativeQuery = true)
+    List<ItemRatingRow> findItemRatings(Collection<String> questionIds);
+
+    // Atomic, because answers from many users move the same item concurrently
+    @Modifying
+    @Query(value = """
+            UPDATE questions SET item_rating = item_rating + :delta, times_answered = times_answered + :answers
+            WHERE id = :id
+            """, nativeQuery = true)
+    int adjustItemRating(String id, double delta, int answers);
+}
@@ -0,0 +1,52 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.entity.Question;
+import com.interview.quizsystem.model.entity.ReviewSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReviewScheduleRepository extends JpaRepository<ReviewSchedule, Long> {
+
+    List<ReviewSchedule> findByUserIdAndQuestionIdIn(Long userId, Collection<String> questionIds);
+
+    // Range scan on idx_review_schedule_user_topic_due, most overdue first
+    @Query(value = """
+            SELECT q.* FROM review_schedule r
+            JOIN questions q ON q.id = r.question_id
+            WHERE r.user_id = :userId AND r.topic_id = :topicId AND r.due_at <= :now
+            ORDER BY r.due_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Question> findDueQuestions(Long userId, Long topicId, LocalDateTime now, int limit);
+
+    @Query(value = """
+            SELECT count(*) FROM review_schedule
+            WHERE user_id = :userId AND topic_id = :topicId AND due_at <= :now
+            """, nativeQuery = true)
+    long countDue(Long userId, Long topicId, LocalDateTime now);
+
+    // Only the outbox consumer writes schedules, one user at a time, so last write wins safely
+    @Modifying
+    @Query(value = """
+            INSERT INTO review_schedule (user_id, question_id, topic_id, ease_factor, interval_days, repetitions,
+                                         lapses, due_at, last_reviewed_at)
+            VALUES (:userId, :questionId, :topicId, :easeFactor, :intervalDays, :repetitions, :lapses, :dueAt, :now)
+            ON CONFLICT (user_id, question_id) DO UPDATE SET
+                topic_id = EXCLUDED.topic_id,
+                ease_factor = EXCLUDED.ease_factor,
+                interval_days = EXCLUDED.interval_days,
+                repetitions = EXCLUDED.repetitions,
+                lapses = EXCLUDED.lapses,
+                due_at = EXCLUDED.due_at,
+                last_reviewed_at = EXCLUDED.last_reviewed_at
+            """, nativeQuery = true)
+    int upsert(Long userId, String questionId, Long topicId, double easeFactor, int intervalDays, int repetitions,
+               int lapses, LocalDateTime dueAt, LocalDateTime now);
+}
@@ -0,0 +1,32 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.entity.SkillRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SkillRatingRepository extends JpaRepository<SkillRating, Long> {
+
+    @Query(value = """
+            SELECT rating AS rating, answers_count AS answersCount FROM skill_ratings
+            WHERE user_id = :userId AND topic_id = :topicId
+            """, nativeQuery = true)
+    Optional<SkillRatingRow> findRating(Long userId, Long topicId);
+
+    // Only the outbox consumer writes ratings, one user at a time, so last write wins safely
+    @Modifying
+    @Query(value = """
+            INSERT INTO skill_ratings (user_id, topic_id, rating, answers_count, updated_at)
+            VALUES (:userId, :topicId, :rating, :answersCount, :now)
+            ON CONFLICT (user_id, topic_id) DO UPDATE SET
+                rating = EXCLUDED.rating,
+                answers_count = EXCLUDED.answers_count,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int upsert(Long userId, Long topicId, double rating, int answersCount, LocalDateTime now);
+}
@@ -0,0 +1,6 @@
+package com.interview.quizsystem.repository;
+
+public interface SkillRatingRow {
+    double getRating();
+    int getAnswersCount();
+}
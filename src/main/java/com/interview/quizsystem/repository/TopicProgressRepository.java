@@ -4,6 +4,7 @@ import com.interview.quizsystem.model.entity.Topic;
 import com.interview.quizsystem.model.entity.TopicProgress;
 import com.interview.quizsystem.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,13 +14,83 @@ import java.util.Optional;
 
 @Repository
 public interface TopicProgressRepository extends JpaRepository<TopicProgress, Long> {
+    String DASHBOARD_SELECT = """
+            SELECT t.id AS topicId, t.name AS topicName,
+                   tp.id AS progressId, tp.start_date AS startDate, tp.last_attempt_date AS lastAttemptDate,
+                   tp.is_active AS active, tp.questions_attempted AS questionsAttempted,
+                   tp.questions_correct AS questionsCorrect,
+                   dp.difficulty AS difficulty, dp.questions_attempted AS difficultyAttempted,
+                   dp.questions_correct AS difficultyCorrect, dp.last_attempt_date AS difficultyLastAttemptDate
+            FROM topics t
+            LEFT JOIN topic_progress tp ON tp.topic_id = t.id AND tp.user_id = :userId
+            LEFT JOIN difficulty_progress dp ON dp.topic_progress_id = tp.id
+            """;
+
     Optional<TopicProgress> findByUserAndTopic(User user, Topic topic);
     
     List<TopicProgress> findByUser(User user);
     
-    @Query("SELECT tp FROM TopicProgress tp WHERE tp.active = true AND tp.lastAttemptDate < :expiryDate")
-    List<TopicProgress> findExpiredProgress(LocalDateTime expiryDate);
-    
     @Query("SELECT tp FROM TopicProgress tp WHERE tp.user = :user AND tp.active = true")
     List<TopicProgress> findActiveProgressByUser(User user);
+
+    // Write-side state of one topic in one round trip; the summary projector rebuilds rows from it
+    @Query(value = DASHBOARD_SELECT + "WHERE t.id = :topicId", nativeQuery = true)
+    List<ProgressDashboardRow> findDashboardRowsForTopic(Long userId, Long topicId);
+
+    // Atomic upsert: concurrent submits add to the counters instead of overwriting each other
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO topic_progress (user_id, topic_id, start_date, last_attempt_date, is_active,
+                                        overall_score, questions_attempted, questions_correct)
+            VALUES (:userId, :topicId, :now, :now, true, :correct * 100.0 / :attempted, :attempted, :correct)
+            ON CONFLICT (user_id, topic_id) DO UPDATE SET
+                questions_attempted = topic_progress.questions_attempted + EXCLUDED.questions_attempted,
+                questions_correct = topic_progress.questions_correct + EXCLUDED.questions_correct,
+                overall_score = (topic_progress.questions_correct + EXCLUDED.questions_correct) * 100.0
+                        / (topic_progress.questions_attempted + EXCLUDED.questions_attempted),
+                last_attempt_date = EXCLUDED.last_attempt_date
+            """, nativeQuery = true)
+    int incrementCounters(Long userId, Long topicId, int attempted, int correct, LocalDateTime now);
+
+    // A cycle runs from its last attempt, or from its start while nothing has been attempted yet
+    String EXPIRED_AFTER_SELECT = """
+            SELECT tp.id AS id, COALESCE(tp.last_attempt_date, tp.start_date) AS lastActivityDate
+            FROM topic_progress tp
+            WHERE tp.is_active = true
+              AND COALESCE(tp.last_attempt_date, tp.start_date) < :expiryDate
+              AND (COALESCE(tp.last_attempt_date, tp.start_date), tp.id) > (:afterDate, :afterId)
+            ORDER BY COALESCE(tp.last_attempt_date, tp.start_date), tp.id
+            LIMIT :batchSize
+            """;
+
+    // Next page of expired cycles after the keyset cursor; rows locked by in-flight submits are skipped
+    @Query(value = EXPIRED_AFTER_SELECT + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ExpiredProgressRow> findExpiredAfter(LocalDateTime expiryDate, LocalDateTime afterDate, Long afterId,
+                                              int batchSize);
+
+    // Same page, but waits for in-flight submits; a row they touched is re-checked and drops out if no longer expired
+    @Query(value = EXPIRED_AFTER_SELECT + "FOR UPDATE", nativeQuery = true)
+    List<ExpiredProgressRow> findExpiredAfterWaiting(LocalDateTime expiryDate, LocalDateTime afterDate, Long afterId,
+                                                     int batchSize);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO topic_progress_history (topic_progress_id, user_id, topic_id, start_date, last_attempt_date,
+                                                overall_score, questions_attempted, questions_correct, archived_at)
+            SELECT tp.id, tp.user_id, tp.topic_id, tp.start_date, tp.last_attempt_date,
+                   tp.overall_score, tp.questions_attempted, tp.questions_correct, :now
+            FROM topic_progress tp
+            WHERE tp.id IN (:ids)
+            """, nativeQuery = true)
+    int archiveCycles(List<Long> ids, LocalDateTime now);
+
+    // Starts a fresh cycle on the same row; must run after the cycle has been archived
+    @Modifying
+    @Query(value = """
+            UPDATE topic_progress
+            SET start_date = :now, last_attempt_date = NULL, is_active = true,
+                overall_score = 0.0, questions_attempted = 0, questions_correct = 0
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int resetCycles(List<Long> ids, LocalDateTime now);
 } 
\ No newline at end of file
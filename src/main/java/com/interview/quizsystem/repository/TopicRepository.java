@@ -2,11 +2,22 @@ package com.interview.quizsystem.repository;
 
 import com.interview.quizsystem.model.entity.Topic;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Long> {
     Optional<Topic> findByNameIgnoreCase(String name);
+
+    // Concurrent creators of the same name both succeed; re-read the row afterwards
+    @Modifying
+    @Query(value = """
+            INSERT INTO topics (name, description, created_at) VALUES (:name, :description, :now)
+            ON CONFLICT (name) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(String name, String description, LocalDateTime now);
 } 
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.AIOperationType;
+
+// Just the columns the latency histograms need, so raw usage ranges stream without loading entities
+public interface UsageLatencyRow {
+    Long getTopicId();
+    Long getUserId();
+    String getModelProvider();
+    String getModelName();
+    AIOperationType getOperationType();
+    Long getResponseTimeMs();
+}
@@ -0,0 +1,126 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.model.entity.UserProgressSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserProgressSummaryRepository extends JpaRepository<UserProgressSummary, Long> {
+    String SUMMARY_SELECT = """
+            SELECT t.id AS topicId, t.name AS topicName, s.id AS summaryId,
+                   s.start_date AS startDate, s.last_attempt_date AS lastAttemptDate,
+                   s.cycle_expires_at AS cycleExpiresAt, s.is_active AS active,
+                   s.questions_attempted AS questionsAttempted, s.questions_correct AS questionsCorrect,
+                   s.easy_attempted AS easyAttempted, s.easy_correct AS easyCorrect,
+                   s.easy_last_attempt_date AS easyLastAttemptDate,
+                   s.medium_attempted AS mediumAttempted, s.medium_correct AS mediumCorrect,
+                   s.medium_last_attempt_date AS mediumLastAttemptDate,
+                   s.hard_attempted AS hardAttempted, s.hard_correct AS hardCorrect,
+                   s.hard_last_attempt_date AS hardLastAttemptDate,
+                   s.current_difficulty AS currentDifficulty
+            FROM topics t
+            """;
+
+    @Query(value = SUMMARY_SELECT + """
+            LEFT JOIN user_progress_summary s ON s.topic_id = t.id AND s.user_id = :userId
+            ORDER BY t.name
+            """, nativeQuery = true)
+    List<ProgressSummaryRow> findDashboard(Long userId);
+
+    @Query(value = SUMMARY_SELECT + """
+            JOIN user_progress_summary s ON s.topic_id = t.id AND s.user_id = :userId
+            WHERE s.is_active = true
+            ORDER BY t.name
+            """, nativeQuery = true)
+    List<ProgressSummaryRow> findActive(Long userId);
+
+    @Query(value = SUMMARY_SELECT + """
+            LEFT JOIN user_progress_summary s ON s.topic_id = t.id AND s.user_id = :userId
+            WHERE t.id = :topicId
+            """, nativeQuery = true)
+    List<ProgressSummaryRow> findForTopic(Long userId, Long topicId);
+
+    Optional<UserProgressSummary> findByUserIdAndTopicId(Long userId, Long topicId);
+
+    // Adds one counter delta; inserts the row for a topic whose first answers arrive before any rebuild
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_progress_summary (
+                user_id, topic_id, start_date, last_attempt_date, is_active,
+                questions_attempted, questions_correct,
+                easy_attempted, easy_correct, easy_last_attempt_date,
+                medium_attempted, medium_correct, medium_last_attempt_date,
+                hard_attempted, hard_correct, hard_last_attempt_date, updated_at)
+            VALUES (:userId, :topicId, :at, :at, true, :attempted, :correct,
+                    CASE WHEN :difficulty = 'EASY' THEN :attempted ELSE 0 END,
+                    CASE WHEN :difficulty = 'EASY' THEN :correct ELSE 0 END,
+                    CASE WHEN :difficulty = 'EASY' THEN CAST(:at AS TIMESTAMP) END,
+                    CASE WHEN :difficulty = 'MEDIUM' THEN :attempted ELSE 0 END,
+                    CASE WHEN :difficulty = 'MEDIUM' THEN :correct ELSE 0 END,
+                    CASE WHEN :difficulty = 'MEDIUM' THEN CAST(:at AS TIMESTAMP) END,
+                    CASE WHEN :difficulty = 'HARD' THEN :attempted ELSE 0 END,
+                    CASE WHEN :difficulty = 'HARD' THEN :correct ELSE 0 END,
+                    CASE WHEN :difficulty = 'HARD' THEN CAST(:at AS TIMESTAMP) END,
+                    :at)
+            ON CONFLICT (user_id, topic_id) DO UPDATE SET
+                last_attempt_date = EXCLUDED.last_attempt_date,
+                questions_attempted = user_progress_summary.questions_attempted + EXCLUDED.questions_attempted,
+                questions_correct = user_progress_summary.questions_correct + EXCLUDED.questions_correct,
+                easy_attempted = user_progress_summary.easy_attempted + EXCLUDED.easy_attempted,
+                easy_correct = user_progress_summary.easy_correct + EXCLUDED.easy_correct,
+                easy_last_attempt_date = COALESCE(EXCLUDED.easy_last_attempt_date,
+                                                  user_progress_summary.easy_last_attempt_date),
+                medium_attempted = user_progress_summary.medium_attempted + EXCLUDED.medium_attempted,
+                medium_correct = user_progress_summary.medium_correct + EXCLUDED.medium_correct,
+                medium_last_attempt_date = COALESCE(EXCLUDED.medium_last_attempt_date,
+                                                    user_progress_summary.medium_last_attempt_date),
+                hard_attempted = user_progress_summary.hard_attempted + EXCLUDED.hard_attempted,
+                hard_correct = user_progress_summary.hard_correct + EXCLUDED.hard_correct,
+                hard_last_attempt_date = COALESCE(EXCLUDED.hard_last_attempt_date,
+                                                  user_progress_summary.hard_last_attempt_date),
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int incrementCounters(Long userId, Long topicId, String difficulty, int attempted, int correct, LocalDateTime at);
+
+    // Derives score, cycle expiry and current difficulty from the row's own counters (same rule as V4's backfill)
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE user_progress_summary SET
+                overall_score = CASE WHEN questions_attempted = 0 THEN 0.0
+                                     ELSE questions_correct * 100.0 / questions_attempted END,
+                cycle_expires_at = COALESCE(last_attempt_date, start_date) + make_interval(days => :cycleDays),
+                current_difficulty = CASE
+                    WHEN easy_attempted < :minQuestions
+                         OR (CASE WHEN easy_attempted = 0 THEN 0.0
+                                  ELSE easy_correct * 100.0 / easy_attempted END) < :threshold THEN 'EASY'
+                    WHEN medium_attempted < :minQuestions
+                         OR (CASE WHEN medium_attempted = 0 THEN 0.0
+                                  ELSE medium_correct * 100.0 / medium_attempted END) < :threshold THEN 'MEDIUM'
+                    ELSE 'HARD'
+                END
+            WHERE user_id = :userId AND topic_id = :topicId
+            """, nativeQuery = true)
+    int refreshDerived(Long userId, Long topicId, int cycleDays, int minQuestions, double threshold);
+
+    // Zeroes the rows of cycles reset by TopicProgressRepository.resetCycles
+    @Modifying
+    @Query(value = """
+            UPDATE user_progress_summary s
+            SET start_date = :now, last_attempt_date = NULL, is_active = true,
+                cycle_expires_at = CAST(:now AS TIMESTAMP) + make_interval(days => :cycleDays),
+                questions_attempted = 0, questions_correct = 0, overall_score = 0.0,
+                easy_attempted = 0, easy_correct = 0, easy_last_attempt_date = NULL,
+                medium_attempted = 0, medium_correct = 0, medium_last_attempt_date = NULL,
+                hard_attempted = 0, hard_correct = 0, hard_last_attempt_date = NULL,
+                current_difficulty = 'EASY', updated_at = :now
+            FROM topic_progress tp
+            WHERE tp.id IN (:topicProgressIds) AND s.user_id = tp.user_id AND s.topic_id = tp.topic_id
+            """, nativeQuery = true)
+    int resetCycles(List<Long> topicProgressIds, LocalDateTime now, int cycleDays);
+}
@@ -2,12 +2,23 @@ package com.interview.quizsystem.repository;
 
 import com.interview.quizsystem.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
+
+    // Does nothing when the email or the username is taken; re-read by email afterwards
+    @Modifying
+    @Query(value = """
+            INSERT INTO users (username, email, created_at, last_login) VALUES (:username, :email, :now, :now)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(String username, String email, LocalDateTime now);
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.interview.quizsystem.service;
+
+import com.interview.quizsystem.dto.AIUsageLatencyDTO;
+import com.interview.quizsystem.dto.AIUsageStatsDTO;
+import com.interview.quizsystem.model.UsageGroupBy;
+import com.interview.quizsystem.model.UsageRollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AIUsageAnalyticsService {
+    // Totals per group over [from, to) widened to whole rollup buckets, most expensive first; served from rollups.
+    // All methods reject an empty or inverted window with IllegalArgumentException
+    List<AIUsageStatsDTO> getSummary(UsageGroupBy groupBy, LocalDateTime from, LocalDateTime to);
+
+    // One point per bucket and group over [from, to) widened to whole buckets; served from rollups
+    List<AIUsageStatsDTO> getTimeseries(UsageGroupBy groupBy, UsageRollupGranularity granularity,
+                                        LocalDateTime from, LocalDateTime to);
+
+    // Exact latency percentiles per group over [from, to), slowest p95 first; streamed from raw usage
+    List<AIUsageLatencyDTO> getLatency(UsageGroupBy groupBy, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,9 @@
+package com.interview.quizsystem.service;
+
+public interface AIUsageRollupService {
+    // Rebuilds the most recent hourly and daily usage buckets
+    void refreshRollups();
+
+    // Creates upcoming monthly usage partitions and drops the ones past retention
+    void maintainPartitions();
+}
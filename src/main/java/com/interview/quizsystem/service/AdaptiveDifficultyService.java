@@ -0,0 +1,20 @@
+package com.interview.quizsystem.service;
+
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.entity.Question;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AdaptiveDifficultyService {
+    // Current skill estimate of the user in the topic; cached, one indexed row read on a miss
+    double getRating(Long userId, Long topicId);
+    Difficulty recommendDifficulty(Long userId, Long topicId);
+    // Previously generated questions of the topic and difficulty whose rating suits the user, at most bankShare of questionCount
+    List<Question> selectBankQuestions(Long userId, Long topicId, Difficulty difficulty, int questionCount);
+    // Applies answers of one user, in order, to their skill ratings and to the answered questions
+    void applyAnswers(List<AnswerSubmittedEvent> answers);
+    // Drops cached ratings, e.g. after another node updated them
+    void evictRatings(Long userId, Collection<Long> topicIds);
+}
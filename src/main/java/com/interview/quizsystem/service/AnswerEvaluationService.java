@@ -2,7 +2,16 @@ package com.interview.quizsystem.service;
 
 import com.interview.quizsystem.dto.AnswerFeedback;
 import com.interview.quizsystem.model.QuestionDTO;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 public interface AnswerEvaluationService {
     AnswerFeedback evaluateAnswer(QuestionDTO question, String userAnswer);
+
+    // Non-blocking variant for the reactive API; falls back to a basic comparison instead of erroring.
+    // Evaluators without a non-blocking client run the blocking call on the bounded elastic pool
+    default Mono<AnswerFeedback> evaluateAnswerAsync(QuestionDTO question, String userAnswer) {
+        return Mono.fromCallable(() -> evaluateAnswer(question, userAnswer))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 } 
\ No newline at end of file
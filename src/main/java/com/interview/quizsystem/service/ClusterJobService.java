@@ -0,0 +1,28 @@
+package com.interview.quizsystem.service;
+
+import com.interview.quizsystem.dto.JobRunDTO;
+import com.interview.quizsystem.model.ClusterJob;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface ClusterJobService {
+    // Runs the job only if no other node is running it and no node has yet run it for the current slot of the
+    // given period; returns false when the run was skipped
+    boolean runExclusive(ClusterJob job, Duration period, Job work);
+
+    // Run history
+    List<JobRunDTO> getLatestRuns();
+    List<JobRunDTO> getRecentRuns(String jobName);
+
+    @FunctionalInterface
+    interface Job {
+        // Returns the number of rows affected
+        long run(Lease lease) throws Exception;
+    }
+
+    interface Lease {
+        // Long-running jobs should check this between batches and stop once it turns false
+        boolean isHeld();
+    }
+}
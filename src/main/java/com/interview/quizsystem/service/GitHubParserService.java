@@ -5,6 +5,7 @@ import java.util.Map;
 
 public interface GitHubParserService {
     void syncRepository();
+    String getRepositoryHead();
     List<String> getAvailableTopics();
     Map<String, String> getContentByTopic(String topic);
     String getContentFromFile(String filePath);
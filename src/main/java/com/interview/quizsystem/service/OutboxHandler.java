@@ -0,0 +1,14 @@
+package com.interview.quizsystem.service;
+
+import com.interview.quizsystem.model.entity.OutboxEvent;
+
+import java.util.List;
+
+// Consumer of one outbox event type. Delivery is at least once: a handler runs in the transaction that
+// marks its events processed, so database side effects commit exactly once with them
+public interface OutboxHandler {
+    String eventType();
+
+    // Consecutive events of one aggregate key, in order, so their effects can be applied as a batch
+    void handle(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,6 @@
+package com.interview.quizsystem.service;
+
+public interface OutboxService {
+    // Must be called inside the transaction whose commit the event depends on
+    void enqueue(String eventType, String aggregateKey, Object payload);
+}
@@ -0,0 +1,19 @@
+package com.interview.quizsystem.service;
+
+import com.interview.quizsystem.dto.DifficultyProgressDTO;
+import com.interview.quizsystem.dto.TopicProgressDTO;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.entity.Topic;
+import com.interview.quizsystem.model.entity.User;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProgressQueryService {
+    // Read-only progress views served from the user_progress_summary read model; one query per call
+    List<TopicProgressDTO> getProgressDashboard(User user);
+    List<TopicProgressDTO> getActiveProgress(User user);
+    TopicProgressDTO getTopicProgress(User user, Topic topic);
+    DifficultyProgressDTO getDifficultyProgress(User user, Topic topic, Difficulty difficulty);
+    Map<Difficulty, DifficultyProgressDTO> getDifficultyBreakdown(User user, Topic topic);
+}
@@ -14,8 +14,12 @@ public interface ProgressService {
     List<TopicProgress> getUserProgress(User user);
     List<TopicProgress> getActiveProgressByUser(User user);
     
-    // Update progress after quiz
+    // Update progress after quiz. Answers now reach progress through the outbox (answer_submitted events), so
+    // nothing buffers increments any more: updateProgress writes through and flushPendingUpdates does nothing
+    @Deprecated(forRemoval = true)
     void updateProgress(User user, Topic topic, Difficulty difficulty, boolean isCorrect);
+    @Deprecated(forRemoval = true)
+    void flushPendingUpdates(User user);
     
     // Progress reset
     void resetExpiredProgress();
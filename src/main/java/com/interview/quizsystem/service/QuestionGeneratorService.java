@@ -2,9 +2,14 @@ package com.interview.quizsystem.service;
 
 import com.interview.quizsystem.model.Difficulty;
 import com.interview.quizsystem.model.QuestionDTO;
+import reactor.core.publisher.Mono;
+
 import java.util.List;
 
 public interface QuestionGeneratorService {
     List<QuestionDTO> generateQuestions(String topic, int count, Difficulty difficulty);
     QuestionDTO generateQuestion(String content, String topic, Difficulty difficulty);
+
+    // Non-blocking variant for the reactive API
+    Mono<QuestionDTO> generateQuestionAsync(String content, String topic, Difficulty difficulty);
 } 
\ No newline at end of file
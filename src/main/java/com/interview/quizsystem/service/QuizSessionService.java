@@ -1,11 +1,27 @@
 package com.interview.quizsystem.service;
 
+import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.model.QuestionDTO;
 import com.interview.quizsystem.model.QuizSession;
 import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.SessionPlan;
+
+import java.util.List;
 
 public interface QuizSessionService {
     QuizSession startSession(String topic, Difficulty difficulty, int questionCount);
+    // Difficulty for a new session (the recommended one when none is given) and the bank questions it reuses
+    SessionPlan planSession(String topic, Difficulty difficulty, int questionCount);
+    // Session of questions the current user is due to review in the topic; nothing is generated
+    QuizSession startReviewSession(String topic, int questionCount);
+    long countDueReviews(String topic);
+    // Stores a session for questions that were already generated
+    QuizSession createSession(String sessionId, String topic, Difficulty difficulty, List<QuestionDTO> questions);
     QuizSession submitAnswer(String sessionId, String questionId, String answer);
+    // Question with its correct answer, for evaluating an answer outside the submit transaction
+    QuestionDTO getQuestionForAnswer(String sessionId, String questionId);
+    // Stores an answer the caller already evaluated; a null evaluation means the question type is checked exactly
+    QuizSession submitAnswer(String sessionId, String questionId, String answer, AnswerFeedback evaluation);
     QuizSession getSession(String sessionId);
     QuizSession endSession(String sessionId);
 } 
\ No newline at end of file
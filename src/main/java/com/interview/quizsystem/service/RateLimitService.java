@@ -0,0 +1,13 @@
+package com.interview.quizsystem.service;
+
+import com.interview.quizsystem.model.AIOperationType;
+import com.interview.quizsystem.model.entity.User;
+
+public interface RateLimitService {
+    // Session starts, limited per user and per topic
+    boolean tryStartSession(User user, String topic);
+
+    // AI calls, limited per user and operation type and by the user's token budget
+    boolean tryAcquireAiCall(User user, AIOperationType operation, long estimatedTokens);
+    void reconcileAiTokens(User user, long estimatedTokens, long actualTokens);
+}
@@ -0,0 +1,14 @@
+package com.interview.quizsystem.service;
+
+import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.QuestionDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveQuizSessionService {
+    // Emits each question (without its answer) as soon as it is generated; the session is stored before the stream completes
+    Flux<QuestionDTO> startSession(String sessionId, String topic, Difficulty difficulty, int questionCount);
+
+    Mono<AnswerFeedback> submitAnswer(String sessionId, String questionId, String answer);
+}
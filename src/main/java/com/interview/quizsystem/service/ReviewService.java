@@ -0,0 +1,14 @@
+package com.interview.quizsystem.service;
+
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.model.entity.Question;
+
+import java.util.List;
+
+public interface ReviewService {
+    // Bank questions of the topic the user is due to review, most overdue first
+    List<Question> selectDueQuestions(Long userId, Long topicId, int limit);
+    long countDue(Long userId, Long topicId);
+    // Reschedules the answered questions of one user, in answer order
+    void applyAnswers(List<AnswerSubmittedEvent> answers);
+}
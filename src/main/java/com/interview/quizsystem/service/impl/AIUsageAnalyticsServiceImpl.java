@@ -0,0 +1,210 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.AIUsageConfig;
+import com.interview.quizsystem.dto.AIUsageLatencyDTO;
+import com.interview.quizsystem.dto.AIUsageStatsDTO;
+import com.interview.quizsystem.model.UsageGroupBy;
+import com.interview.quizsystem.model.UsageRollupGranularity;
+import com.interview.quizsystem.model.entity.AIUsageRollup;
+import com.interview.quizsystem.model.entity.Topic;
+import com.interview.quizsystem.repository.AIModelUsageRepository;
+import com.interview.quizsystem.repository.AIUsageRollupRepository;
+import com.interview.quizsystem.repository.TopicRepository;
+import com.interview.quizsystem.repository.UsageLatencyRow;
+import com.interview.quizsystem.service.AIUsageAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class AIUsageAnalyticsServiceImpl implements AIUsageAnalyticsService {
+
+    private static final String NONE = "none";
+    // Three significant digits: percentiles are accurate to 0.1% at any latency
+    private static final int HISTOGRAM_PRECISION = 3;
+
+    private final AIUsageConfig config;
+    private final AIUsageRollupRepository rollupRepository;
+    private final AIModelUsageRepository aiModelUsageRepository;
+    private final TopicRepository topicRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AIUsageStatsDTO> getSummary(UsageGroupBy groupBy, LocalDateTime from, LocalDateTime to) {
+        requireWindow(from, to);
+        // Hourly buckets follow the window closely but are only kept for a limited time
+        UsageRollupGranularity granularity = from.isAfter(LocalDateTime.now().minusDays(config.getHourlyRollupRetentionDays()))
+                ? UsageRollupGranularity.HOUR
+                : UsageRollupGranularity.DAY;
+        // Partial edge buckets are counted whole instead of being dropped (start) or silently overrun (end)
+        LocalDateTime windowStart = granularity.floor(from);
+        LocalDateTime windowEnd = granularity.ceil(to);
+
+        Map<String, StatsAccumulator> groups = new HashMap<>();
+        try (Stream<AIUsageRollup> buckets = rollupRepository.streamBuckets(granularity, windowStart, windowEnd)) {
+            buckets.forEach(bucket -> groups.computeIfAbsent(keyOf(groupBy, bucket), key -> new StatsAccumulator())
+                    .add(bucket));
+        }
+
+        Map<String, String> labels = labels(groupBy, groups.keySet());
+        return groups.entrySet().stream()
+                .map(entry -> {
+                    AIUsageStatsDTO stats = entry.getValue().toDTO(null, entry.getKey(), labels.get(entry.getKey()));
+                    stats.setWindowStart(windowStart);
+                    stats.setWindowEnd(windowEnd);
+                    return stats;
+                })
+                .sorted(Comparator.comparing(AIUsageStatsDTO::getCostInUsd).reversed())
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AIUsageStatsDTO> getTimeseries(UsageGroupBy groupBy, UsageRollupGranularity granularity,
+                                               LocalDateTime from, LocalDateTime to) {
+        requireWindow(from, to);
+        // Buckets arrive in time order, so each bucket's groups can be emitted as soon as the next bucket starts
+        List<AIUsageStatsDTO> points = new ArrayList<>();
+        Map<String, StatsAccumulator> current = new HashMap<>();
+        LocalDateTime[] currentBucket = new LocalDateTime[1];
+        try (Stream<AIUsageRollup> buckets = rollupRepository.streamBuckets(
+                granularity, granularity.floor(from), granularity.ceil(to))) {
+            buckets.forEach(bucket -> {
+                if (!bucket.getBucketStart().equals(currentBucket[0])) {
+                    emit(currentBucket[0], current, points);
+                    currentBucket[0] = bucket.getBucketStart();
+                }
+                current.computeIfAbsent(keyOf(groupBy, bucket), key -> new StatsAccumulator()).add(bucket);
+            });
+        }
+        emit(currentBucket[0], current, points);
+
+        Map<String, String> labels = labels(groupBy, points.stream().map(AIUsageStatsDTO::getKey).collect(Collectors.toSet()));
+        points.forEach(point -> point.setLabel(labels.get(point.getKey())));
+        return points;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AIUsageLatencyDTO> getLatency(UsageGroupBy groupBy, LocalDateTime from, LocalDateTime to) {
+        requireWindow(from, to);
+        if (Duration.between(from, to).toDays() > config.getMaxLatencyWindowDays()) {
+            throw new IllegalArgumentException(
+                    "Latency window cannot exceed " + config.getMaxLatencyWindowDays() + " days");
+        }
+
+        // One auto-resizing histogram per group: memory stays constant however many rows the window holds
+        Map<String, Histogram> histograms = new HashMap<>();
+        try (Stream<UsageLatencyRow> rows = aiModelUsageRepository.streamLatencies(from, to)) {
+            rows.forEach(row -> histograms.computeIfAbsent(keyOf(groupBy, row), key -> new Histogram(HISTOGRAM_PRECISION))
+                    .recordValue(Math.max(0, row.getResponseTimeMs())));
+        }
+
+        Map<String, String> labels = labels(groupBy, histograms.keySet());
+        return histograms.entrySet().stream()
+                .map(entry -> {
+                    Histogram histogram = entry.getValue();
+                    return AIUsageLatencyDTO.builder()
+                            .key(entry.getKey())
+                            .label(labels.get(entry.getKey()))
+                            .count(histogram.getTotalCount())
+                            .meanMs(histogram.getMean())
+                            .p50Ms(histogram.getValueAtPercentile(50))
+                            .p90Ms(histogram.getValueAtPercentile(90))
+                            .p95Ms(histogram.getValueAtPercentile(95))
+                            .p99Ms(histogram.getValueAtPercentile(99))
+                            .maxMs(histogram.getMaxValue())
+                            .build();
+                })
+                .sorted(Comparator.comparingLong(AIUsageLatencyDTO::getP95Ms).reversed())
+                .toList();
+    }
+
+    private static void requireWindow(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Window start " + from + " must be before its end " + to);
+        }
+    }
+
+    private static void emit(LocalDateTime bucketStart, Map<String, StatsAccumulator> groups, List<AIUsageStatsDTO> points) {
+        groups.forEach((key, accumulator) -> points.add(accumulator.toDTO(bucketStart, key, null)));
+        groups.clear();
+    }
+
+    private static String keyOf(UsageGroupBy groupBy, AIUsageRollup bucket) {
+        return switch (groupBy) {
+            case TOPIC -> keyOf(bucket.getTopicId());
+            case USER -> keyOf(bucket.getUserId());
+            case MODEL -> bucket.getModelProvider() + "/" + bucket.getModelName();
+            case OPERATION -> bucket.getOperationType().name();
+        };
+    }
+
+    private static String keyOf(UsageGroupBy groupBy, UsageLatencyRow row) {
+        return switch (groupBy) {
+            case TOPIC -> keyOf(row.getTopicId());
+            case USER -> keyOf(row.getUserId());
+            case MODEL -> row.getModelProvider() + "/" + row.getModelName();
+            case OPERATION -> row.getOperationType().name();
+        };
+    }
+
+    private static String keyOf(Long id) {
+        return id != null ? id.toString() : NONE;
+    }
+
+    // Topic keys are ids; resolve them to names in one query. Other keys are their own label
+    private Map<String, String> labels(UsageGroupBy groupBy, Set<String> keys) {
+        Map<String, String> labels = new HashMap<>();
+        keys.forEach(key -> labels.put(key, key));
+        if (groupBy == UsageGroupBy.TOPIC) {
+            List<Long> topicIds = keys.stream().filter(key -> !NONE.equals(key)).map(Long::valueOf).toList();
+            for (Topic topic : topicRepository.findAllById(topicIds)) {
+                labels.put(topic.getId().toString(), topic.getName());
+            }
+        }
+        return labels;
+    }
+
+    private static final class StatsAccumulator {
+        private long requestCount;
+        private long errorCount;
+        private long tokensUsed;
+        private BigDecimal costInUsd = BigDecimal.ZERO;
+        private Double worstBucketP95ResponseTimeMs;
+
+        void add(AIUsageRollup bucket) {
+            requestCount += bucket.getRequestCount();
+            errorCount += bucket.getErrorCount();
+            tokensUsed += bucket.getTokensUsed();
+            costInUsd = costInUsd.add(bucket.getCostInUsd());
+            Double p95 = bucket.getP95ResponseTimeMs();
+            if (p95 != null && (worstBucketP95ResponseTimeMs == null || p95 > worstBucketP95ResponseTimeMs)) {
+                worstBucketP95ResponseTimeMs = p95;
+            }
+        }
+
+        AIUsageStatsDTO toDTO(LocalDateTime bucketStart, String key, String label) {
+            return AIUsageStatsDTO.builder()
+                    .bucketStart(bucketStart)
+                    .key(key)
+                    .label(label)
+                    .requestCount(requestCount)
+                    .errorCount(errorCount)
+                    .errorRate(requestCount > 0 ? errorCount * 100.0 / requestCount : 0.0)
+                    .tokensUsed(tokensUsed)
+                    .costInUsd(costInUsd)
+                    .worstBucketP95ResponseTimeMs(worstBucketP95ResponseTimeMs)
+                    .build();
+        }
+    }
+}
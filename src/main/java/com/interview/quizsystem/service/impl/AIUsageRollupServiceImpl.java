@@ -0,0 +1,119 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.AIUsageConfig;
+import com.interview.quizsystem.model.ClusterJob;
+import com.interview.quizsystem.model.UsageRollupGranularity;
+import com.interview.quizsystem.repository.AIModelErrorRepository;
+import com.interview.quizsystem.repository.AIUsageRollupRepository;
+import com.interview.quizsystem.service.AIUsageRollupService;
+import com.interview.quizsystem.service.ClusterJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AIUsageRollupServiceImpl implements AIUsageRollupService {
+
+    // Matches the names created by ensure_ai_model_usage_partition (V10); the default partition never matches
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("ai_model_usage_(\\d{4})_(\\d{2})");
+
+    private final AIUsageConfig config;
+    private final AIUsageRollupRepository rollupRepository;
+    private final AIModelErrorRepository aiModelErrorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterJobService clusterJobService;
+
+    @Override
+    @Scheduled(fixedDelayString = "${ai-usage.rollup-interval-ms:300000}")
+    public void refreshRollups() {
+        // The slot is the refresh interval, so the cluster refreshes once per interval whatever the node count
+        Duration interval = Duration.ofMillis(config.getRollupIntervalMs());
+        clusterJobService.runExclusive(ClusterJob.REFRESH_AI_USAGE_ROLLUPS, interval, lease -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime since = now.minusHours(config.getRollupLookbackHours());
+            long rows = refresh(UsageRollupGranularity.HOUR, since.truncatedTo(ChronoUnit.HOURS),
+                    now.truncatedTo(ChronoUnit.HOURS).plusHours(1), now);
+            rows += refresh(UsageRollupGranularity.DAY, since.truncatedTo(ChronoUnit.DAYS),
+                    now.truncatedTo(ChronoUnit.DAYS).plusDays(1), now);
+            return rows;
+        });
+    }
+
+    // Delete and re-insert in one transaction, so readers always see either the old or the new buckets
+    private long refresh(UsageRollupGranularity granularity, LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+        Integer rows = transactionTemplate.execute(status -> {
+            rollupRepository.deleteBuckets(granularity.name(), from, to);
+            return rollupRepository.insertBuckets(granularity.name(), from, to, now);
+        });
+        return rows != null ? rows : 0;
+    }
+
+    @Override
+    @Scheduled(cron = "0 30 0 * * *") // Run at half past midnight every day
+    public void maintainPartitions() {
+        clusterJobService.runExclusive(ClusterJob.MAINTAIN_AI_USAGE_PARTITIONS, Duration.ofDays(1), lease -> {
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= config.getPartitionMonthsAhead(); i++) {
+                createPartition(current.plusMonths(i));
+            }
+
+            YearMonth oldestKept = current.minusMonths(config.getRetentionMonths());
+            long dropped = 0;
+            for (String partition : listMonthlyPartitions()) {
+                Matcher matcher = MONTHLY_PARTITION.matcher(partition);
+                matcher.matches();
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (month.isBefore(oldestKept)) {
+                    // Dropping a partition is a catalog change, not a DELETE of every row
+                    jdbcTemplate.queryForList("SELECT drop_ai_model_usage_partition(?)", month.atDay(1));
+                    log.info("Dropped AI usage partition {}", partition);
+                    dropped++;
+                }
+            }
+
+            LocalDateTime cutoff = oldestKept.atDay(1).atStartOfDay();
+            LocalDateTime hourlyCutoff = LocalDateTime.now().minusDays(config.getHourlyRollupRetentionDays());
+            Integer deleted = transactionTemplate.execute(status ->
+                    jdbcTemplate.update("DELETE FROM ai_model_usage_default WHERE created_at < ?", cutoff)
+                            + aiModelErrorRepository.deleteCreatedBefore(cutoff)
+                            + rollupRepository.deleteBucketsBefore(UsageRollupGranularity.HOUR.name(), hourlyCutoff));
+            return dropped + (deleted != null ? deleted : 0);
+        });
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate monthStart = month.atDay(1);
+        try {
+            jdbcTemplate.queryForList("SELECT ensure_ai_model_usage_partition(?)", monthStart);
+        } catch (DataAccessException e) {
+            // Later months are still created; this one is retried on the next run
+            log.error("Could not create AI usage partition for {}", month, e);
+        }
+    }
+
+    private List<String> listMonthlyPartitions() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'ai_model_usage'::regclass
+                        """, String.class).stream()
+                .filter(name -> MONTHLY_PARTITION.matcher(name).matches())
+                .toList();
+    }
+}
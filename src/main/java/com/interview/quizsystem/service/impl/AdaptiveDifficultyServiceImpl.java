@@ -0,0 +1,177 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.AdaptiveDifficultyConfig;
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.event.SkillRatingUpdatedEvent;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.entity.Question;
+import com.interview.quizsystem.repository.ItemRatingRow;
+import com.interview.quizsystem.repository.QuestionRepository;
+import com.interview.quizsystem.repository.SkillRatingRepository;
+import com.interview.quizsystem.repository.SkillRatingRow;
+import com.interview.quizsystem.service.AdaptiveDifficultyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Elo ratings for users (per topic) and questions on one scale: a correct answer moves the user up and the
+// question down by how surprising it was, so both converge without ever rescanning answer history
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdaptiveDifficultyServiceImpl implements AdaptiveDifficultyService {
+
+    private final AdaptiveDifficultyConfig config;
+    private final SkillRatingRepository skillRatingRepository;
+    private final QuestionRepository questionRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public double getRating(Long userId, Long topicId) {
+        Cache cache = cacheManager.getCache(CacheConfig.SKILL_RATINGS);
+        if (cache == null) {
+            return loadRating(userId, topicId);
+        }
+        // Loaded outside the cache: Caffeine runs a loader under its map lock, which pins a virtual thread's carrier
+        // for the whole query. Concurrent misses both query, and one that races an update can cache the old rating
+        // until it expires
+        RatingKey key = new RatingKey(userId, topicId);
+        Double rating = cache.get(key, Double.class);
+        if (rating == null) {
+            rating = loadRating(userId, topicId);
+            cache.put(key, rating);
+        }
+        return rating;
+    }
+
+    private double loadRating(Long userId, Long topicId) {
+        return skillRatingRepository.findRating(userId, topicId)
+                .map(SkillRatingRow::getRating)
+                .orElse(config.getInitialRating());
+    }
+
+    @Override
+    public Difficulty recommendDifficulty(Long userId, Long topicId) {
+        double target = targetItemRating(getRating(userId, topicId));
+        return Arrays.stream(Difficulty.values())
+                .min(Comparator.comparingDouble(difficulty -> Math.abs(difficulty.getNominalRating() - target)))
+                .orElse(Difficulty.MEDIUM);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Question> selectBankQuestions(Long userId, Long topicId, Difficulty difficulty, int questionCount) {
+        int limit = (int) Math.floor(questionCount * config.getBankShare());
+        if (limit <= 0) {
+            return List.of();
+        }
+        double target = targetItemRating(getRating(userId, topicId));
+        // Fewer may come back once the user has seen most of the bank; the caller generates the rest
+        return questionRepository.findBankQuestions(userId, topicId, difficulty.name(), target,
+                config.getBankRatingJitter(), limit);
+    }
+
+    // Item rating at which the user answers correctly with the target probability:
+    // p = 1 / (1 + 10^((item - user) / 400))  =>  item = user - 400 * log10(p / (1 - p))
+    double targetItemRating(double userRating) {
+        double p = config.getTargetSuccessRate();
+        return userRating - 400 * Math.log10(p / (1 - p));
+    }
+
+    private static double expectedScore(double userRating, double itemRating) {
+        return 1 / (1 + Math.pow(10, (itemRating - userRating) / 400));
+    }
+
+    @Override
+    @Transactional
+    public void applyAnswers(List<AnswerSubmittedEvent> answers) {
+        // Unanswered questions at the end of a session say nothing about skill
+        List<AnswerSubmittedEvent> rated = answers.stream().filter(answer -> !answer.skipped()).toList();
+        if (rated.isEmpty()) {
+            return;
+        }
+        Long userId = rated.get(0).userId();
+        Map<String, ItemRatingRow> items = questionRepository.findItemRatings(
+                        rated.stream().map(AnswerSubmittedEvent::questionId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ItemRatingRow::getQuestionId, Function.identity()));
+
+        Map<Long, RatingState> ratings = new LinkedHashMap<>();
+        Map<String, ItemDelta> itemDeltas = new LinkedHashMap<>();
+        for (AnswerSubmittedEvent answer : rated) {
+            RatingState state = ratings.computeIfAbsent(answer.topicId(), topicId -> loadState(userId, topicId));
+            ItemRatingRow item = items.get(answer.questionId());
+            // Questions deleted since (or never stored) are rated at their level's nominal difficulty
+            double itemRating = item != null ? item.getItemRating() : answer.difficulty().getNominalRating();
+            double surprise = (answer.correct() ? 1 : 0) - expectedScore(state.rating, itemRating);
+
+            state.rating += (state.answers < config.getProvisionalAnswers() ? config.getProvisionalK() : config.getK()) * surprise;
+            state.answers++;
+            if (item != null) {
+                itemDeltas.computeIfAbsent(item.getItemId(), id -> new ItemDelta()).add(-config.getItemK() * surprise);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ratings.forEach((topicId, state) ->
+                skillRatingRepository.upsert(userId, topicId, state.rating, state.answers, now));
+        itemDeltas.forEach((itemId, delta) -> questionRepository.adjustItemRating(itemId, delta.rating, delta.answers));
+        eventPublisher.publishEvent(new SkillRatingUpdatedEvent(userId, ratings.keySet()));
+        log.debug("Applied {} answers of user {} to {} skill ratings and {} questions",
+                rated.size(), userId, ratings.size(), itemDeltas.size());
+    }
+
+    private RatingState loadState(Long userId, Long topicId) {
+        return skillRatingRepository.findRating(userId, topicId)
+                .map(row -> new RatingState(row.getRating(), row.getAnswersCount()))
+                .orElseGet(() -> new RatingState(config.getInitialRating(), 0));
+    }
+
+    // The cache is only dropped once the new ratings are visible to the next read; the cache bus tells other nodes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillRatingUpdated(SkillRatingUpdatedEvent event) {
+        evictRatings(event.userId(), event.topicIds());
+    }
+
+    @Override
+    public void evictRatings(Long userId, Collection<Long> topicIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.SKILL_RATINGS);
+        if (cache != null) {
+            topicIds.forEach(topicId -> cache.evict(new RatingKey(userId, topicId)));
+        }
+    }
+
+    private record RatingKey(Long userId, Long topicId) {
+    }
+
+    private static final class RatingState {
+        private double rating;
+        private int answers;
+
+        RatingState(double rating, int answers) {
+            this.rating = rating;
+            this.answers = answers;
+        }
+    }
+
+    private static final class ItemDelta {
+        private double rating;
+        private int answers;
+
+        void add(double delta) {
+            rating += delta;
+            answers++;
+        }
+    }
+}
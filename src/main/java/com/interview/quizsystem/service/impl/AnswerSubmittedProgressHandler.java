@@ -0,0 +1,46 @@
+package com.interview.quizsystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.entity.OutboxEvent;
+import com.interview.quizsystem.service.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Applies submitted answers to topic/difficulty progress, one counter upsert per (topic, difficulty) per batch
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnswerSubmittedProgressHandler implements OutboxHandler {
+
+    private final ObjectMapper objectMapper;
+    private final ProgressCounterWriter progressCounterWriter;
+
+    @Override
+    public String eventType() {
+        return AnswerSubmittedEvent.TYPE;
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) throws Exception {
+        Map<ProgressKey, ProgressCounterWriter.Delta> totals = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            AnswerSubmittedEvent answer = objectMapper.readValue(event.getPayload(), AnswerSubmittedEvent.class);
+            totals.merge(new ProgressKey(answer.userId(), answer.topicId(), answer.difficulty()),
+                    new ProgressCounterWriter.Delta(1, answer.correct() ? 1 : 0),
+                    ProgressCounterWriter.Delta::plus);
+        }
+        totals.forEach((key, delta) -> progressCounterWriter.applyInTransaction(
+                key.userId(), key.topicId(), key.difficulty(), delta.attempted(), delta.correct()));
+        log.debug("Applied {} submitted answers as {} progress updates", events.size(), totals.size());
+    }
+
+    private record ProgressKey(Long userId, Long topicId, Difficulty difficulty) {
+    }
+}
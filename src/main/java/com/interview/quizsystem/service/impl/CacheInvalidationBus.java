@@ -0,0 +1,260 @@
+package com.interview.quizsystem.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.config.CacheBusConfig;
+import com.interview.quizsystem.event.RepositorySyncedEvent;
+import com.interview.quizsystem.event.SkillRatingUpdatedEvent;
+import com.interview.quizsystem.service.AdaptiveDifficultyService;
+import com.interview.quizsystem.service.GitHubParserService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Keeps the in-process caches of every node coherent by broadcasting invalidations over Postgres LISTEN/NOTIFY
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+    // NOTIFY payloads must stay below 8000 bytes; larger key lists are widened to "every key"
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+
+    private final CacheBusConfig config;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TopicCacheInvalidator topicCacheInvalidator;
+    private final GitHubParserService gitHubParserService;
+    private final AdaptiveDifficultyService adaptiveDifficultyService;
+    private final TransactionTemplate notifyTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    // Catch-up pulls run here, never on the listener thread, so a slow fetch cannot stall notification delivery
+    private final ExecutorService catchUpExecutor;
+    private final AtomicBoolean catchUpQueued = new AtomicBoolean();
+    // Set while a catch-up pull publishes its RepositorySyncedEvent: that change came from another node,
+    // which has already broadcast it
+    private final ThreadLocal<Boolean> catchingUp = ThreadLocal.withInitial(() -> false);
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public CacheInvalidationBus(CacheBusConfig config,
+                                DataSourceProperties dataSourceProperties,
+                                JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                TopicCacheInvalidator topicCacheInvalidator,
+                                GitHubParserService gitHubParserService,
+                                AdaptiveDifficultyService adaptiveDifficultyService,
+                                PlatformTransactionManager transactionManager) {
+        this.config = config;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.topicCacheInvalidator = topicCacheInvalidator;
+        this.gitHubParserService = gitHubParserService;
+        this.adaptiveDifficultyService = adaptiveDifficultyService;
+        // NOTIFY is only delivered on commit, so it always gets a transaction of its own
+        this.notifyTemplate = new TransactionTemplate(transactionManager);
+        this.notifyTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.catchUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-bus-catch-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-bus-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("Cache invalidation bus listening on channel {} as node {}", config.getChannel(), nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        catchUpExecutor.shutdownNow();
+    }
+
+    @EventListener
+    public void onRepositorySynced(RepositorySyncedEvent event) {
+        if (catchingUp.get()) {
+            return;
+        }
+        if (event.topicSetChanged()) {
+            broadcast(new Message(nodeId, Type.TOPIC_SET_CHANGED, event.head(), null));
+        }
+        List<String> topics = event.changedTopics() != null ? List.copyOf(event.changedTopics()) : null;
+        broadcast(new Message(nodeId, Type.TOPIC_CONTENT_CHANGED, event.head(), topics));
+    }
+
+    // After commit, so other nodes reload the new ratings rather than the old ones
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillRatingUpdated(SkillRatingUpdatedEvent event) {
+        List<String> keys = event.topicIds().stream()
+                .map(topicId -> event.userId() + ":" + topicId)
+                .toList();
+        broadcast(new Message(nodeId, Type.SKILL_RATINGS_CHANGED, null, keys));
+    }
+
+    private void broadcast(Message message) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(message);
+            if (payload.length() > MAX_PAYLOAD_LENGTH && message.type() != Type.TOPIC_SET_CHANGED) {
+                payload = objectMapper.writeValueAsString(message.widened());
+            }
+            String notification = payload;
+            notifyTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", config.getChannel(), notification));
+        } catch (JsonProcessingException | DataAccessException e) {
+            // Other nodes fall back to their cache TTLs
+            log.warn("Failed to broadcast cache invalidation {}", message.type(), e);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + config.getChannel());
+                }
+                // Anything broadcast while this node was not listening is lost, so start from empty caches
+                topicCacheInvalidator.invalidateAll();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(config.getPollTimeoutMs());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation bus disconnected, reconnecting in {} ms", config.getReconnectDelayMs(), e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            Message message = objectMapper.readValue(payload, Message.class);
+            if (nodeId.equals(message.origin())) {
+                return;
+            }
+            switch (message.type()) {
+                case TOPIC_SET_CHANGED, TOPIC_CONTENT_CHANGED -> catchUp(message);
+                case SKILL_RATINGS_CHANGED -> evictRatings(message.keys());
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply cache invalidation {}", payload, e);
+        }
+    }
+
+    private void catchUp(Message message) {
+        // Each node reads its own clone: pull first if it is behind, which publishes the exact local changes
+        if (message.head() != null && !message.head().equals(gitHubParserService.getRepositoryHead())) {
+            scheduleCatchUp();
+            return;
+        }
+        if (message.type() == Type.TOPIC_SET_CHANGED) {
+            topicCacheInvalidator.invalidateTopics();
+        } else {
+            topicCacheInvalidator.invalidateContent(message.keys());
+        }
+    }
+
+    private void evictRatings(List<String> keys) {
+        // Only widened when one user's ratings changed in hundreds of topics at once, so clearing everything is fine
+        if (keys == null) {
+            topicCacheInvalidator.invalidateAll();
+            return;
+        }
+        keys.forEach(key -> {
+            int separator = key.indexOf(':');
+            adaptiveDifficultyService.evictRatings(Long.valueOf(key.substring(0, separator)),
+                    List.of(Long.valueOf(key.substring(separator + 1))));
+        });
+    }
+
+    // One pull brings the clone to the latest HEAD, so notifications arriving while one is queued need no other
+    private void scheduleCatchUp() {
+        if (!catchUpQueued.compareAndSet(false, true)) {
+            return;
+        }
+        catchUpExecutor.execute(() -> {
+            // Cleared before pulling, so a HEAD announced during the pull gets a pull of its own
+            catchUpQueued.set(false);
+            catchingUp.set(true);
+            try {
+                gitHubParserService.syncRepository();
+            } catch (RuntimeException e) {
+                log.error("Failed to catch up with the notes repository", e);
+            } finally {
+                catchingUp.remove();
+            }
+        });
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(config.getReconnectDelayMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    enum Type {
+        TOPIC_SET_CHANGED,
+        TOPIC_CONTENT_CHANGED,
+        // Keys are "userId:topicId"
+        SKILL_RATINGS_CHANGED
+    }
+
+    // A null keys list means every key of that type
+    record Message(String origin, Type type, String head, List<String> keys) {
+
+        Message widened() {
+            return new Message(origin, type, head, null);
+        }
+    }
+}
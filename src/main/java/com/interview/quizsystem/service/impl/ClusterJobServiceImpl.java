@@ -0,0 +1,245 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.JobConfig;
+import com.interview.quizsystem.dto.JobRunDTO;
+import com.interview.quizsystem.model.ClusterJob;
+import com.interview.quizsystem.model.JobRunStatus;
+import com.interview.quizsystem.model.entity.JobRun;
+import com.interview.quizsystem.repository.JobRunRepository;
+import com.interview.quizsystem.service.ClusterJobService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Leader election per job via session-level pg_try_advisory_lock, held on a dedicated connection for the whole run.
+// The lock only keeps runs from overlapping; the unique (job_name, slot) row in job_runs keeps a node whose tick
+// comes just after another node finished from running the same slot again
+@Slf4j
+@Service
+public class ClusterJobServiceImpl implements ClusterJobService {
+
+    // First key of the two-key advisory lock, keeps job locks apart from any other advisory locks
+    private static final int LOCK_NAMESPACE = 0x4A4F4253;
+
+    private final JobConfig config;
+    private final DataSourceProperties dataSourceProperties;
+    private final JobRunRepository jobRunRepository;
+    private final ScheduledExecutorService heartbeats;
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    public ClusterJobServiceImpl(JobConfig config,
+                                 DataSourceProperties dataSourceProperties,
+                                 JobRunRepository jobRunRepository) {
+        this.config = config;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jobRunRepository = jobRunRepository;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public boolean runExclusive(ClusterJob job, Duration period, Job work) {
+        String jobName = job.getJobName();
+        // Not a pooled connection: closing it ends the session, which always releases the lock
+        try (Connection lockConnection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword())) {
+            LocalDateTime slot = tryLock(lockConnection, job, period);
+            if (slot == null) {
+                log.info("Skipping job {}: it is running on another node", jobName);
+                return false;
+            }
+            JobRun run = claimSlot(jobName, slot);
+            if (run == null) {
+                log.info("Skipping job {}: slot {} has already run", jobName, slot);
+                return false;
+            }
+            execute(jobName, work, run, lockConnection);
+            return true;
+        } catch (SQLException e) {
+            log.error("Could not acquire lock for job {}", jobName, e);
+            return false;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JobRunDTO> getLatestRuns() {
+        return jobRunRepository.findLatestRuns().stream().map(this::convertToDTO).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JobRunDTO> getRecentRuns(String jobName) {
+        return jobRunRepository.findTop20ByJobNameOrderByStartedAtDesc(jobName).stream()
+                .map(this::convertToDTO)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    // Inserted while holding the lock; the unique index rejects a second claim unless the earlier run failed
+    private JobRun claimSlot(String jobName, LocalDateTime slot) {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = jobRunRepository.failAbandonedRuns(jobName, now);
+        if (abandoned > 0) {
+            log.warn("Marked {} abandoned runs of job {} as failed", abandoned, jobName);
+        }
+        try {
+            return jobRunRepository.saveAndFlush(JobRun.builder()
+                    .jobName(jobName)
+                    .slot(slot)
+                    .nodeId(nodeId)
+                    .status(JobRunStatus.RUNNING)
+                    .startedAt(now)
+                    .heartbeatAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    private void execute(String jobName, Job job, JobRun run, Connection lockConnection) {
+        HeldLease lease = new HeldLease(jobName, run.getId(), lockConnection);
+        long interval = config.getHeartbeatIntervalMs();
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleWithFixedDelay(
+                lease::renew, interval, interval, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        try {
+            long rows = job.run(lease);
+            run.setStatus(lease.isHeld() ? JobRunStatus.SUCCEEDED : JobRunStatus.LEASE_LOST);
+            run.setRowsAffected(rows);
+            log.info("Job {} finished with {} rows affected", jobName, rows);
+        } catch (Exception e) {
+            log.error("Job {} failed", jobName, e);
+            run.setStatus(JobRunStatus.FAILED);
+            run.setErrorMessage(e.getMessage());
+        } finally {
+            heartbeat.cancel(false);
+            lease.release();
+        }
+
+        run.setFinishedAt(LocalDateTime.now());
+        run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        jobRunRepository.save(run);
+    }
+
+    // Returns the current slot once the lock is taken, or null when another node holds it. The slot is the period
+    // boundary nearest to the database's clock, so every node agrees on it and one whose clock fires a little early
+    // still claims the slot it was scheduled for
+    private static LocalDateTime tryLock(Connection connection, ClusterJob job, Duration period) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT pg_try_advisory_lock(?, ?),
+                       TIMESTAMP 'epoch' + round(extract(epoch FROM LOCALTIMESTAMP) / ?) * ? * INTERVAL '1 second'
+                """)) {
+            long periodSeconds = Math.max(1, period.toSeconds());
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, job.getLockId());
+            statement.setLong(3, periodSeconds);
+            statement.setLong(4, periodSeconds);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1) ? resultSet.getObject(2, LocalDateTime.class) : null;
+            }
+        }
+    }
+
+    private JobRunDTO convertToDTO(JobRun run) {
+        return JobRunDTO.builder()
+                .jobName(run.getJobName())
+                .slot(run.getSlot())
+                .nodeId(run.getNodeId())
+                .status(run.getStatus())
+                .startedAt(run.getStartedAt())
+                .heartbeatAt(run.getHeartbeatAt())
+                .finishedAt(run.getFinishedAt())
+                .durationMs(run.getDurationMs())
+                .rowsAffected(run.getRowsAffected())
+                .errorMessage(run.getErrorMessage())
+                .build();
+    }
+
+    // The advisory lock lives as long as the session, so renewing the lease means checking the connection is alive
+    private final class HeldLease implements Lease {
+        private final String jobName;
+        private final Long runId;
+        private final Connection connection;
+        // Not a monitor: renew() blocks on I/O, and a virtual thread waiting on a monitor would pin its carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean held = true;
+        private boolean released;
+
+        private HeldLease(String jobName, Long runId, Connection connection) {
+            this.jobName = jobName;
+            this.runId = runId;
+            this.connection = connection;
+        }
+
+        @Override
+        public boolean isHeld() {
+            return held;
+        }
+
+        void renew() {
+            lock.lock();
+            try {
+                if (released || !held) {
+                    return;
+                }
+                try {
+                    if (!connection.isValid(5)) {
+                        held = false;
+                        log.warn("Job {} lost its lock connection; stopping at the next batch boundary", jobName);
+                        return;
+                    }
+                } catch (SQLException e) {
+                    held = false;
+                    log.warn("Job {} lost its lock connection; stopping at the next batch boundary", jobName, e);
+                    return;
+                }
+                try {
+                    jobRunRepository.heartbeat(runId, LocalDateTime.now());
+                } catch (Exception e) {
+                    log.warn("Failed to record heartbeat for job {}", jobName, e);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Called before the connection is closed, so a late heartbeat never touches a closed connection
+        void release() {
+            lock.lock();
+            try {
+                released = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package com.interview.quizsystem.service.impl;
 
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.event.RepositorySyncedEvent;
 import com.interview.quizsystem.service.GitHubParserService;
 import com.interview.quizsystem.service.TopicService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,8 +37,13 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class GitHubParserServiceImpl implements GitHubParserService {
 
+    // The topics cache holds one entry: the topic list of the current clone
+    private static final String ALL_TOPICS = "all";
+
     private final Git gitClient;
     private final TopicService topicService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     @Value("${github.repository.local-path}")
     private String localPath;
@@ -42,54 +58,91 @@ public class GitHubParserServiceImpl implements GitHubParserService {
     public void syncRepository() {
         try {
             log.info("Syncing repository...");
+            ObjectId before = resolveHead();
             gitClient.pull().call();
+            ObjectId after = resolveHead();
             log.info("Repository synced successfully");
-        } catch (GitAPIException e) {
+
+            if (after != null && !after.equals(before)) {
+                eventPublisher.publishEvent(changesBetween(before, after));
+            }
+        } catch (GitAPIException | IOException e) {
             log.error("Error syncing repository", e);
             throw new RuntimeException("Failed to sync repository", e);
         }
     }
 
+    @Override
+    public String getRepositoryHead() {
+        try {
+            ObjectId head = resolveHead();
+            return head != null ? head.name() : null;
+        } catch (IOException e) {
+            log.error("Error resolving repository HEAD", e);
+            throw new RuntimeException("Failed to resolve repository HEAD", e);
+        }
+    }
+
+    // Only the file scans are cached; topics are registered on every call, so a cache hit never skips that
     @Override
     @Transactional
     public List<String> getAvailableTopics() {
-        try {
-            List<PathMatcher> includeMatchers = Arrays.stream(filePatterns.split(","))
-                    .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern.trim()))
-                    .collect(Collectors.toList());
+        Cache cache = cache(CacheConfig.TOPICS);
+        List<String> topics = cache.get(ALL_TOPICS, this::scanTopics);
+        if (topics.isEmpty()) {
+            // An empty scan usually means the clone is missing or mid-sync; look again next time
+            cache.evict(ALL_TOPICS);
+        }
 
-            List<PathMatcher> excludeMatchers = excludePatterns.isEmpty() ? 
-                Collections.emptyList() : 
-                Arrays.stream(excludePatterns.split(","))
-                    .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern.trim()))
-                    .collect(Collectors.toList());
+        // Create topics in the database
+        topics.forEach(topicService::getOrCreateTopic);
+        return topics;
+    }
+
+    @Override
+    @Transactional
+    public Map<String, String> getContentByTopic(String topic) {
+        // Ensure topic exists in database
+        topicService.getOrCreateTopic(topic);
+        return cache(CacheConfig.TOPIC_CONTENT).get(topic, () -> readContent(topic));
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
 
-            List<String> topics = Files.walk(Paths.get(localPath))
+    private List<String> scanTopics() {
+        try {
+            return Files.walk(Paths.get(localPath))
                     .filter(Files::isRegularFile)
-                    .filter(path -> includeMatchers.stream().anyMatch(matcher -> matcher.matches(path)))
-                    .filter(path -> excludeMatchers.stream().noneMatch(matcher -> matcher.matches(path)))
+                    .filter(this::isContentFile)
                     .map(this::extractTopic)
                     .filter(Objects::nonNull)
                     .distinct()
-                    .collect(Collectors.toList());
-
-            // Create topics in the database
-            topics.forEach(topicService::getOrCreateTopic);
-
-            return topics;
+                    .toList();
         } catch (IOException e) {
             log.error("Error getting available topics", e);
             throw new RuntimeException("Failed to get available topics", e);
         }
     }
 
-    @Override
-    @Transactional
-    public Map<String, String> getContentByTopic(String topic) {
-        try {
-            // Ensure topic exists in database
-            topicService.getOrCreateTopic(topic);
+    // Same include/exclude rules as the topic scan; paths are resolved under the clone like the walked ones
+    private boolean isContentFile(Path path) {
+        return matchers(filePatterns).stream().anyMatch(matcher -> matcher.matches(path))
+                && matchers(excludePatterns).stream().noneMatch(matcher -> matcher.matches(path));
+    }
 
+    private static List<PathMatcher> matchers(String patterns) {
+        if (patterns.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(patterns.split(","))
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern.trim()))
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, String> readContent(String topic) {
+        try {
             List<PathMatcher> includeMatchers = Arrays.stream(filePatterns.split(","))
                     .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern.trim()))
                     .collect(Collectors.toList());
@@ -107,7 +160,8 @@ public class GitHubParserServiceImpl implements GitHubParserService {
                             log.error("Error reading file: {}", path, e);
                         }
                     });
-            return contentMap;
+            // Cached and shared between callers
+            return Map.copyOf(contentMap);
         } catch (IOException e) {
             log.error("Error getting content for topic: {}", topic, e);
             throw new RuntimeException("Failed to get content for topic: " + topic, e);
@@ -125,6 +179,47 @@ public class GitHubParserServiceImpl implements GitHubParserService {
         }
     }
 
+    private ObjectId resolveHead() throws IOException {
+        return gitClient.getRepository().resolve(Constants.HEAD);
+    }
+
+    // Works out which topics a pull touched, so only their cache entries are dropped
+    private RepositorySyncedEvent changesBetween(ObjectId before, ObjectId after) throws IOException, GitAPIException {
+        if (before == null) {
+            return RepositorySyncedEvent.everything(after.name());
+        }
+
+        Repository repository = gitClient.getRepository();
+        List<DiffEntry> diffs;
+        try (ObjectReader reader = repository.newObjectReader()) {
+            CanonicalTreeParser oldTree = new CanonicalTreeParser();
+            oldTree.reset(reader, repository.parseCommit(before).getTree());
+            CanonicalTreeParser newTree = new CanonicalTreeParser();
+            newTree.reset(reader, repository.parseCommit(after).getTree());
+            diffs = gitClient.diff().setOldTree(oldTree).setNewTree(newTree).call();
+        }
+
+        boolean topicSetChanged = false;
+        Set<String> changedTopics = new HashSet<>();
+        for (DiffEntry diff : diffs) {
+            // Files outside the content patterns (sources, images, CI config) never affect topics
+            List<Path> contentPaths = Stream.of(diff.getOldPath(), diff.getNewPath())
+                    .filter(path -> !DiffEntry.DEV_NULL.equals(path))
+                    .map(path -> Paths.get(localPath, path))
+                    .filter(this::isContentFile)
+                    .toList();
+            if (contentPaths.isEmpty()) {
+                continue;
+            }
+            // Adds, deletes and renames can change which topics exist; edits only change content
+            if (diff.getChangeType() != DiffEntry.ChangeType.MODIFY) {
+                topicSetChanged = true;
+            }
+            contentPaths.forEach(path -> changedTopics.add(extractTopic(path)));
+        }
+        return new RepositorySyncedEvent(after.name(), topicSetChanged, changedTopics);
+    }
+
     private String extractTopic(Path path) {
         String fileName = path.getFileName().toString().toLowerCase();
         
@@ -2,26 +2,30 @@ package com.interview.quizsystem.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.exception.RateLimitExceededException;
 import com.interview.quizsystem.model.AIOperationType;
+import com.interview.quizsystem.model.AIRequestPriority;
 import com.interview.quizsystem.model.AIUsageStatus;
 import com.interview.quizsystem.model.QuestionDTO;
 import com.interview.quizsystem.model.entity.AIModelError;
 import com.interview.quizsystem.model.entity.AIModelUsage;
 import com.interview.quizsystem.model.entity.Topic;
+import com.interview.quizsystem.model.entity.User;
 import com.interview.quizsystem.repository.AIModelErrorRepository;
 import com.interview.quizsystem.repository.AIModelUsageRepository;
 import com.interview.quizsystem.service.AnswerEvaluationService;
+import com.interview.quizsystem.service.RateLimitService;
 import com.interview.quizsystem.service.TopicService;
 import com.interview.quizsystem.service.UserService;
-import kong.unirest.HttpResponse;
-import kong.unirest.Unirest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -36,99 +40,181 @@ public class OpenAIAnswerEvaluationService implements AnswerEvaluationService {
     private final AIModelErrorRepository aiModelErrorRepository;
     private final TopicService topicService;
     private final UserService userService;
+    private final RateLimitService rateLimitService;
+    private final OpenAIClient openAIClient;
+    private final MeterRegistry meterRegistry;
 
     @Value("${openai.model}")
     private String model;
 
-    @Value("${openai.temperature}")
-    private double temperature;
-
-    @Value("${openai.max-tokens}")
-    private int maxTokens;
-
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
     private static final BigDecimal COST_PER_TOKEN = new BigDecimal("0.000002"); // $0.002 per 1K tokens
+    private static final String SYSTEM_MESSAGE = "You are a technical interviewer evaluating answers.";
 
+    // Not transactional: the usage records commit on their own, so no connection is held while OpenAI responds
     @Override
-    @Transactional
     public AnswerFeedback evaluateAnswer(QuestionDTO question, String userAnswer) {
         log.info("Starting OpenAI evaluation for question type: {}, topic: {}", question.getType(), question.getTopic());
         long startTime = System.currentTimeMillis();
         AIModelUsage usage = null;
+
+        String prompt = buildPrompt(question, userAnswer);
+        User user = userService.getCurrentUser();
+        long estimatedTokens = openAIClient.estimateTokens(prompt);
+        if (!rateLimitService.tryAcquireAiCall(user, AIOperationType.ANSWER_EVALUATION, estimatedTokens)) {
+            countEvaluation("fallback", "user_limit");
+            return basicComparison(question, userAnswer,
+                    "AI evaluation limit reached. Using basic comparison.");
+        }
         
         try {
-            String prompt = buildPrompt(question, userAnswer);
             log.debug("Sending prompt to OpenAI: {}", prompt);
-            String response = callOpenAI(prompt);
+            OpenAIClient.Completion completion = openAIClient.complete(
+                    SYSTEM_MESSAGE,
+                    prompt,
+                    AIRequestPriority.INTERACTIVE_EVALUATION);
+            String response = completion.content();
             log.debug("Received response from OpenAI: {}", response);
-            
-            // Calculate tokens (approximate)
-            int promptTokens = prompt.length() / 4; // rough estimate
-            int responseTokens = response.length() / 4;
-            int totalTokens = promptTokens + responseTokens;
-            
-            log.info("Calculated tokens - prompt: {}, response: {}, total: {}", promptTokens, responseTokens, totalTokens);
+
+            // Billed tokens as reported by OpenAI
+            int totalTokens = completion.totalTokens();
+            log.info("OpenAI reported {} total tokens", totalTokens);
+            rateLimitService.reconcileAiTokens(user, estimatedTokens, totalTokens);
             
             // Create usage record
-            usage = AIModelUsage.builder()
-                    .topic(topicService.getTopicByName(question.getTopic()))
-                    .user(userService.getCurrentUser())
-                    .operationType(AIOperationType.ANSWER_EVALUATION)
-                    .modelProvider("OPENAI")
-                    .modelName(model)
-                    .tokensUsed(totalTokens)
-                    .costInUsd(COST_PER_TOKEN.multiply(new BigDecimal(totalTokens)).setScale(6, RoundingMode.HALF_UP))
-                    .responseTimeMs(System.currentTimeMillis() - startTime)
-                    .status(AIUsageStatus.SUCCESS)
-                    .build();
-            
-            usage = aiModelUsageRepository.save(usage);
-            log.info("Saved AI usage record with ID: {}", usage.getId());
+            usage = saveUsage(question.getTopic(), user, totalTokens, startTime, AIUsageStatus.SUCCESS);
             
             AnswerFeedback feedback = parseResponse(response);
             feedback.setCorrectAnswer(question.getCorrectAnswer());
+            countEvaluation("ai", "none");
             return feedback;
             
+        } catch (RateLimitExceededException e) {
+            // The governor turned the call away before it reached OpenAI
+            rateLimitService.reconcileAiTokens(user, estimatedTokens, 0);
+            countEvaluation("fallback", "governor");
+            return basicComparison(question, userAnswer,
+                    "AI evaluation is busy right now. Using basic comparison.");
         } catch (Exception e) {
             log.error("Failed to evaluate answer using OpenAI: {}", e.getMessage(), e);
             
             // Create failed usage record if not already created
             if (usage == null) {
-                usage = AIModelUsage.builder()
-                        .topic(topicService.getTopicByName(question.getTopic()))
-                        .user(userService.getCurrentUser())
-                        .operationType(AIOperationType.ANSWER_EVALUATION)
-                        .modelProvider("OPENAI")
-                        .modelName(model)
-                        .responseTimeMs(System.currentTimeMillis() - startTime)
-                        .status(AIUsageStatus.FAILED)
-                        .build();
-                
-                usage = aiModelUsageRepository.save(usage);
-                log.info("Saved failed AI usage record with ID: {}", usage.getId());
+                rateLimitService.reconcileAiTokens(user, estimatedTokens, 0);
+                usage = saveUsage(question.getTopic(), user, null, startTime, AIUsageStatus.FAILED);
             }
             
             // Log error
-            AIModelError error = AIModelError.builder()
-                    .usage(usage)
-                    .errorCode(e.getClass().getSimpleName())
-                    .errorMessage(e.getMessage())
-                    .build();
-            
-            aiModelErrorRepository.save(error);
-            log.info("Saved AI error record for usage ID: {}", usage.getId());
+            saveError(usage, e);
             
             // Fallback to basic comparison
-            boolean isCorrect = userAnswer.trim().equalsIgnoreCase(question.getCorrectAnswer().trim());
-            return AnswerFeedback.builder()
-                    .correct(isCorrect)
-                    .similarityScore(isCorrect ? 100.0 : 0.0)
-                    .feedback("Unable to provide detailed feedback. Using basic comparison.")
-                    .correctAnswer(question.getCorrectAnswer())
-                    .build();
+            countEvaluation("fallback", "error");
+            return basicComparison(question, userAnswer,
+                    "Unable to provide detailed feedback. Using basic comparison.");
         }
     }
 
+    @Override
+    public Mono<AnswerFeedback> evaluateAnswerAsync(QuestionDTO question, String userAnswer) {
+        long startTime = System.currentTimeMillis();
+        String prompt = buildPrompt(question, userAnswer);
+        long estimatedTokens = openAIClient.estimateTokens(prompt);
+
+        // Lookups and usage records are blocking JPA calls, so they run on the bounded elastic pool;
+        // no thread is held while OpenAI responds
+        return Mono.fromCallable(userService::getCurrentUser)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(user -> {
+                    if (!rateLimitService.tryAcquireAiCall(user, AIOperationType.ANSWER_EVALUATION, estimatedTokens)) {
+                        countEvaluation("fallback", "user_limit");
+                        return Mono.just(basicComparison(question, userAnswer,
+                                "AI evaluation limit reached. Using basic comparison."));
+                    }
+                    return openAIClient.completeAsync(SYSTEM_MESSAGE, prompt, AIRequestPriority.INTERACTIVE_EVALUATION)
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(completion -> {
+                                rateLimitService.reconcileAiTokens(user, estimatedTokens, completion.totalTokens());
+                                AIModelUsage usage = saveUsage(question.getTopic(), user, completion.totalTokens(),
+                                        startTime, AIUsageStatus.SUCCESS);
+                                try {
+                                    AnswerFeedback feedback = parseResponse(completion.content());
+                                    feedback.setCorrectAnswer(question.getCorrectAnswer());
+                                    countEvaluation("ai", "none");
+                                    return feedback;
+                                } catch (Exception e) {
+                                    log.error("Failed to parse OpenAI evaluation: {}", e.getMessage(), e);
+                                    saveError(usage, e);
+                                    countEvaluation("fallback", "error");
+                                    return basicComparison(question, userAnswer,
+                                            "Unable to provide detailed feedback. Using basic comparison.");
+                                }
+                            })
+                            .onErrorResume(e -> {
+                                rateLimitService.reconcileAiTokens(user, estimatedTokens, 0);
+                                if (e instanceof RateLimitExceededException) {
+                                    // The governor turned the call away before it reached OpenAI
+                                    countEvaluation("fallback", "governor");
+                                    return Mono.just(basicComparison(question, userAnswer,
+                                            "AI evaluation is busy right now. Using basic comparison."));
+                                }
+                                log.error("Failed to evaluate answer using OpenAI: {}", e.getMessage(), e);
+                                saveError(saveUsage(question.getTopic(), user, null, startTime, AIUsageStatus.FAILED), e);
+                                countEvaluation("fallback", "error");
+                                return Mono.just(basicComparison(question, userAnswer,
+                                        "Unable to provide detailed feedback. Using basic comparison."));
+                            });
+                });
+    }
+
+    private AIModelUsage saveUsage(String topic, User user, Integer totalTokens, long startTime, AIUsageStatus status) {
+        AIModelUsage usage = AIModelUsage.builder()
+                .topic(topicService.getTopicByName(topic))
+                .user(user)
+                .operationType(AIOperationType.ANSWER_EVALUATION)
+                .modelProvider("OPENAI")
+                .modelName(model)
+                .tokensUsed(totalTokens)
+                .costInUsd(totalTokens != null
+                        ? COST_PER_TOKEN.multiply(new BigDecimal(totalTokens)).setScale(6, RoundingMode.HALF_UP)
+                        : null)
+                .responseTimeMs(System.currentTimeMillis() - startTime)
+                .status(status)
+                .build();
+
+        usage = aiModelUsageRepository.save(usage);
+        log.info("Saved {} AI usage record with ID: {}", status, usage.getId());
+        return usage;
+    }
+
+    private void saveError(AIModelUsage usage, Throwable e) {
+        AIModelError error = AIModelError.builder()
+                .usage(usage)
+                .errorCode(e.getClass().getSimpleName())
+                .errorMessage(e.getMessage())
+                .build();
+
+        aiModelErrorRepository.save(error);
+        log.info("Saved AI error record for usage ID: {}", usage.getId());
+    }
+
+    // Fallback rate is fallback over all evaluations; the reason tells quota, governor and OpenAI errors apart
+    private void countEvaluation(String method, String reason) {
+        Counter.builder("quiz.answer.evaluations")
+                .tag("method", method)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private AnswerFeedback basicComparison(QuestionDTO question, String userAnswer, String feedback) {
+        boolean isCorrect = userAnswer.trim().equalsIgnoreCase(question.getCorrectAnswer().trim());
+        return AnswerFeedback.builder()
+                .correct(isCorrect)
+                .similarityScore(isCorrect ? 100.0 : 0.0)
+                .feedback(feedback)
+                .correctAnswer(question.getCorrectAnswer())
+                .build();
+    }
+
     private String buildPrompt(QuestionDTO question, String userAnswer) {
         return String.format("""
             You are an expert evaluator for technical interview questions.
@@ -171,38 +257,6 @@ public class OpenAIAnswerEvaluationService implements AnswerEvaluationService {
         );
     }
 
-    private String callOpenAI(String prompt) throws Exception {
-        ObjectNode requestBody = objectMapper.createObjectNode();
-        requestBody.put("model", model);
-        requestBody.put("temperature", temperature);
-        requestBody.put("max_tokens", maxTokens);
-        
-        var messages = requestBody.putArray("messages");
-        var systemMessage = messages.addObject();
-        systemMessage.put("role", "system");
-        systemMessage.put("content", "You are a technical interviewer evaluating answers.");
-        
-        var userMessage = messages.addObject();
-        userMessage.put("role", "user");
-        userMessage.put("content", prompt);
-
-        HttpResponse<String> response = Unirest.post(OPENAI_API_URL)
-                .body(requestBody.toString())
-                .asString();
-
-        if (response.getStatus() != 200) {
-            throw new RuntimeException("OpenAI API call failed with status: " + response.getStatus());
-        }
-
-        JsonNode jsonResponse = objectMapper.readTree(response.getBody());
-        return jsonResponse
-                .get("choices")
-                .get(0)
-                .get("message")
-                .get("content")
-                .asText();
-    }
-
     private AnswerFeedback parseResponse(String response) throws Exception {
         // Clean the response string to ensure it's valid JSON
         response = response.replaceAll("```json\\s*", "")
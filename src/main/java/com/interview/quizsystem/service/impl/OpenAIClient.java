@@ -0,0 +1,211 @@
+package com.interview.quizsystem.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interview.quizsystem.model.AIOperationType;
+import com.interview.quizsystem.model.AIRequestPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import kong.unirest.HttpResponse;
+import kong.unirest.Unirest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Chat completion calls shared by question generation and answer evaluation, metered by OpenAIGovernor.
+// Each call is an openai.chat.completion observation: a timer tagged by operation/model/status and a span
+// under whatever the caller is doing (a session start, an answer submission)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenAIClient {
+
+    private static final String OPERATION = "operation";
+    private static final String MODEL = "model";
+    private static final String STATUS = "status";
+
+    private final ObjectMapper objectMapper;
+    private final OpenAIGovernor governor;
+    private final WebClient openAIWebClient;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    // Overridden to point at a local stand-in (see the openai-stub profile) or a proxy
+    @Value("${openai.api.base-url:https://api.openai.com/v1}")
+    private String baseUrl;
+
+    @Value("${openai.model}")
+    private String model;
+
+    @Value("${openai.temperature}")
+    private double temperature;
+
+    @Value("${openai.max-tokens}")
+    private int maxTokens;
+
+    public record Completion(String content, int totalTokens) {
+    }
+
+    // Worst case for a prompt: its approximate size plus the full completion budget
+    public long estimateTokens(String prompt) {
+        return prompt.length() / 4 + maxTokens;
+    }
+
+    public Completion complete(String systemMessage, String prompt, AIRequestPriority priority) throws IOException {
+        OpenAIGovernor.Reservation reservation = acquire(priority, estimateTokens(prompt));
+        Observation observation = observation(priority, observationRegistry.getCurrentObservation()).start();
+        try (Observation.Scope scope = observation.openScope()) {
+            HttpResponse<String> response = Unirest.post(completionsUrl())
+                    .body(requestBody(systemMessage, prompt))
+                    .asString();
+            observation.lowCardinalityKeyValue(STATUS, String.valueOf(response.getStatus()));
+
+            if (response.getStatus() == 429) {
+                governor.backOff(retryAfter(response.getHeaders().getFirst("Retry-After")));
+            }
+            if (response.getStatus() != 200) {
+                throw new RuntimeException("OpenAI API call failed with status: " + response.getStatus());
+            }
+
+            Completion completion = parseCompletion(response.getBody(), prompt);
+            countTokens(priority, completion);
+            reservation.complete(completion.totalTokens());
+            return completion;
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            reservation.cancel(); // no-op once completed
+            observation.stop();
+        }
+    }
+
+    // Same call without holding a thread while OpenAI responds; only a wait for governor capacity uses a worker thread
+    public Mono<Completion> completeAsync(String systemMessage, String prompt, AIRequestPriority priority) {
+        long estimatedTokens = estimateTokens(prompt);
+        // Captured on the calling thread; the call itself runs wherever the reactive chain is scheduled
+        Observation parent = observationRegistry.getCurrentObservation();
+        return Mono.fromCallable(() -> acquire(priority, estimatedTokens))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(reservation -> {
+                    Observation observation = observation(priority, parent).start();
+                    return openAIWebClient.post()
+                            .uri(completionsUrl())
+                            .bodyValue(requestBody(systemMessage, prompt))
+                            .exchangeToMono(response -> {
+                                int status = response.statusCode().value();
+                                observation.lowCardinalityKeyValue(STATUS, String.valueOf(status));
+                                if (status == 429) {
+                                    governor.backOff(retryAfter(response.headers().asHttpHeaders().getFirst("Retry-After")));
+                                }
+                                if (status != 200) {
+                                    return response.releaseBody().then(Mono.error(
+                                            new RuntimeException("OpenAI API call failed with status: " + status)));
+                                }
+                                return response.bodyToMono(String.class);
+                            })
+                            .flatMap(body -> Mono.fromCallable(() -> parseCompletion(body, prompt)))
+                            .doOnNext(completion -> {
+                                countTokens(priority, completion);
+                                reservation.complete(completion.totalTokens());
+                            })
+                            .doOnError(observation::error)
+                            .doFinally(signal -> {
+                                reservation.cancel(); // no-op once completed
+                                observation.stop();
+                            });
+                });
+    }
+
+    // Time spent queued behind the governor is kept apart from the call, it is often the larger share of the tail
+    private OpenAIGovernor.Reservation acquire(AIRequestPriority priority, long estimatedTokens) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return governor.acquire(priority, estimatedTokens);
+        } finally {
+            sample.stop(Timer.builder("openai.governor.wait")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // Status stays "none" when no HTTP response arrived (connection errors, timeouts)
+    private Observation observation(AIRequestPriority priority, Observation parent) {
+        return Observation.createNotStarted("openai.chat.completion", observationRegistry)
+                .parentObservation(parent)
+                .contextualName("openai chat completion")
+                .lowCardinalityKeyValue(OPERATION, operationOf(priority).name())
+                .lowCardinalityKeyValue(MODEL, model)
+                .lowCardinalityKeyValue(STATUS, "none");
+    }
+
+    private void countTokens(AIRequestPriority priority, Completion completion) {
+        Counter.builder("openai.tokens")
+                .tag(OPERATION, operationOf(priority).name())
+                .tag(MODEL, model)
+                .register(meterRegistry)
+                .increment(completion.totalTokens());
+    }
+
+    private static AIOperationType operationOf(AIRequestPriority priority) {
+        return priority == AIRequestPriority.INTERACTIVE_EVALUATION
+                ? AIOperationType.ANSWER_EVALUATION
+                : AIOperationType.QUESTION_GENERATION;
+    }
+
+    private String completionsUrl() {
+        return baseUrl + "/chat/completions";
+    }
+
+    private String requestBody(String systemMessage, String prompt) {
+        ObjectNode requestBody = objectMapper.createObjectNode();
+        requestBody.put("model", model);
+        requestBody.put("temperature", temperature);
+        requestBody.put("max_tokens", maxTokens);
+
+        ArrayNode messages = requestBody.putArray("messages");
+        ObjectNode system = messages.addObject();
+        system.put("role", "system");
+        system.put("content", systemMessage);
+
+        ObjectNode user = messages.addObject();
+        user.put("role", "user");
+        user.put("content", prompt);
+        return requestBody.toString();
+    }
+
+    private Completion parseCompletion(String body, String prompt) throws IOException {
+        JsonNode jsonResponse = objectMapper.readTree(body);
+        String content = jsonResponse
+                .get("choices")
+                .get(0)
+                .get("message")
+                .get("content")
+                .asText();
+
+        // Fall back to the rough chars/4 estimate when the response carries no usage block
+        int totalTokens = jsonResponse.path("usage").path("total_tokens")
+                .asInt((prompt.length() + content.length()) / 4);
+        return new Completion(content, totalTokens);
+    }
+
+    private static Duration retryAfter(String seconds) {
+        try {
+            return seconds == null || seconds.isEmpty() ? null : Duration.ofMillis((long) (Double.parseDouble(seconds) * 1000));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
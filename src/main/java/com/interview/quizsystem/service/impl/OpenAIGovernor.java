@@ -0,0 +1,163 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.OpenAIGovernorConfig;
+import com.interview.quizsystem.exception.RateLimitExceededException;
+import com.interview.quizsystem.model.AIRequestPriority;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.EstimationProbe;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.TimeMeter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Process-wide requests/tokens per minute budget for OpenAI, granted strictly by priority then arrival order
+@Slf4j
+@Component
+public class OpenAIGovernor {
+
+    private final OpenAIGovernorConfig config;
+    // Drives the buckets, the 429 pause and the queue deadline alike
+    private final TimeMeter clock;
+    private final Bucket requestBucket;
+    private final Bucket tokenBucket;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+    private long nextSequence;
+    private long pausedUntilNanos;
+
+    @Autowired
+    public OpenAIGovernor(OpenAIGovernorConfig config) {
+        this(config, TimeMeter.SYSTEM_NANOTIME);
+    }
+
+    // Tests pass a clock they can move forward
+    OpenAIGovernor(OpenAIGovernorConfig config, TimeMeter clock) {
+        this.config = config;
+        this.clock = clock;
+        this.requestBucket = perMinute(config.getRequestsPerMinute(), clock);
+        this.tokenBucket = perMinute(config.getTokensPerMinute(), clock);
+        this.pausedUntilNanos = clock.currentTimeNanos();
+    }
+
+    // Blocks until this call may go out; throws RateLimitExceededException after maxQueueWaitMs
+    public Reservation acquire(AIRequestPriority priority, long estimatedTokens) {
+        long tokens = Math.max(1, Math.min(estimatedTokens, config.getTokensPerMinute()));
+        long deadline = clock.currentTimeNanos() + TimeUnit.MILLISECONDS.toNanos(config.getMaxQueueWaitMs());
+
+        lock.lock();
+        try {
+            Waiter waiter = new Waiter(priority, nextSequence++);
+            waiters.add(waiter);
+            try {
+                while (true) {
+                    long now = clock.currentTimeNanos();
+                    long waitNanos = waiters.peek() == waiter ? nanosUntilGranted(tokens, now) : Long.MAX_VALUE;
+                    if (waitNanos == 0) {
+                        requestBucket.consumeIgnoringRateLimits(1);
+                        tokenBucket.consumeIgnoringRateLimits(tokens);
+                        return new Reservation(tokens);
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        log.warn("Gave up waiting for OpenAI capacity ({} priority, {} tokens)", priority, tokens);
+                        throw new RateLimitExceededException("OpenAI is busy. Please try again later.");
+                    }
+                    changed.awaitNanos(Math.min(waitNanos, remaining));
+                }
+            } finally {
+                waiters.remove(waiter);
+                changed.signalAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException("Interrupted while waiting for OpenAI capacity");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called on HTTP 429: stop granting until OpenAI's window has reset instead of retrying into it
+    public void backOff(Duration retryAfter) {
+        Duration pause = retryAfter != null ? retryAfter : Duration.ofMillis(config.getDefaultBackoffMs());
+        lock.lock();
+        try {
+            long until = clock.currentTimeNanos() + pause.toNanos();
+            if (until - pausedUntilNanos > 0) {
+                pausedUntilNanos = until;
+                log.warn("OpenAI rate limited us, pausing all calls for {} ms", pause.toMillis());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long nanosUntilGranted(long tokens, long now) {
+        long paused = Math.max(0, pausedUntilNanos - now);
+        EstimationProbe requests = requestBucket.estimateAbilityToConsume(1);
+        EstimationProbe tokenProbe = tokenBucket.estimateAbilityToConsume(tokens);
+        long refill = Math.max(
+                requests.canBeConsumed() ? 0 : requests.getNanosToWaitForRefill(),
+                tokenProbe.canBeConsumed() ? 0 : tokenProbe.getNanosToWaitForRefill());
+        return Math.max(paused, refill);
+    }
+
+    private static Bucket perMinute(long capacity, TimeMeter clock) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(capacity, Duration.ofMinutes(1))))
+                .withCustomTimePrecision(clock)
+                .build();
+    }
+
+    private record Waiter(AIRequestPriority priority, long sequence) {
+    }
+
+    public final class Reservation {
+        private final long reservedTokens;
+        private boolean settled;
+
+        private Reservation(long reservedTokens) {
+            this.reservedTokens = reservedTokens;
+        }
+
+        // Replaces the estimate with the tokens OpenAI actually billed
+        public void complete(long actualTokens) {
+            settle(actualTokens);
+        }
+
+        // The call never reached the model: give the tokens back, the request still counts
+        public void cancel() {
+            settle(0);
+        }
+
+        private void settle(long actualTokens) {
+            lock.lock();
+            try {
+                if (settled) {
+                    return;
+                }
+                settled = true;
+                long difference = actualTokens - reservedTokens;
+                if (difference > 0) {
+                    tokenBucket.consumeIgnoringRateLimits(difference);
+                } else if (difference < 0) {
+                    tokenBucket.addTokens(-difference);
+                    changed.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.OutboxConfig;
+import com.interview.quizsystem.model.ClusterJob;
+import com.interview.quizsystem.model.entity.OutboxEvent;
+import com.interview.quizsystem.repository.OutboxEventRepository;
+import com.interview.quizsystem.service.ClusterJobService;
+import com.interview.quizsystem.service.OutboxHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Applies pending outbox events. Every node polls; a per-key transaction-scoped advisory lock makes sure each
+// key's events are applied by one node at a time and in creation order
+@Slf4j
+@Component
+public class OutboxProcessor {
+
+    // First key of the two-key advisory lock, keeps outbox locks apart from job locks
+    static final int LOCK_NAMESPACE = 0x4F555442;
+
+    private final OutboxConfig config;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterJobService clusterJobService;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, List<OutboxHandler>> handlers;
+
+    public OutboxProcessor(OutboxConfig config,
+                           OutboxEventRepository outboxEventRepository,
+                           TransactionTemplate transactionTemplate,
+                           ClusterJobService clusterJobService,
+                           MeterRegistry meterRegistry,
+                           List<OutboxHandler> handlers) {
+        this.config = config;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clusterJobService = clusterJobService;
+        this.meterRegistry = meterRegistry;
+        this.handlers = handlers.stream().collect(Collectors.groupingBy(OutboxHandler::eventType));
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public void poll() {
+        for (String key : outboxEventRepository.findPendingKeys(config.getKeysPerPoll())) {
+            // Keep going while full batches come back, so a busy key is drained within one poll
+            while (processKey(key) == config.getBatchSize()) {
+                log.debug("Outbox key {} has more pending events", key);
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 15 1 * * *") // Run at 01:15 every day
+    public void purgeProcessed() {
+        clusterJobService.runExclusive(ClusterJob.PURGE_PROCESSED_OUTBOX_EVENTS, Duration.ofDays(1), lease -> {
+            LocalDateTime before = LocalDateTime.now().minusDays(config.getProcessedRetentionDays());
+            Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(before));
+            return deleted != null ? deleted : 0;
+        });
+    }
+
+    private int processKey(String key) {
+        try {
+            Integer processed = transactionTemplate.execute(status -> process(key, config.getBatchSize()));
+            return processed != null ? processed : 0;
+        } catch (RuntimeException e) {
+            // Retry one event at a time, so the failure is charged to the event that caused it
+            log.warn("Outbox batch for key {} failed, retrying event by event", key, e);
+            processOneByOne(key);
+            return 0;
+        }
+    }
+
+    private void processOneByOne(String key) {
+        for (int i = 0; i < config.getBatchSize(); i++) {
+            try {
+                Integer processed = transactionTemplate.execute(status -> process(key, 1));
+                if (processed == null || processed == 0) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                recordFailure(key, e);
+                // Later events of this key wait, to keep them in order
+                return;
+            }
+        }
+    }
+
+    private void recordFailure(String key, RuntimeException e) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<OutboxEvent> head = outboxEventRepository.findPendingByKey(key, 1);
+            if (head.isEmpty()) {
+                return;
+            }
+            OutboxEvent event = head.get(0);
+            outboxEventRepository.recordFailure(event.getId(), String.valueOf(e.getMessage()), config.getMaxAttempts());
+            if (event.getAttempts() + 1 >= config.getMaxAttempts()) {
+                log.error("Outbox event {} ({}) failed {} times and was set aside",
+                        event.getId(), event.getEventType(), config.getMaxAttempts(), e);
+            } else {
+                log.warn("Outbox event {} ({}) failed, will retry", event.getId(), event.getEventType(), e);
+            }
+        });
+    }
+
+    // Runs inside a transaction: lock the key, apply its oldest pending events, mark them processed
+    private int process(String key, int limit) {
+        if (!outboxEventRepository.tryLockKey(LOCK_NAMESPACE, key)) {
+            return 0; // Another node is on it
+        }
+        List<OutboxEvent> events = outboxEventRepository.findPendingByKey(key, limit);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Consecutive events of the same type go to their handlers together
+        int runStart = 0;
+        for (int i = 1; i <= events.size(); i++) {
+            if (i == events.size() || !events.get(i).getEventType().equals(events.get(runStart).getEventType())) {
+                dispatch(events.subList(runStart, i));
+                runStart = i;
+            }
+        }
+
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        LocalDateTime processedAt = LocalDateTime.now();
+        if (outboxEventRepository.markProcessed(ids, processedAt) != ids.size()) {
+            throw new IllegalStateException("Outbox events for key " + key + " were processed concurrently");
+        }
+        // Enqueue to applied; for answer_submitted this is how long progress lags behind a submitted answer
+        for (OutboxEvent event : events) {
+            Timer.builder("outbox.event.lag")
+                    .tag("event.type", event.getEventType())
+                    .register(meterRegistry)
+                    .record(Duration.between(event.getCreatedAt(), processedAt));
+        }
+        return events.size();
+    }
+
+    private void dispatch(List<OutboxEvent> run) {
+        String eventType = run.get(0).getEventType();
+        List<OutboxHandler> typeHandlers = handlers.getOrDefault(eventType, List.of());
+        if (typeHandlers.isEmpty()) {
+            log.warn("No outbox handler for event type {}, marking {} events processed", eventType, run.size());
+        }
+        for (OutboxHandler handler : typeHandlers) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                handler.handle(run);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox handler for " + eventType + " failed", e);
+            } finally {
+                sample.stop(Timer.builder("outbox.handler")
+                        .tag("event.type", eventType)
+                        .tag("handler", ClassUtils.getUserClass(handler).getSimpleName())
+                        .register(meterRegistry));
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.event.ProgressIncrementedEvent;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.repository.DifficultyProgressRepository;
+import com.interview.quizsystem.repository.TopicProgressRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes progress counter increments per (user, topic, difficulty) to topic_progress/difficulty_progress as
+ * atomic upserts, in the caller's transaction. Answers reach it through the outbox, which already merges a batch
+ * of events into one delta per key, so the increments commit together with the processed outbox rows.
+ */
+@Component
+public class ProgressCounterWriter {
+
+    private final TopicProgressRepository topicProgressRepository;
+    private final DifficultyProgressRepository difficultyProgressRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProgressCounterWriter(TopicProgressRepository topicProgressRepository,
+                                 DifficultyProgressRepository difficultyProgressRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
+        this.topicProgressRepository = topicProgressRepository;
+        this.difficultyProgressRepository = difficultyProgressRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Joins the caller's transaction, or opens one when there is none
+    public void applyInTransaction(Long userId, Long topicId, Difficulty difficulty, long attempted, long correct) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int attemptedCount = Math.toIntExact(attempted);
+            int correctCount = Math.toIntExact(correct);
+            topicProgressRepository.incrementCounters(userId, topicId, attemptedCount, correctCount, now);
+            difficultyProgressRepository.incrementCounters(
+                    userId, topicId, difficulty.name(), attemptedCount, correctCount, now);
+            eventPublisher.publishEvent(new ProgressIncrementedEvent(List.of(new ProgressIncrementedEvent.Increment(
+                    userId, topicId, difficulty, attemptedCount, correctCount, now))));
+        });
+    }
+
+    public record Delta(long attempted, long correct) {
+        public Delta plus(Delta other) {
+            return new Delta(attempted + other.attempted, correct + other.correct);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.LearningCycleConfig;
+import com.interview.quizsystem.dto.DifficultyProgressDTO;
+import com.interview.quizsystem.dto.TopicProgressDTO;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.entity.Topic;
+import com.interview.quizsystem.model.entity.User;
+import com.interview.quizsystem.repository.ProgressSummaryRow;
+import com.interview.quizsystem.repository.UserProgressSummaryRepository;
+import com.interview.quizsystem.service.ProgressQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgressQueryServiceImpl implements ProgressQueryService {
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final UserProgressSummaryRepository userProgressSummaryRepository;
+    private final LearningCycleConfig learningCycleConfig;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TopicProgressDTO> getProgressDashboard(User user) {
+        return userProgressSummaryRepository.findDashboard(user.getId()).stream()
+                .map(this::toTopicDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TopicProgressDTO> getActiveProgress(User user) {
+        return userProgressSummaryRepository.findActive(user.getId()).stream()
+                .map(this::toTopicDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TopicProgressDTO getTopicProgress(User user, Topic topic) {
+        return findRow(user, topic)
+                .map(this::toTopicDTO)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DifficultyProgressDTO getDifficultyProgress(User user, Topic topic, Difficulty difficulty) {
+        return getDifficultyBreakdown(user, topic).get(difficulty);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Difficulty, DifficultyProgressDTO> getDifficultyBreakdown(User user, Topic topic) {
+        return toDifficultyDTOs(findRow(user, topic).orElse(null));
+    }
+
+    private Optional<ProgressSummaryRow> findRow(User user, Topic topic) {
+        return userProgressSummaryRepository.findForTopic(user.getId(), topic.getId()).stream().findFirst();
+    }
+
+    private TopicProgressDTO toTopicDTO(ProgressSummaryRow row) {
+        boolean started = row.getSummaryId() != null;
+
+        List<DifficultyProgressDTO> difficultyDTOs = new ArrayList<>();
+        toDifficultyDTOs(started ? row : null).values().forEach(dto -> {
+            // Only report difficulties that have been attempted
+            if (dto.getLastAttemptDate() != null || dto.getQuestionsAttempted() > 0) {
+                difficultyDTOs.add(dto);
+            }
+        });
+
+        int questionsAttempted = valueOf(row.getQuestionsAttempted());
+        int questionsCorrect = valueOf(row.getQuestionsCorrect());
+
+        return TopicProgressDTO.builder()
+                .topicName(row.getTopicName())
+                .overallScore(score(questionsAttempted, questionsCorrect))
+                .questionsAttempted(questionsAttempted)
+                .questionsCorrect(questionsCorrect)
+                .startDate(row.getStartDate())
+                .lastAttemptDate(row.getLastAttemptDate())
+                .active(!started || Boolean.TRUE.equals(row.getActive()))
+                .daysRemaining(daysRemaining(row.getCycleExpiresAt()))
+                .difficultyProgress(difficultyDTOs)
+                .build();
+    }
+
+    // row may be null when the user has not started the topic yet
+    private Map<Difficulty, DifficultyProgressDTO> toDifficultyDTOs(ProgressSummaryRow row) {
+        Map<Difficulty, DifficultyProgressDTO> dtos = new EnumMap<>(Difficulty.class);
+        for (Difficulty difficulty : Difficulty.values()) {
+            int questionsAttempted = row == null ? 0 : row.getAttempted(difficulty);
+            int questionsCorrect = row == null ? 0 : row.getCorrect(difficulty);
+            double score = score(questionsAttempted, questionsCorrect);
+
+            dtos.put(difficulty, DifficultyProgressDTO.builder()
+                    .difficulty(difficulty)
+                    .score(score)
+                    .questionsAttempted(questionsAttempted)
+                    .questionsCorrect(questionsCorrect)
+                    .lastAttemptDate(row == null ? null : row.getLastAttemptDate(difficulty))
+                    .canProgress(questionsAttempted >= learningCycleConfig.getMinQuestions() &&
+                                 score >= learningCycleConfig.getDifficultyProgressionThreshold())
+                    .build());
+        }
+
+        // Stored by the projector; a topic that was never started begins at EASY
+        Difficulty currentDifficulty = row == null || row.getCurrentDifficulty() == null
+                ? Difficulty.EASY
+                : row.getCurrentDifficulty();
+        dtos.get(currentDifficulty).setCurrentDifficulty(true);
+        return dtos;
+    }
+
+    private int daysRemaining(LocalDateTime cycleExpiresAt) {
+        if (cycleExpiresAt == null) {
+            return learningCycleConfig.getDays();
+        }
+        // Partial days count as a full day remaining
+        long minutesRemaining = Math.max(0, ChronoUnit.MINUTES.between(LocalDateTime.now(), cycleExpiresAt));
+        return (int) ((minutesRemaining + MINUTES_PER_DAY - 1) / MINUTES_PER_DAY);
+    }
+
+    private double score(int questionsAttempted, int questionsCorrect) {
+        return questionsAttempted == 0 ? 0.0 : (double) questionsCorrect / questionsAttempted * 100;
+    }
+
+    private int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -1,20 +1,30 @@
 package com.interview.quizsystem.service.impl;
 
 import com.interview.quizsystem.config.LearningCycleConfig;
+import com.interview.quizsystem.dto.DifficultyProgressDTO;
+import com.interview.quizsystem.event.ProgressUpdatedEvent;
+import com.interview.quizsystem.model.ClusterJob;
 import com.interview.quizsystem.model.Difficulty;
 import com.interview.quizsystem.model.entity.DifficultyProgress;
 import com.interview.quizsystem.model.entity.Topic;
 import com.interview.quizsystem.model.entity.TopicProgress;
 import com.interview.quizsystem.model.entity.User;
 import com.interview.quizsystem.repository.DifficultyProgressRepository;
+import com.interview.quizsystem.repository.ExpiredProgressRow;
 import com.interview.quizsystem.repository.TopicProgressRepository;
+import com.interview.quizsystem.repository.UserProgressSummaryRepository;
+import com.interview.quizsystem.service.ClusterJobService;
+import com.interview.quizsystem.service.ProgressQueryService;
 import com.interview.quizsystem.service.ProgressService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,9 +33,17 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProgressServiceImpl implements ProgressService {
 
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final TopicProgressRepository topicProgressRepository;
     private final DifficultyProgressRepository difficultyProgressRepository;
     private final LearningCycleConfig learningCycleConfig;
+    private final ProgressCounterWriter progressCounterWriter;
+    private final ProgressQueryService progressQueryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserProgressSummaryRepository userProgressSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterJobService clusterJobService;
 
     @Override
     @Transactional // Changed from readOnly to allow write
@@ -38,7 +56,9 @@ public class ProgressServiceImpl implements ProgressService {
                             .active(true)
                             .startDate(LocalDateTime.now())
                             .build();
-                    return topicProgressRepository.save(progress);
+                    progress = topicProgressRepository.save(progress);
+                    eventPublisher.publishEvent(ProgressUpdatedEvent.of(user.getId(), topic.getId()));
+                    return progress;
                 });
     }
 
@@ -55,59 +75,78 @@ public class ProgressServiceImpl implements ProgressService {
     }
 
     @Override
+    @Deprecated(forRemoval = true)
     @Transactional
     public void updateProgress(User user, Topic topic, Difficulty difficulty, boolean isCorrect) {
-        TopicProgress topicProgress = getOrCreateTopicProgress(user, topic);
-        DifficultyProgress difficultyProgress = getDifficultyProgress(topicProgress, difficulty);
-
-        // Update difficulty progress
-        difficultyProgress.setQuestionsAttempted(difficultyProgress.getQuestionsAttempted() + 1);
-        if (isCorrect) {
-            difficultyProgress.setQuestionsCorrect(difficultyProgress.getQuestionsCorrect() + 1);
-        }
-        difficultyProgress.setScore(calculateScore(difficultyProgress));
-        difficultyProgress.setLastAttemptDate(LocalDateTime.now());
-
-        // Update topic progress
-        topicProgress.setQuestionsAttempted(topicProgress.getQuestionsAttempted() + 1);
-        if (isCorrect) {
-            topicProgress.setQuestionsCorrect(topicProgress.getQuestionsCorrect() + 1);
-        }
-        topicProgress.setOverallScore(calculateOverallScore(topicProgress));
-        topicProgress.setLastAttemptDate(LocalDateTime.now());
+        progressCounterWriter.applyInTransaction(user.getId(), topic.getId(), difficulty, 1, isCorrect ? 1 : 0);
+    }
 
-        // Save updates
-        difficultyProgressRepository.save(difficultyProgress);
-        topicProgressRepository.save(topicProgress);
+    @Override
+    @Deprecated(forRemoval = true)
+    public void flushPendingUpdates(User user) {
+        // Nothing is buffered
     }
 
     @Override
-    @Transactional
     @Scheduled(cron = "0 0 0 * * *") // Run at midnight every day
     public void resetExpiredProgress() {
+        // Only one node in the cluster runs the reset
+        clusterJobService.runExclusive(ClusterJob.RESET_EXPIRED_PROGRESS, Duration.ofDays(1),
+                this::resetExpiredCycles);
+    }
+
+    private long resetExpiredCycles(ClusterJobService.Lease lease) {
         LocalDateTime expiryDate = LocalDateTime.now().minusDays(learningCycleConfig.getDays());
-        List<TopicProgress> expiredProgress = topicProgressRepository.findExpiredProgress(expiryDate);
-        
-        expiredProgress.forEach(this::resetProgress);
-        log.info("Reset {} expired progress records", expiredProgress.size());
+        // The first pass skips rows held by in-flight submits; reset rows leave the expired set, so the second
+        // pass only revisits the ones skipped and waits for their submits to finish
+        long resetCount = resetExpiredPass(lease, expiryDate, topicProgressRepository::findExpiredAfter);
+        resetCount += resetExpiredPass(lease, expiryDate, topicProgressRepository::findExpiredAfterWaiting);
+        log.info("Reset {} expired progress records", resetCount);
+        return resetCount;
+    }
+
+    // Walks expired cycles in (lastActivityDate, id) order, one short transaction per chunk, while the lease is held
+    private long resetExpiredPass(ClusterJobService.Lease lease, LocalDateTime expiryDate, ExpiredPageQuery pageQuery) {
+        int batchSize = learningCycleConfig.getResetBatchSize();
+        LocalDateTime afterDate = KEYSET_START;
+        long afterId = 0L;
+        long resetCount = 0;
+        while (lease.isHeld()) {
+            LocalDateTime cursorDate = afterDate;
+            long cursorId = afterId;
+            List<ExpiredProgressRow> batch = transactionTemplate.execute(status -> {
+                List<ExpiredProgressRow> rows = pageQuery.find(expiryDate, cursorDate, cursorId, batchSize);
+                if (!rows.isEmpty()) {
+                    resetCycles(rows.stream().map(ExpiredProgressRow::getId).toList());
+                }
+                return rows;
+            });
+            if (batch == null || batch.isEmpty()) {
+                return resetCount;
+            }
+
+            resetCount += batch.size();
+            ExpiredProgressRow last = batch.get(batch.size() - 1);
+            afterDate = last.getLastActivityDate();
+            afterId = last.getId();
+        }
+        return resetCount;
     }
 
     @Override
     @Transactional
     public void resetProgress(TopicProgress progress) {
-        // Reset topic progress
-        progress.setActive(false);
-        
-        // Create new progress entry
-        TopicProgress newProgress = TopicProgress.builder()
-                .user(progress.getUser())
-                .topic(progress.getTopic())
-                .active(true)
-                .startDate(LocalDateTime.now())
-                .build();
-        
-        topicProgressRepository.save(progress);
-        topicProgressRepository.save(newProgress);
+        resetCycles(List.of(progress.getId()));
+    }
+
+    // Archives the current cycle of each row and restarts it in place, keeping one row per user and topic
+    private void resetCycles(List<Long> topicProgressIds) {
+        LocalDateTime now = LocalDateTime.now();
+        difficultyProgressRepository.archiveCycles(topicProgressIds);
+        topicProgressRepository.archiveCycles(topicProgressIds, now);
+        difficultyProgressRepository.deleteByTopicProgressIds(topicProgressIds);
+        topicProgressRepository.resetCycles(topicProgressIds, now);
+        userProgressSummaryRepository.resetCycles(topicProgressIds, now, learningCycleConfig.getDays());
     }
 
     @Override
@@ -126,54 +165,28 @@ public class ProgressServiceImpl implements ProgressService {
     @Override
     @Transactional(readOnly = true)
     public boolean shouldProgressToDifficulty(User user, Topic topic, Difficulty targetDifficulty) {
-        TopicProgress progress = getOrCreateTopicProgress(user, topic);
-        
-        // Check if current difficulty is mastered
-        Difficulty currentDifficulty = getCurrentDifficulty(progress);
-        DifficultyProgress currentProgress = getDifficultyProgress(progress, currentDifficulty);
-        
-        return currentProgress.getQuestionsAttempted() >= learningCycleConfig.getMinQuestions() &&
-               currentProgress.getScore() >= learningCycleConfig.getDifficultyProgressionThreshold();
+        // Check if current difficulty is mastered, using the progress summary read model
+        return progressQueryService.getDifficultyBreakdown(user, topic).values().stream()
+                .filter(DifficultyProgressDTO::isCurrentDifficulty)
+                .findFirst()
+                .map(DifficultyProgressDTO::isCanProgress)
+                .orElse(false);
     }
 
     @Override
     @Transactional(readOnly = true)
     public double getTopicCompletionPercentage(User user, Topic topic) {
-        TopicProgress progress = getOrCreateTopicProgress(user, topic);
-        return progress.getOverallScore();
+        return progressQueryService.getTopicProgress(user, topic).getOverallScore();
     }
 
     @Override
     @Transactional(readOnly = true)
     public double getDifficultyCompletionPercentage(User user, Topic topic, Difficulty difficulty) {
-        TopicProgress progress = getOrCreateTopicProgress(user, topic);
-        DifficultyProgress difficultyProgress = getDifficultyProgress(progress, difficulty);
-        return difficultyProgress.getScore();
-    }
-
-    private double calculateScore(DifficultyProgress progress) {
-        if (progress.getQuestionsAttempted() == 0) {
-            return 0.0;
-        }
-        return (double) progress.getQuestionsCorrect() / progress.getQuestionsAttempted() * 100;
-    }
-
-    private double calculateOverallScore(TopicProgress progress) {
-        if (progress.getQuestionsAttempted() == 0) {
-            return 0.0;
-        }
-        return (double) progress.getQuestionsCorrect() / progress.getQuestionsAttempted() * 100;
+        return progressQueryService.getDifficultyProgress(user, topic, difficulty).getScore();
     }
 
-    private Difficulty getCurrentDifficulty(TopicProgress progress) {
-        // Find the highest difficulty with sufficient progress
-        for (Difficulty difficulty : Difficulty.values()) {
-            DifficultyProgress difficultyProgress = getDifficultyProgress(progress, difficulty);
-            if (difficultyProgress.getQuestionsAttempted() < learningCycleConfig.getMinQuestions() ||
-                difficultyProgress.getScore() < learningCycleConfig.getDifficultyProgressionThreshold()) {
-                return difficulty;
-            }
-        }
-        return Difficulty.HARD; // All difficulties mastered
+    @FunctionalInterface
+    private interface ExpiredPageQuery {
+        List<ExpiredProgressRow> find(LocalDateTime expiryDate, LocalDateTime afterDate, Long afterId, int batchSize);
     }
-} 
\ No newline at end of file
+}
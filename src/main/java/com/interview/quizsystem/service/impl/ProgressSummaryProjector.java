@@ -0,0 +1,132 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.LearningCycleConfig;
+import com.interview.quizsystem.event.ProgressIncrementedEvent;
+import com.interview.quizsystem.event.ProgressUpdatedEvent;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.entity.UserProgressSummary;
+import com.interview.quizsystem.repository.ProgressDashboardRow;
+import com.interview.quizsystem.repository.TopicProgressRepository;
+import com.interview.quizsystem.repository.UserProgressSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+// Keeps user_progress_summary in step with the write side. Runs just before the progress write commits, in the
+// same transaction: the summary can never miss or double-count a write, whatever order concurrent commits land
+// in, and dashboard reads still never wait on it because Postgres readers do not block on row locks. Every
+// publisher writes progress in a transaction, so there is always one to join
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgressSummaryProjector {
+
+    private static final Comparator<ProgressIncrementedEvent.Increment> LOCK_ORDER =
+            Comparator.comparing(ProgressIncrementedEvent.Increment::userId)
+                    .thenComparing(ProgressIncrementedEvent.Increment::topicId);
+
+    private final UserProgressSummaryRepository userProgressSummaryRepository;
+    private final TopicProgressRepository topicProgressRepository;
+    private final LearningCycleConfig learningCycleConfig;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProgressIncremented(ProgressIncrementedEvent event) {
+        // Rows are updated in (user, topic) order so two batches touching the same rows cannot deadlock
+        List<ProgressIncrementedEvent.Increment> increments = event.increments().stream().sorted(LOCK_ORDER).toList();
+        increments.forEach(increment -> userProgressSummaryRepository.incrementCounters(
+                increment.userId(),
+                increment.topicId(),
+                increment.difficulty().name(),
+                increment.attempted(),
+                increment.correct(),
+                increment.at()));
+        increments.stream()
+                .map(increment -> new ProgressUpdatedEvent.Key(increment.userId(), increment.topicId()))
+                .distinct()
+                .forEach(this::refreshDerived);
+        log.debug("Applied {} progress increments to the summary", increments.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProgressUpdated(ProgressUpdatedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        event.keys().stream()
+                .sorted(Comparator.comparing(ProgressUpdatedEvent.Key::userId)
+                        .thenComparing(ProgressUpdatedEvent.Key::topicId))
+                .forEach(key -> rebuild(key, now));
+        log.debug("Rebuilt {} progress summary rows", event.keys().size());
+    }
+
+    // The transaction publishing the event has written the topic_progress row, so it holds that row's lock and
+    // no increment can commit between reading the write side and storing the result
+    private void rebuild(ProgressUpdatedEvent.Key key, LocalDateTime now) {
+        List<ProgressDashboardRow> rows = topicProgressRepository.findDashboardRowsForTopic(key.userId(), key.topicId());
+        if (rows.isEmpty() || rows.get(0).getProgressId() == null) {
+            return;
+        }
+
+        ProgressDashboardRow progress = rows.get(0);
+        UserProgressSummary summary = userProgressSummaryRepository
+                .findByUserIdAndTopicId(key.userId(), key.topicId())
+                .orElseGet(() -> UserProgressSummary.builder()
+                        .userId(key.userId())
+                        .topicId(key.topicId())
+                        .currentDifficulty(Difficulty.EASY)
+                        .build());
+        summary.setStartDate(progress.getStartDate());
+        summary.setLastAttemptDate(progress.getLastAttemptDate());
+        summary.setActive(Boolean.TRUE.equals(progress.getActive()));
+        summary.setQuestionsAttempted(valueOf(progress.getQuestionsAttempted()));
+        summary.setQuestionsCorrect(valueOf(progress.getQuestionsCorrect()));
+        for (Difficulty difficulty : Difficulty.values()) {
+            setDifficulty(summary, difficulty, 0, 0, null);
+        }
+        rows.stream()
+                .filter(row -> row.getDifficulty() != null)
+                .forEach(row -> setDifficulty(summary, row.getDifficulty(), valueOf(row.getDifficultyAttempted()),
+                        valueOf(row.getDifficultyCorrect()), row.getDifficultyLastAttemptDate()));
+        summary.setUpdatedAt(now);
+        userProgressSummaryRepository.save(summary);
+        refreshDerived(key);
+    }
+
+    private void refreshDerived(ProgressUpdatedEvent.Key key) {
+        userProgressSummaryRepository.refreshDerived(
+                key.userId(),
+                key.topicId(),
+                learningCycleConfig.getDays(),
+                learningCycleConfig.getMinQuestions(),
+                learningCycleConfig.getDifficultyProgressionThreshold());
+    }
+
+    private static void setDifficulty(UserProgressSummary summary, Difficulty difficulty, int attempted, int correct,
+                                      LocalDateTime lastAttemptDate) {
+        switch (difficulty) {
+            case EASY -> {
+                summary.setEasyAttempted(attempted);
+                summary.setEasyCorrect(correct);
+                summary.setEasyLastAttemptDate(lastAttemptDate);
+            }
+            case MEDIUM -> {
+                summary.setMediumAttempted(attempted);
+                summary.setMediumCorrect(correct);
+                summary.setMediumLastAttemptDate(lastAttemptDate);
+            }
+            case HARD -> {
+                summary.setHardAttempted(attempted);
+                summary.setHardCorrect(correct);
+                summary.setHardLastAttemptDate(lastAttemptDate);
+            }
+        }
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -2,29 +2,31 @@ package com.interview.quizsystem.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interview.quizsystem.exception.RateLimitExceededException;
 import com.interview.quizsystem.model.QuestionDTO;
 import com.interview.quizsystem.model.Difficulty;
 import com.interview.quizsystem.model.QuestionType;
 import com.interview.quizsystem.model.AIOperationType;
+import com.interview.quizsystem.model.AIRequestPriority;
 import com.interview.quizsystem.model.AIUsageStatus;
 import com.interview.quizsystem.model.entity.AIModelUsage;
 import com.interview.quizsystem.model.entity.AIModelError;
+import com.interview.quizsystem.model.entity.User;
 import com.interview.quizsystem.repository.AIModelUsageRepository;
 import com.interview.quizsystem.repository.AIModelErrorRepository;
 import com.interview.quizsystem.service.QuestionGeneratorService;
 import com.interview.quizsystem.service.GitHubParserService;
+import com.interview.quizsystem.service.RateLimitService;
 import com.interview.quizsystem.service.TopicService;
 import com.interview.quizsystem.service.UserService;
-import kong.unirest.HttpResponse;
-import kong.unirest.Unirest;
-import kong.unirest.json.JSONObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -41,18 +43,16 @@ public class QuestionGeneratorServiceImpl implements QuestionGeneratorService {
     private final AIModelErrorRepository aiModelErrorRepository;
     private final TopicService topicService;
     private final UserService userService;
+    private final RateLimitService rateLimitService;
+    private final OpenAIClient openAIClient;
+    private final MeterRegistry meterRegistry;
 
     @Value("${openai.model}")
     private String model;
 
-    @Value("${openai.temperature}")
-    private double temperature;
-
-    @Value("${openai.max-tokens}")
-    private int maxTokens;
-
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
     private static final BigDecimal COST_PER_TOKEN = new BigDecimal("0.000002"); // $0.002 per 1K tokens
+    private static final String SYSTEM_MESSAGE =
+            "You are a technical interviewer creating questions based on provided content.";
 
     @Override
     public List<QuestionDTO> generateQuestions(String topic, int count, Difficulty difficulty) {
@@ -80,9 +80,21 @@ public class QuestionGeneratorServiceImpl implements QuestionGeneratorService {
                 // Check for duplicate questions
                 if (isDifferentFromExisting(question, questions)) {
                     questions.add(question);
+                    countAttempt("success");
                     log.debug("Generated question {} of {} for topic: {}", questions.size(), count, topic);
+                } else {
+                    countAttempt("duplicate");
                 }
+            } catch (RateLimitExceededException e) {
+                countAttempt("rate_limited");
+                // Further attempts would be rejected as well
+                if (questions.isEmpty()) {
+                    throw e;
+                }
+                log.warn("Stopping question generation for topic: {} at {} questions: {}", topic, questions.size(), e.getMessage());
+                break;
             } catch (Exception e) {
+                countAttempt("failed");
                 log.warn("Failed to generate question from content piece {}, attempt {}: {}", 
                     entry.getKey(), attempts, e.getMessage());
             }
@@ -100,106 +112,140 @@ public class QuestionGeneratorServiceImpl implements QuestionGeneratorService {
         return questions;
     }
 
+    // Attempts by outcome; success over the total is the share of OpenAI calls that end up in a session
+    private void countAttempt(String outcome) {
+        Counter.builder("quiz.question.generation.attempts")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // Not transactional: the usage records commit on their own, so no connection is held while OpenAI responds
     @Override
-    @Transactional
     public QuestionDTO generateQuestion(String content, String topic, Difficulty difficulty) {
         log.info("Starting question generation for topic: {}, difficulty: {}", topic, difficulty);
         long startTime = System.currentTimeMillis();
         AIModelUsage usage = null;
+
+        String prompt = buildPrompt(content, difficulty);
+        User user = userService.getCurrentUser();
+        long estimatedTokens = openAIClient.estimateTokens(prompt);
+        if (!rateLimitService.tryAcquireAiCall(user, AIOperationType.QUESTION_GENERATION, estimatedTokens)) {
+            throw new RateLimitExceededException("Question generation limit reached. Please try again later.");
+        }
         
         try {
-            String prompt = buildPrompt(content, difficulty);
             log.debug("Sending prompt to OpenAI: {}", prompt);
-            
-            ObjectNode requestBody = objectMapper.createObjectNode();
-            requestBody.put("model", model);
-            requestBody.put("temperature", temperature);
-            requestBody.put("max_tokens", maxTokens);
-            
-            ArrayNode messages = requestBody.putArray("messages");
-            ObjectNode systemMessage = messages.addObject();
-            systemMessage.put("role", "system");
-            systemMessage.put("content", "You are a technical interviewer creating questions based on provided content.");
-            
-            ObjectNode userMessage = messages.addObject();
-            userMessage.put("role", "user");
-            userMessage.put("content", prompt);
-
-            HttpResponse<String> response = Unirest.post(OPENAI_API_URL)
-                    .body(requestBody.toString())
-                    .asString();
-
-            if (response.getStatus() != 200) {
-                throw new RuntimeException("OpenAI API call failed with status: " + response.getStatus());
-            }
-
-            JSONObject jsonResponse = new JSONObject(response.getBody());
-            String responseContent = jsonResponse
-                    .getJSONArray("choices")
-                    .getJSONObject(0)
-                    .getJSONObject("message")
-                    .getString("content");
+            OpenAIClient.Completion completion = openAIClient.complete(
+                    SYSTEM_MESSAGE,
+                    prompt,
+                    AIRequestPriority.INTERACTIVE_GENERATION);
+            String responseContent = completion.content();
 
-            // Calculate tokens (approximate)
-            int promptTokens = prompt.length() / 4; // rough estimate
-            int responseTokens = responseContent.length() / 4;
-            int totalTokens = promptTokens + responseTokens;
-            
-            log.info("Calculated tokens - prompt: {}, response: {}, total: {}", promptTokens, responseTokens, totalTokens);
+            // Billed tokens as reported by OpenAI
+            int totalTokens = completion.totalTokens();
+            log.info("OpenAI reported {} total tokens", totalTokens);
+            rateLimitService.reconcileAiTokens(user, estimatedTokens, totalTokens);
             
             // Create usage record
-            usage = AIModelUsage.builder()
-                    .topic(topicService.getTopicByName(topic))
-                    .user(userService.getCurrentUser())
-                    .operationType(AIOperationType.QUESTION_GENERATION)
-                    .modelProvider("OPENAI")
-                    .modelName(model)
-                    .tokensUsed(totalTokens)
-                    .costInUsd(COST_PER_TOKEN.multiply(new BigDecimal(totalTokens)).setScale(6, RoundingMode.HALF_UP))
-                    .responseTimeMs(System.currentTimeMillis() - startTime)
-                    .status(AIUsageStatus.SUCCESS)
-                    .build();
-            
-            usage = aiModelUsageRepository.save(usage);
-            log.info("Saved AI usage record with ID: {}", usage.getId());
+            usage = saveUsage(topic, user, totalTokens, startTime, AIUsageStatus.SUCCESS);
 
             // Clean and parse the response
             responseContent = cleanJsonResponse(responseContent);
             return parseQuestionFromResponse(responseContent, topic, difficulty, content);
             
+        } catch (RateLimitExceededException e) {
+            // The governor turned the call away before it reached OpenAI
+            rateLimitService.reconcileAiTokens(user, estimatedTokens, 0);
+            throw e;
         } catch (Exception e) {
             log.error("Error generating question: {}", e.getMessage(), e);
             
             // Create failed usage record if not already created
             if (usage == null) {
-                usage = AIModelUsage.builder()
-                        .topic(topicService.getTopicByName(topic))
-                        .user(userService.getCurrentUser())
-                        .operationType(AIOperationType.QUESTION_GENERATION)
-                        .modelProvider("OPENAI")
-                        .modelName(model)
-                        .responseTimeMs(System.currentTimeMillis() - startTime)
-                        .status(AIUsageStatus.FAILED)
-                        .build();
-                
-                usage = aiModelUsageRepository.save(usage);
-                log.info("Saved failed AI usage record with ID: {}", usage.getId());
+                rateLimitService.reconcileAiTokens(user, estimatedTokens, 0);
+                usage = saveUsage(topic, user, null, startTime, AIUsageStatus.FAILED);
             }
             
             // Log error
-            AIModelError error = AIModelError.builder()
-                    .usage(usage)
-                    .errorCode(e.getClass().getSimpleName())
-                    .errorMessage(e.getMessage())
-                    .build();
-            
-            aiModelErrorRepository.save(error);
-            log.info("Saved AI error record for usage ID: {}", usage.getId());
+            saveError(usage, e);
             
             throw new RuntimeException("Failed to generate question", e);
         }
     }
 
+    @Override
+    public Mono<QuestionDTO> generateQuestionAsync(String content, String topic, Difficulty difficulty) {
+        long startTime = System.currentTimeMillis();
+        String prompt = buildPrompt(content, difficulty);
+        long estimatedTokens = openAIClient.estimateTokens(prompt);
+
+        // Lookups and usage records are blocking JPA calls, so they run on the bounded elastic pool;
+        // no thread is held while OpenAI responds
+        return Mono.fromCallable(userService::getCurrentUser)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(user -> {
+                    if (!rateLimitService.tryAcquireAiCall(user, AIOperationType.QUESTION_GENERATION, estimatedTokens)) {
+                        return Mono.error(new RateLimitExceededException(
+                                "Question generation limit reached. Please try again later."));
+                    }
+                    return openAIClient.completeAsync(SYSTEM_MESSAGE, prompt, AIRequestPriority.INTERACTIVE_GENERATION)
+                            .publishOn(Schedulers.boundedElastic())
+                            .onErrorResume(e -> {
+                                rateLimitService.reconcileAiTokens(user, estimatedTokens, 0);
+                                if (e instanceof RateLimitExceededException) {
+                                    return Mono.error(e);
+                                }
+                                log.error("Error generating question: {}", e.getMessage(), e);
+                                saveError(saveUsage(topic, user, null, startTime, AIUsageStatus.FAILED), e);
+                                return Mono.error(new RuntimeException("Failed to generate question", e));
+                            })
+                            .map(completion -> {
+                                rateLimitService.reconcileAiTokens(user, estimatedTokens, completion.totalTokens());
+                                AIModelUsage usage = saveUsage(topic, user, completion.totalTokens(), startTime,
+                                        AIUsageStatus.SUCCESS);
+                                try {
+                                    return parseQuestionFromResponse(cleanJsonResponse(completion.content()),
+                                            topic, difficulty, content);
+                                } catch (RuntimeException e) {
+                                    saveError(usage, e);
+                                    throw e;
+                                }
+                            });
+                });
+    }
+
+    private AIModelUsage saveUsage(String topic, User user, Integer totalTokens, long startTime, AIUsageStatus status) {
+        AIModelUsage usage = AIModelUsage.builder()
+                .topic(topicService.getTopicByName(topic))
+                .user(user)
+                .operationType(AIOperationType.QUESTION_GENERATION)
+                .modelProvider("OPENAI")
+                .modelName(model)
+                .tokensUsed(totalTokens)
+                .costInUsd(totalTokens != null
+                        ? COST_PER_TOKEN.multiply(new BigDecimal(totalTokens)).setScale(6, RoundingMode.HALF_UP)
+                        : null)
+                .responseTimeMs(System.currentTimeMillis() - startTime)
+                .status(status)
+                .build();
+
+        usage = aiModelUsageRepository.save(usage);
+        log.info("Saved {} AI usage record with ID: {}", status, usage.getId());
+        return usage;
+    }
+
+    private void saveError(AIModelUsage usage, Throwable e) {
+        AIModelError error = AIModelError.builder()
+                .usage(usage)
+                .errorCode(e.getClass().getSimpleName())
+                .errorMessage(e.getMessage())
+                .build();
+
+        aiModelErrorRepository.save(error);
+        log.info("Saved AI error record for usage ID: {}", usage.getId());
+    }
+
     private String cleanJsonResponse(String response) {
         // Remove markdown code block syntax if present
         response = response.replaceAll("```json\\s*", "");
@@ -6,12 +6,16 @@ import com.interview.quizsystem.model.entity.Topic;
 import com.interview.quizsystem.model.entity.User;
 import com.interview.quizsystem.service.*;
 import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
 import com.interview.quizsystem.repository.QuizSessionRepository;
 import com.interview.quizsystem.repository.UserAnswerRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -23,16 +27,24 @@ import java.util.stream.Collectors;
 public class QuizSessionServiceImpl implements QuizSessionService {
 
     private final QuestionGeneratorService questionGeneratorService;
+    private final AdaptiveDifficultyService adaptiveDifficultyService;
+    private final ReviewService reviewService;
     private final AnswerEvaluationService answerEvaluationService;
     private final QuizSessionRepository quizSessionRepository;
     private final UserAnswerRepository userAnswerRepository;
-    private final ProgressService progressService;
+    private final OutboxService outboxService;
     private final TopicService topicService;
     private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObservationRegistry observationRegistry;
 
-    private Question convertToEntity(QuestionDTO dto) {
+    // Similarity score from which an AI-evaluated answer counts as correct
+    private static final double AI_CORRECT_SCORE = 80.0;
+
+    private Question convertToEntity(QuestionDTO dto, Topic topic) {
         return Question.builder()
                 .id(dto.getId())
+                .topic(topic)
                 .questionText(dto.getContent())
                 .questionType(dto.getType())
                 .options(dto.getOptions())
@@ -41,6 +53,7 @@ public class QuizSessionServiceImpl implements QuizSessionService {
                 .explanation(dto.getExplanation())
                 .sourceFile(dto.getSourceFile())
                 .sourceContent(dto.getSourceContent())
+                .originQuestionId(dto.getOriginQuestionId())
                 .build();
     }
 
@@ -56,15 +69,122 @@ public class QuizSessionServiceImpl implements QuizSessionService {
                 .difficulty(entity.getDifficulty())
                 .sourceFile(entity.getSourceFile())
                 .sourceContent(entity.getSourceContent())
+                .originQuestionId(entity.getOriginQuestionId())
+                .build();
+    }
+
+    // Bank questions are copied into the new session under a fresh id; answers are rated against the original
+    private QuestionDTO copyFromBank(Question original, String topic) {
+        return QuestionDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .content(original.getQuestionText())
+                .type(original.getQuestionType())
+                .options(new ArrayList<>(original.getOptions()))
+                .correctAnswer(original.getExpectedAnswer())
+                .explanation(original.getExplanation())
+                .topic(topic)
+                .difficulty(original.getDifficulty())
+                .sourceFile(original.getSourceFile())
+                .sourceContent(original.getSourceContent())
+                .originQuestionId(original.getId())
                 .build();
     }
 
     @Override
-    @Transactional
     public QuizSession startSession(String topic, Difficulty difficulty, int questionCount) {
-        log.debug("Generating {} questions for topic: {}, difficulty: {}", questionCount, topic, difficulty);
-        List<QuestionDTO> questions = questionGeneratorService.generateQuestions(topic, questionCount, difficulty);
-        
+        // Parent span of the bank lookup and of every OpenAI call made to fill the session
+        return Observation.createNotStarted("quiz.session.start", observationRegistry)
+                .contextualName("quiz session start")
+                .lowCardinalityKeyValue("difficulty", difficulty != null ? difficulty.name() : "ADAPTIVE")
+                .highCardinalityKeyValue("topic", topic)
+                .observe(() -> openSession(topic, difficulty, questionCount));
+    }
+
+    private QuizSession openSession(String topic, Difficulty difficulty, int questionCount) {
+        // Generated between two short transactions, so no connection is held while OpenAI responds
+        SessionPlan plan = transactionTemplate.execute(status -> planSession(topic, difficulty, questionCount));
+        List<QuestionDTO> questions = new ArrayList<>(plan.getBankQuestions());
+        int toGenerate = questionCount - questions.size();
+        Observation observation = observationRegistry.getCurrentObservation();
+        if (observation != null) {
+            observation.highCardinalityKeyValue("questions.bank", String.valueOf(questions.size()));
+            observation.highCardinalityKeyValue("questions.to-generate", String.valueOf(toGenerate));
+        }
+        if (toGenerate > 0) {
+            questions.addAll(questionGeneratorService.generateQuestions(topic, toGenerate, plan.getDifficulty()));
+        }
+        return transactionTemplate.execute(status -> createSession(UUID.randomUUID().toString(), topic,
+                plan.getDifficulty(), questions));
+    }
+
+    @Override
+    @Transactional
+    public SessionPlan planSession(String topic, Difficulty difficulty, int questionCount) {
+        User user = userService.getCurrentUser();
+        Topic topicEntity = topicService.getOrCreateTopic(topic);
+        if (difficulty == null) {
+            difficulty = adaptiveDifficultyService.recommendDifficulty(user.getId(), topicEntity.getId());
+            log.debug("Recommended difficulty {} for user {} in topic {}", difficulty, user.getId(), topic);
+        }
+
+        // Reuse rated questions first: they cost no OpenAI call and their difficulty is measured, not guessed
+        List<QuestionDTO> bankQuestions = adaptiveDifficultyService
+                .selectBankQuestions(user.getId(), topicEntity.getId(), difficulty, questionCount).stream()
+                .map(original -> copyFromBank(original, topic))
+                .collect(Collectors.toCollection(ArrayList::new));
+        log.debug("Reusing {} bank questions and generating {} for topic: {}, difficulty: {}",
+                bankQuestions.size(), questionCount - bankQuestions.size(), topic, difficulty);
+        return SessionPlan.builder()
+                .difficulty(difficulty)
+                .bankQuestions(bankQuestions)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public QuizSession startReviewSession(String topic, int questionCount) {
+        User user = userService.getCurrentUser();
+        Topic topicEntity = topicService.getTopicByName(topic);
+        if (topicEntity == null) {
+            throw new IllegalArgumentException("Topic not found: " + topic);
+        }
+
+        List<QuestionDTO> questions = reviewService.selectDueQuestions(user.getId(), topicEntity.getId(), questionCount).stream()
+                .map(original -> copyFromBank(original, topic))
+                .collect(Collectors.toList());
+        if (questions.isEmpty()) {
+            throw new IllegalArgumentException("No questions due for review in topic: " + topic);
+        }
+
+        // Reviews mix levels; the session is labelled with the most common one, answers keep their own
+        Difficulty difficulty = questions.stream()
+                .collect(Collectors.groupingBy(QuestionDTO::getDifficulty, Collectors.counting()))
+                .entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElseThrow();
+        log.debug("Starting review session with {} due questions for topic: {}", questions.size(), topic);
+        return createSession(UUID.randomUUID().toString(), topic, difficulty, SessionType.REVIEW, questions);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countDueReviews(String topic) {
+        Topic topicEntity = topicService.getTopicByName(topic);
+        if (topicEntity == null) {
+            throw new IllegalArgumentException("Topic not found: " + topic);
+        }
+        return reviewService.countDue(userService.getCurrentUser().getId(), topicEntity.getId());
+    }
+
+    @Override
+    @Transactional
+    public QuizSession createSession(String sessionId, String topic, Difficulty difficulty, List<QuestionDTO> questions) {
+        return createSession(sessionId, topic, difficulty, SessionType.QUIZ, questions);
+    }
+
+    private QuizSession createSession(String sessionId, String topic, Difficulty difficulty, SessionType sessionType,
+                                      List<QuestionDTO> questions) {
         // Validate questions have correct answers
         questions.forEach(q -> {
             if (q.getCorrectAnswer() == null) {
@@ -92,12 +212,12 @@ public class QuizSessionServiceImpl implements QuizSessionService {
                 .build())
             .collect(Collectors.toList());
 
-        // Convert DTOs to entities for storage
+        // Convert DTOs to entities for storage; the topic makes them eligible for the question bank
+        Topic topicEntity = topicService.getOrCreateTopic(topic);
         List<Question> storedQuestions = questions.stream()
-            .map(this::convertToEntity)
+            .map(q -> convertToEntity(q, topicEntity))
             .collect(Collectors.toList());
         
-        String sessionId = UUID.randomUUID().toString();
         log.debug("Creating new session: {}", sessionId);
         
         QuizSession session = QuizSession.builder()
@@ -106,8 +226,10 @@ public class QuizSessionServiceImpl implements QuizSessionService {
                 .visibleQuestions(questionsCopy)
                 .storedQuestions(storedQuestions)
                 .answers(new ArrayList<>())
+                .userId(userService.getCurrentUser().getId())
                 .topic(topic)
                 .difficulty(difficulty)
+                .sessionType(sessionType)
                 .startTime(LocalDateTime.now())
                 .status(SessionStatus.IN_PROGRESS)
                 .score(0.0)
@@ -123,8 +245,57 @@ public class QuizSessionServiceImpl implements QuizSessionService {
     }
 
     @Override
-    @Transactional
     public QuizSession submitAnswer(String sessionId, String questionId, String answer) {
+        // OpenAI evaluates between two short transactions, so no connection or lock is held while it responds
+        QuestionDTO question = transactionTemplate.execute(status -> findQuestion(loadForAnswer(sessionId), questionId));
+        AnswerFeedback evaluation = question.getType().isAiEvaluated() && answer != null && !answer.isBlank()
+                ? evaluate(question, answer.trim())
+                : null;
+        return transactionTemplate.execute(status -> submitAnswer(sessionId, questionId, answer, evaluation));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuestionDTO getQuestionForAnswer(String sessionId, String questionId) {
+        return findQuestion(loadForAnswer(sessionId), questionId);
+    }
+
+    @Override
+    @Transactional
+    public QuizSession submitAnswer(String sessionId, String questionId, String answer, AnswerFeedback evaluation) {
+        // Loaded again: the session may have ended while the evaluation was in flight
+        QuizSession session = loadForAnswer(sessionId);
+        QuestionDTO question = findQuestion(session, questionId);
+
+        boolean isCorrect;
+        if (evaluation != null) {
+            question.setAnswerFeedback(evaluation);
+            isCorrect = evaluation.getSimilarityScore() >= AI_CORRECT_SCORE;
+        } else {
+            isCorrect = validateAnswer(question, answer);
+        }
+        return recordAnswer(session, question, answer, isCorrect);
+    }
+
+    private AnswerFeedback evaluate(QuestionDTO question, String userAnswer) {
+        log.info("Using AI evaluation for {} answer", question.getType());
+        try {
+            AnswerFeedback feedback = answerEvaluationService.evaluateAnswer(question, userAnswer);
+            log.info("AI evaluation completed with similarity score: {}", feedback.getSimilarityScore());
+            return feedback;
+        } catch (Exception e) {
+            log.error("Failed to evaluate answer using AI, falling back to basic comparison", e);
+            boolean correct = userAnswer.equalsIgnoreCase(question.getCorrectAnswer().trim());
+            return AnswerFeedback.builder()
+                    .correct(correct)
+                    .similarityScore(correct ? 100.0 : 0.0)
+                    .feedback("Unable to provide detailed feedback. Using basic comparison.")
+                    .correctAnswer(question.getCorrectAnswer())
+                    .build();
+        }
+    }
+
+    private QuizSession loadForAnswer(String sessionId) {
         QuizSession session = quizSessionRepository.findById(sessionId)
             .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
 
@@ -144,21 +315,23 @@ public class QuizSessionServiceImpl implements QuizSessionService {
                 .build())
             .collect(Collectors.toList());
         session.setVisibleQuestions(visibleQuestions);
+        return session;
+    }
 
-        // Find the question in both questions and visibleQuestions lists
-        QuestionDTO question = session.getQuestions().stream()
+    private static QuestionDTO findQuestion(QuizSession session, String questionId) {
+        return session.getQuestions().stream()
                 .filter(q -> q.getId().equals(questionId))
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Question not found: " + questionId));
+    }
 
+    private QuizSession recordAnswer(QuizSession session, QuestionDTO question, String answer, boolean isCorrect) {
+        String questionId = question.getId();
         QuestionDTO visibleQuestion = session.getVisibleQuestions().stream()
                 .filter(q -> q.getId().equals(questionId))
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Question not found in visible questions: " + questionId));
 
-        // Validate and evaluate the answer
-        boolean isCorrect = validateAnswer(question, answer);
-        
         // Since validateAnswer sets the feedback on the question, copy it to visibleQuestion
         visibleQuestion.setAnswerFeedback(question.getAnswerFeedback());
         visibleQuestion.setCorrectAnswer(question.getCorrectAnswer()); // Include correct answer after submission
@@ -179,10 +352,10 @@ public class QuizSessionServiceImpl implements QuizSessionService {
         session.setScore(calculateScore(session));
         session = quizSessionRepository.save(session);
 
-        // Update topic progress
+        // Topic progress is updated from the outbox once this transaction commits
         User user = userService.getCurrentUser();
         Topic topic = topicService.getTopicByName(session.getTopic());
-        progressService.updateProgress(user, topic, session.getDifficulty(), isCorrect);
+        enqueueAnswer(user, topic, session, question, isCorrect, false);
 
         return session;
     }
@@ -233,6 +406,8 @@ public class QuizSessionServiceImpl implements QuizSessionService {
         session.setEndTime(LocalDateTime.now());
 
         // Add empty answers for unanswered questions
+        User user = userService.getCurrentUser();
+        Topic topic = topicService.getTopicByName(session.getTopic());
         questions.forEach(question -> {
             if (session.getAnswers().stream()
                     .noneMatch(a -> a.getQuestionId().equals(question.getId()))) {
@@ -247,9 +422,7 @@ public class QuizSessionServiceImpl implements QuizSessionService {
                 session.getAnswers().add(emptyAnswer);
 
                 // Update topic progress for unanswered questions
-                User user = userService.getCurrentUser();
-                Topic topic = topicService.getTopicByName(session.getTopic());
-                progressService.updateProgress(user, topic, session.getDifficulty(), false);
+                enqueueAnswer(user, topic, session, question, false, true);
             }
         });
 
@@ -263,6 +436,14 @@ public class QuizSessionServiceImpl implements QuizSessionService {
                 .build();
     }
 
+    // Written in the caller's transaction, so progress, ratings and review schedules are updated if and only if
+    // the answer is stored. Carries the question's own difficulty, since review sessions mix levels
+    private void enqueueAnswer(User user, Topic topic, QuizSession session, QuestionDTO question, boolean correct,
+                               boolean skipped) {
+        outboxService.enqueue(AnswerSubmittedEvent.TYPE, user.getId().toString(), new AnswerSubmittedEvent(
+                user.getId(), topic.getId(), question.getDifficulty(), correct, session.getId(), question.getId(), skipped));
+    }
+
     private boolean validateAnswer(QuestionDTO question, String answer) {
         log.info("Validating answer for question type: {}", question.getType());
         
@@ -312,7 +493,7 @@ public class QuizSessionServiceImpl implements QuizSessionService {
                     question.setAnswerFeedback(feedback);
                     
                     // Consider the answer correct if similarity score is high enough
-                    return feedback.getSimilarityScore() >= 80.0;
+                    return feedback.getSimilarityScore() >= AI_CORRECT_SCORE;
                 } catch (Exception e) {
                     log.error("Failed to evaluate answer using AI, falling back to basic comparison", e);
                     return userAnswer.equalsIgnoreCase(question.getCorrectAnswer().trim());
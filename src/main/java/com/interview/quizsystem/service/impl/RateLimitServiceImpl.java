@@ -0,0 +1,102 @@
+package com.interview.quizsystem.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interview.quizsystem.config.RateLimitConfig;
+import com.interview.quizsystem.model.AIOperationType;
+import com.interview.quizsystem.model.entity.User;
+import com.interview.quizsystem.service.RateLimitService;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Slf4j
+@Service
+public class RateLimitServiceImpl implements RateLimitService {
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+    private static final Duration HOUR = Duration.ofHours(1);
+    // From the deepest allowed debt, -capacity, a bucket refilling capacity per hour is full again after two hours
+    private static final Duration IDLE_EXPIRY = HOUR.multipliedBy(2);
+
+    private final RateLimitConfig config;
+    // Bounded and idle-expiring, so one bucket per key never grows without limit
+    private final Cache<String, Bucket> buckets;
+
+    public RateLimitServiceImpl(RateLimitConfig config) {
+        this.config = config;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxTrackedBuckets())
+                .expireAfterAccess(IDLE_EXPIRY)
+                .build();
+    }
+
+    @Override
+    public boolean tryStartSession(User user, String topic) {
+        Bucket userBucket = bucket("session:user:" + user.getId(), config.getSessionStartsPerUserPerMinute(), MINUTE);
+        if (!userBucket.tryConsume(1)) {
+            log.warn("Session start rate limit exceeded for user {}", user.getId());
+            return false;
+        }
+        String topicKey = "session:topic:" + topic.toLowerCase(Locale.ROOT);
+        if (!bucket(topicKey, config.getSessionStartsPerTopicPerMinute(), MINUTE).tryConsume(1)) {
+            // Hand back the user's token, the request is rejected anyway
+            userBucket.addTokens(1);
+            log.warn("Session start rate limit exceeded for topic {}", topic);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryAcquireAiCall(User user, AIOperationType operation, long estimatedTokens) {
+        long callsPerMinute = config.getAiCallsPerUserPerMinute().getOrDefault(operation,
+                config.getDefaultAiCallsPerUserPerMinute());
+        Bucket callBucket = bucket("ai:" + operation + ":user:" + user.getId(), callsPerMinute, MINUTE);
+        if (!callBucket.tryConsume(1)) {
+            log.warn("AI {} rate limit exceeded for user {}", operation, user.getId());
+            return false;
+        }
+        if (!tokenBucket(user).tryConsume(estimatedTokens)) {
+            callBucket.addTokens(1);
+            log.warn("AI token budget exhausted for user {}", user.getId());
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void reconcileAiTokens(User user, long estimatedTokens, long actualTokens) {
+        long difference = actualTokens - estimatedTokens;
+        Bucket tokenBucket = tokenBucket(user);
+        if (difference > 0) {
+            // Under-estimated: charge the rest even if it puts the budget into debt, but never deeper than one hour's
+            // budget, so an idle bucket is always full again by the time it expires
+            long maxCharge = tokenBucket.getAvailableTokens() + config.getAiTokensPerUserPerHour();
+            long charge = Math.min(difference, maxCharge);
+            if (charge > 0) {
+                tokenBucket.consumeIgnoringRateLimits(charge);
+            }
+            if (charge < difference) {
+                log.warn("AI token debt of user {} capped; {} tokens forgiven", user.getId(), difference - charge);
+            }
+        } else if (difference < 0) {
+            tokenBucket.addTokens(-difference);
+        }
+    }
+
+    private Bucket tokenBucket(User user) {
+        return bucket("ai:tokens:user:" + user.getId(), config.getAiTokensPerUserPerHour(), HOUR);
+    }
+
+    private Bucket bucket(String key, long capacity, Duration period) {
+        return buckets.get(key, k -> Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(capacity, period)))
+                .build());
+    }
+}
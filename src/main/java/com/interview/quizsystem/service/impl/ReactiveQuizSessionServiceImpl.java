@@ -0,0 +1,156 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.exception.RateLimitExceededException;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.QuestionDTO;
+import com.interview.quizsystem.model.QuizSession;
+import com.interview.quizsystem.model.SessionPlan;
+import com.interview.quizsystem.model.UserAnswer;
+import com.interview.quizsystem.service.AnswerEvaluationService;
+import com.interview.quizsystem.service.GitHubParserService;
+import com.interview.quizsystem.service.QuestionGeneratorService;
+import com.interview.quizsystem.service.QuizSessionService;
+import com.interview.quizsystem.service.ReactiveQuizSessionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Reactive facade over the session services: OpenAI calls are non-blocking, JPA work is bridged onto boundedElastic
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveQuizSessionServiceImpl implements ReactiveQuizSessionService {
+
+    private final GitHubParserService gitHubParserService;
+    private final QuestionGeneratorService questionGeneratorService;
+    private final QuizSessionService quizSessionService;
+    private final AnswerEvaluationService answerEvaluationService;
+
+    // Questions of one session generated in parallel; the OpenAI governor still meters the total
+    @Value("${quiz.reactive.generation-concurrency:4}")
+    private int generationConcurrency;
+
+    @Override
+    public Flux<QuestionDTO> startSession(String sessionId, String topic, Difficulty difficulty, int questionCount) {
+        // Same difficulty and bank selection as the blocking start; bank questions are sent first, the rest streamed
+        return Mono.fromCallable(() -> quizSessionService.planSession(topic, difficulty, questionCount))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(plan -> streamSession(sessionId, topic, plan, questionCount));
+    }
+
+    private Flux<QuestionDTO> streamSession(String sessionId, String topic, SessionPlan plan, int questionCount) {
+        Difficulty difficulty = plan.getDifficulty();
+        // Reactive Streams signals are serialized, so seenContent needs no synchronization; generated is also read
+        // by a cancel, which can arrive on another thread
+        List<QuestionDTO> generated = new CopyOnWriteArrayList<>(plan.getBankQuestions());
+        Set<String> seenContent = plan.getBankQuestions().stream()
+                .map(QuestionDTO::getContent)
+                .collect(Collectors.toCollection(HashSet::new));
+        AtomicBoolean stored = new AtomicBoolean();
+        int toGenerate = questionCount - generated.size();
+
+        Flux<QuestionDTO> fresh = toGenerate <= 0 ? Flux.empty() : Mono.fromCallable(() -> gitHubParserService.getContentByTopic(topic))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(topicContent -> {
+                    if (topicContent.isEmpty()) {
+                        return Flux.error(new IllegalArgumentException("No content available for the selected topic"));
+                    }
+                    List<String> contentPieces = new ArrayList<>(topicContent.values());
+
+                    // Same attempt budget as the blocking generator: failed attempts are skipped, not retried
+                    return Flux.range(0, toGenerate * 2)
+                            .flatMap(attempt -> questionGeneratorService
+                                    .generateQuestionAsync(contentPieces.get(attempt % contentPieces.size()), topic, difficulty)
+                                    .onErrorResume(e -> !(e instanceof RateLimitExceededException), e -> {
+                                        log.warn("Failed to generate question for topic: {}, attempt {}: {}",
+                                                topic, attempt, e.getMessage());
+                                        return Mono.empty();
+                                    }), generationConcurrency)
+                            .filter(question -> seenContent.add(question.getContent()))
+                            .take(toGenerate)
+                            .doOnNext(generated::add);
+                });
+
+        return Flux.fromIterable(plan.getBankQuestions())
+                .concatWith(fresh)
+                // Further attempts would be rejected as well; keep what was generated so far
+                .onErrorResume(RateLimitExceededException.class,
+                        e -> generated.isEmpty() ? Flux.error(e) : Flux.empty())
+                .map(question -> question.toBuilder().correctAnswer(null).build())
+                .concatWith(Mono.defer(() -> stored.compareAndSet(false, true)
+                        ? storeSession(sessionId, topic, difficulty, generated)
+                        : Mono.empty()))
+                // A client that disconnects early has still been sent these questions and may answer them, so the
+                // session is stored with what was generated so far
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL && !generated.isEmpty() && stored.compareAndSet(false, true)) {
+                        storeSession(sessionId, topic, difficulty, List.copyOf(generated))
+                                .subscribe(null, e -> log.error("Failed to store cancelled reactive session {}",
+                                        sessionId, e));
+                    }
+                });
+    }
+
+    private Mono<QuestionDTO> storeSession(String sessionId, String topic, Difficulty difficulty, List<QuestionDTO> questions) {
+        if (questions.isEmpty()) {
+            return Mono.error(new IllegalStateException("Failed to generate any questions for topic: " + topic));
+        }
+        log.info("Generated {} questions for reactive session {}", questions.size(), sessionId);
+        return Mono.fromCallable(() -> quizSessionService.createSession(sessionId, topic, difficulty, questions))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.empty());
+    }
+
+    @Override
+    public Mono<AnswerFeedback> submitAnswer(String sessionId, String questionId, String answer) {
+        // Loading and saving are short transactions on boundedElastic; no thread is held while OpenAI evaluates
+        return Mono.fromCallable(() -> quizSessionService.getQuestionForAnswer(sessionId, questionId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(question -> needsEvaluation(question, answer)
+                        ? answerEvaluationService.evaluateAnswerAsync(question, answer.trim()).map(Optional::of)
+                        : Mono.just(Optional.<AnswerFeedback>empty()))
+                .publishOn(Schedulers.boundedElastic())
+                .map(evaluation -> quizSessionService.submitAnswer(sessionId, questionId, answer, evaluation.orElse(null)))
+                .map(session -> feedbackFor(session, questionId));
+    }
+
+    // Blank answers are wrong without asking OpenAI, as in the blocking submit
+    private static boolean needsEvaluation(QuestionDTO question, String answer) {
+        return question.getType().isAiEvaluated() && answer != null && !answer.isBlank();
+    }
+
+    private static AnswerFeedback feedbackFor(QuizSession session, String questionId) {
+        QuestionDTO question = session.getVisibleQuestions().stream()
+                .filter(q -> q.getId().equals(questionId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Question not found: " + questionId));
+        boolean correct = session.getAnswers().stream()
+                .filter(a -> a.getQuestionId().equals(questionId))
+                .reduce((first, second) -> second)
+                .map(UserAnswer::isCorrect)
+                .orElse(false);
+
+        // Only AI-evaluated answers carry detailed feedback; exact-match types just report the outcome
+        AnswerFeedback feedback = question.getAnswerFeedback() != null
+                ? question.getAnswerFeedback()
+                : AnswerFeedback.builder().similarityScore(correct ? 100.0 : 0.0).build();
+        feedback.setCorrect(correct);
+        feedback.setCorrectAnswer(question.getCorrectAnswer());
+        return feedback;
+    }
+}
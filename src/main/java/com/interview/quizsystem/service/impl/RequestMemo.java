@@ -0,0 +1,37 @@
+package com.interview.quizsystem.service.impl;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Memoizes lookups for the current HTTP request; outside a request (scheduler, CLI) it just delegates
+final class RequestMemo {
+
+    private static final String PREFIX = RequestMemo.class.getName() + ".";
+
+    private RequestMemo() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(String key, Supplier<T> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+        Optional<T> memo = (Optional<T>) attributes.getAttribute(PREFIX + key, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = Optional.ofNullable(loader.get());
+            attributes.setAttribute(PREFIX + key, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo.orElse(null);
+    }
+
+    static void put(String key, Object value) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PREFIX + key, Optional.ofNullable(value), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
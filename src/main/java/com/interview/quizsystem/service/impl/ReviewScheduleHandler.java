@@ -0,0 +1,35 @@
+package com.interview.quizsystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.model.entity.OutboxEvent;
+import com.interview.quizsystem.service.OutboxHandler;
+import com.interview.quizsystem.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Reschedules answered questions for review, in the same ordered, per-user stream as progress and ratings
+@Component
+@RequiredArgsConstructor
+public class ReviewScheduleHandler implements OutboxHandler {
+
+    private final ObjectMapper objectMapper;
+    private final ReviewService reviewService;
+
+    @Override
+    public String eventType() {
+        return AnswerSubmittedEvent.TYPE;
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) throws Exception {
+        List<AnswerSubmittedEvent> answers = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            answers.add(objectMapper.readValue(event.getPayload(), AnswerSubmittedEvent.class));
+        }
+        reviewService.applyAnswers(answers);
+    }
+}
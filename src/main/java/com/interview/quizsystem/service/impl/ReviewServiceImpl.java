@@ -0,0 +1,107 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.ReviewConfig;
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.model.entity.Question;
+import com.interview.quizsystem.model.entity.ReviewSchedule;
+import com.interview.quizsystem.repository.ItemRatingRow;
+import com.interview.quizsystem.repository.QuestionRepository;
+import com.interview.quizsystem.repository.ReviewScheduleRepository;
+import com.interview.quizsystem.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// SM-2 scheduling: each correct answer pushes the next review further out by the ease factor, a wrong one
+// brings the question back the next day and makes it "harder" for the user
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewServiceImpl implements ReviewService {
+
+    // SM-2 grades answers 0-5; a plain right/wrong answer maps to a confident pass or a failed recall
+    private static final int CORRECT_QUALITY = 4;
+    private static final int INCORRECT_QUALITY = 1;
+
+    private final ReviewConfig config;
+    private final ReviewScheduleRepository reviewScheduleRepository;
+    private final QuestionRepository questionRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Question> selectDueQuestions(Long userId, Long topicId, int limit) {
+        return reviewScheduleRepository.findDueQuestions(userId, topicId, LocalDateTime.now(), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countDue(Long userId, Long topicId) {
+        return reviewScheduleRepository.countDue(userId, topicId, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void applyAnswers(List<AnswerSubmittedEvent> answers) {
+        // A question left unanswered was never seen, so its schedule stays as it is
+        List<AnswerSubmittedEvent> reviewed = answers.stream().filter(answer -> !answer.skipped()).toList();
+        if (reviewed.isEmpty()) {
+            return;
+        }
+        Long userId = reviewed.get(0).userId();
+        Map<String, String> itemIds = questionRepository.findItemRatings(
+                        reviewed.stream().map(AnswerSubmittedEvent::questionId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ItemRatingRow::getQuestionId, ItemRatingRow::getItemId));
+        Map<String, ReviewSchedule> schedules = reviewScheduleRepository
+                .findByUserIdAndQuestionIdIn(userId, new HashSet<>(itemIds.values())).stream()
+                .collect(Collectors.toMap(ReviewSchedule::getQuestionId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, ReviewSchedule> changed = new LinkedHashMap<>();
+        for (AnswerSubmittedEvent answer : reviewed) {
+            String itemId = itemIds.get(answer.questionId());
+            if (itemId == null) {
+                continue; // Question no longer stored
+            }
+            ReviewSchedule schedule = schedules.computeIfAbsent(itemId, id -> ReviewSchedule.builder()
+                    .userId(userId)
+                    .questionId(id)
+                    .topicId(answer.topicId())
+                    .easeFactor(config.getInitialEaseFactor())
+                    .build());
+            review(schedule, answer.correct() ? CORRECT_QUALITY : INCORRECT_QUALITY, now);
+            changed.put(itemId, schedule);
+        }
+
+        changed.values().forEach(schedule -> reviewScheduleRepository.upsert(schedule.getUserId(),
+                schedule.getQuestionId(), schedule.getTopicId(), schedule.getEaseFactor(), schedule.getIntervalDays(),
+                schedule.getRepetitions(), schedule.getLapses(), schedule.getDueAt(), now));
+        log.debug("Rescheduled {} questions for user {}", changed.size(), userId);
+    }
+
+    private void review(ReviewSchedule schedule, int quality, LocalDateTime now) {
+        if (quality >= 3) {
+            int interval = switch (schedule.getRepetitions()) {
+                case 0 -> config.getFirstIntervalDays();
+                case 1 -> config.getSecondIntervalDays();
+                default -> (int) Math.round(schedule.getIntervalDays() * schedule.getEaseFactor());
+            };
+            schedule.setIntervalDays(Math.min(interval, config.getMaxIntervalDays()));
+            schedule.setRepetitions(schedule.getRepetitions() + 1);
+        } else {
+            schedule.setIntervalDays(config.getFirstIntervalDays());
+            schedule.setRepetitions(0);
+            schedule.setLapses(schedule.getLapses() + 1);
+        }
+        int miss = 5 - quality;
+        schedule.setEaseFactor(Math.max(config.getMinEaseFactor(),
+                schedule.getEaseFactor() + 0.1 - miss * (0.08 + miss * 0.02)));
+        schedule.setDueAt(now.plusDays(schedule.getIntervalDays()));
+        schedule.setLastReviewedAt(now);
+    }
+}
@@ -0,0 +1,36 @@
+package com.interview.quizsystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.model.entity.OutboxEvent;
+import com.interview.quizsystem.service.AdaptiveDifficultyService;
+import com.interview.quizsystem.service.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Applies submitted answers to skill and question ratings. Events of one user arrive in order and never
+// concurrently, which is what keeps the read-modify-write of a user's rating safe
+@Component
+@RequiredArgsConstructor
+public class SkillRatingHandler implements OutboxHandler {
+
+    private final ObjectMapper objectMapper;
+    private final AdaptiveDifficultyService adaptiveDifficultyService;
+
+    @Override
+    public String eventType() {
+        return AnswerSubmittedEvent.TYPE;
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) throws Exception {
+        List<AnswerSubmittedEvent> answers = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            answers.add(objectMapper.readValue(event.getPayload(), AnswerSubmittedEvent.class));
+        }
+        adaptiveDifficultyService.applyAnswers(answers);
+    }
+}
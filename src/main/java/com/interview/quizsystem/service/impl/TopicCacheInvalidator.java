@@ -0,0 +1,63 @@
+package com.interview.quizsystem.service.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.event.RepositorySyncedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopicCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    public void onRepositorySynced(RepositorySyncedEvent event) {
+        if (event.topicSetChanged()) {
+            invalidateTopics();
+        }
+        invalidateContent(event.changedTopics());
+    }
+
+    public void invalidateTopics() {
+        clear(CacheConfig.TOPICS);
+    }
+
+    // A null collection drops the content of every topic
+    public void invalidateContent(Collection<String> topics) {
+        if (topics == null) {
+            clear(CacheConfig.TOPIC_CONTENT);
+            return;
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.TOPIC_CONTENT);
+        if (cache != null) {
+            topics.forEach(cache::evict);
+        }
+    }
+
+    public void invalidateAll() {
+        cacheManager.getCacheNames().forEach(this::clear);
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            return;
+        }
+        if (cache instanceof CaffeineCache caffeineCache) {
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            log.info("Invalidating cache {} (hit rate {}, evictions {})",
+                    name, String.format("%.2f", stats.hitRate()), stats.evictionCount());
+        }
+        cache.invalidate();
+    }
+}
@@ -1,21 +1,38 @@
 package com.interview.quizsystem.service.impl;
 
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.event.TopicCreatedEvent;
 import com.interview.quizsystem.model.entity.Topic;
 import com.interview.quizsystem.repository.TopicRepository;
 import com.interview.quizsystem.service.TopicService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TopicServiceImpl implements TopicService {
 
     private final TopicRepository topicRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache topicsByName;
+
+    public TopicServiceImpl(TopicRepository topicRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            CacheManager cacheManager) {
+        this.topicRepository = topicRepository;
+        this.eventPublisher = eventPublisher;
+        this.topicsByName = cacheManager.getCache(CacheConfig.TOPICS_BY_NAME);
+    }
 
     @Override
     @Transactional
@@ -24,14 +41,27 @@ public class TopicServiceImpl implements TopicService {
                 .name(name)
                 .description(description)
                 .build();
-        return topicRepository.save(topic);
+        return created(topicRepository.save(topic));
     }
 
     @Override
     @Transactional
     public Topic getOrCreateTopic(String name) {
-        return topicRepository.findByNameIgnoreCase(name)
-                .orElseGet(() -> createTopic(name, null));
+        Topic topic = getTopicByName(name);
+        if (topic != null) {
+            return topic;
+        }
+
+        // Two requests meeting a new topic both get the row one of them inserted
+        topicRepository.insertIfAbsent(name, null, LocalDateTime.now());
+        return created(topicRepository.findByNameIgnoreCase(name)
+                .orElseThrow(() -> new IllegalStateException("Topic not found after insert: " + name)));
+    }
+
+    private Topic created(Topic topic) {
+        RequestMemo.put(cacheKey(topic.getName()), topic);
+        eventPublisher.publishEvent(new TopicCreatedEvent(topic.getName()));
+        return topic;
     }
 
     @Override
@@ -43,7 +73,31 @@ public class TopicServiceImpl implements TopicService {
     @Override
     @Transactional(readOnly = true)
     public Topic getTopicByName(String name) {
-        return topicRepository.findByNameIgnoreCase(name)
-                .orElse(null);
+        String key = cacheKey(name);
+        return RequestMemo.get(key, () -> loadTopic(key, name));
+    }
+
+    // Only the id is shared between threads: every caller gets an instance bound to its own persistence context,
+    // so setters and lazy associations behave as for any other loaded entity. Misses are not cached
+    private Topic loadTopic(String key, String name) {
+        Long id = topicsByName.get(key, Long.class);
+        if (id != null) {
+            return topicRepository.getReferenceById(id);
+        }
+        Topic topic = topicRepository.findByNameIgnoreCase(name).orElse(null);
+        if (topic != null) {
+            topicsByName.put(key, topic.getId());
+        }
+        return topic;
+    }
+
+    // The creating transaction may have cached the new id before committing; drop it in case it rolled back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onTopicCreated(TopicCreatedEvent event) {
+        topicsByName.evict(cacheKey(event.name()));
+    }
+
+    private static String cacheKey(String name) {
+        return "topic:" + name.toLowerCase(Locale.ROOT);
     }
-} 
\ No newline at end of file
+}
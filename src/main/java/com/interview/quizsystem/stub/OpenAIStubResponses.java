@@ -0,0 +1,75 @@
+package com.interview.quizsystem.stub;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Deterministic completion contents in the JSON shapes QuestionGeneratorServiceImpl and
+// OpenAIAnswerEvaluationService parse. Everything is derived from the prompt and the given random source
+class OpenAIStubResponses {
+
+    // Fields of the evaluation prompt built by OpenAIAnswerEvaluationService
+    private static final Pattern EVALUATION_PROMPT = Pattern.compile(
+            "Correct Answer: (.*?)\\s*User's Answer: (.*?)\\s*Question's Explanation:", Pattern.DOTALL);
+    private static final Pattern DIFFICULTY = Pattern.compile("Difficulty level: (\\w+)");
+    private static final List<String> QUESTION_TYPES = List.of("MULTIPLE_CHOICE", "TRUE_FALSE", "SHORT_ANSWER");
+
+    private final ObjectMapper objectMapper;
+
+    OpenAIStubResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    String contentFor(String prompt, Random random) {
+        Matcher evaluation = EVALUATION_PROMPT.matcher(prompt);
+        return evaluation.find()
+                ? evaluation(evaluation.group(1).trim(), evaluation.group(2).trim(), random)
+                : question(prompt, random);
+    }
+
+    private String question(String prompt, Random random) {
+        Matcher difficulty = DIFFICULTY.matcher(prompt);
+        String level = difficulty.find() ? difficulty.group(1) : "MEDIUM";
+        // Distinct per call, so the generator's duplicate check accepts repeated prompts
+        String tag = Long.toHexString(random.nextLong() & 0xFFFFFFFFL);
+        String type = QUESTION_TYPES.get(random.nextInt(QUESTION_TYPES.size()));
+
+        ObjectNode question = objectMapper.createObjectNode();
+        question.put("question", "Stub " + level + " question " + tag + ": what does this content describe?");
+        question.put("type", type);
+        ArrayNode options = question.putArray("options");
+        switch (type) {
+            case "MULTIPLE_CHOICE" -> {
+                for (int i = 1; i <= 4; i++) {
+                    options.add("Option " + i + " (" + tag + ")");
+                }
+                question.put("correctAnswer", options.get(random.nextInt(4)).asText());
+            }
+            case "TRUE_FALSE" -> question.put("correctAnswer", Boolean.toString(random.nextBoolean()));
+            default -> question.put("correctAnswer", "stub answer " + tag);
+        }
+        question.put("explanation", "Generated by the OpenAI stub for load testing.");
+        return "```json\n" + question.toPrettyString() + "\n```";
+    }
+
+    // Exact answers score high, anything else lands in the failing range, so correctness stays predictable
+    private String evaluation(String correctAnswer, String userAnswer, Random random) {
+        boolean correct = userAnswer.equalsIgnoreCase(correctAnswer);
+        double similarity = correct ? 90 + random.nextInt(11) : 20 + random.nextInt(50);
+
+        ObjectNode evaluation = objectMapper.createObjectNode();
+        evaluation.put("correct", correct);
+        evaluation.put("similarityScore", similarity);
+        evaluation.put("feedback", correct ? "The answer matches the expected answer." : "The answer misses the expected answer.");
+        evaluation.put("correctParts", correct ? "All key points." : "None.");
+        evaluation.put("incorrectParts", correct ? "None." : "The key point of the expected answer.");
+        evaluation.put("improvementSuggestions", "Review the explanation of the question.");
+        evaluation.put("conceptualUnderstanding", correct ? "Good" : "Partial");
+        return evaluation.toString();
+    }
+}
@@ -0,0 +1,230 @@
+package com.interview.quizsystem.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interview.quizsystem.config.OpenAIStubConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Local stand-in for the chat completions endpoint, so the whole quiz flow can be load tested without network
+// access or OpenAI spend. Started by the openai-stub profile, which also points openai.api.base-url at it
+@Slf4j
+@Component
+@Profile("openai-stub")
+public class OpenAIStubServer {
+
+    private static final String COMPLETIONS_PATH = "/v1/chat/completions";
+    // z-score of the 99th percentile of a standard normal distribution
+    private static final double P99_Z = 2.3263;
+    private static final int STREAM_CHUNK_CHARS = 16;
+
+    private final OpenAIStubConfig config;
+    private final ObjectMapper objectMapper;
+    private final OpenAIStubResponses responses;
+    private final AtomicLong requestSequence = new AtomicLong();
+    // How often each (model, prompt) has been seen, so repeats of one prompt still differ from each other
+    private final Map<Long, AtomicLong> promptOccurrences = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public OpenAIStubServer(OpenAIStubConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.responses = new OpenAIStubResponses(objectMapper);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        executor = Executors.newFixedThreadPool(config.getThreads());
+        server = HttpServer.create(new InetSocketAddress("localhost", config.getPort()), config.getThreads());
+        server.createContext(COMPLETIONS_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("OpenAI stub listening on http://localhost:{}{} (median {} ms, p99 {} ms, errors {}, 429s {})",
+                config.getPort(), COMPLETIONS_PATH, config.getLatencyMedianMs(), config.getLatencyP99Ms(),
+                config.getErrorRate(), config.getRateLimitRate());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendJson(exchange, 405, error("Method not allowed", "invalid_request_error"));
+                return;
+            }
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+
+            String prompt = lastUserMessage(request);
+            String model = request.path("model").asText("stub");
+
+            // One random source per request, seeded by what was asked and how often it was asked before rather
+            // than by arrival order: concurrent callers get the same latencies, failures and payloads on every run
+            long requestId = requestSequence.incrementAndGet();
+            long promptHash = promptHash(model, prompt);
+            long occurrence = promptOccurrences.computeIfAbsent(promptHash, hash -> new AtomicLong()).incrementAndGet();
+            Random random = new Random(config.getSeed() ^ promptHash ^ (occurrence * 0x9E3779B97F4A7C15L));
+            sleep(latencyMs(random));
+
+            double roll = random.nextDouble();
+            if (roll < config.getRateLimitRate()) {
+                exchange.getResponseHeaders().set("Retry-After", Integer.toString(config.getRetryAfterSeconds()));
+                sendJson(exchange, 429, error("Rate limit reached (stub)", "rate_limit_exceeded"));
+                return;
+            }
+            if (roll < config.getRateLimitRate() + config.getErrorRate()) {
+                sendJson(exchange, 500, error("The server had an error (stub)", "server_error"));
+                return;
+            }
+
+            String content = responses.contentFor(prompt, random);
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, requestId, model, content);
+            } else {
+                sendJson(exchange, 200, completion(requestId, model, prompt, content));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("OpenAI stub failed to answer a request", e);
+            sendJson(exchange, 500, error(String.valueOf(e.getMessage()), "server_error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Log-normal with the configured median, and sigma chosen so that 1% of responses exceed the p99
+    private long latencyMs(Random random) {
+        double median = Math.max(1, config.getLatencyMedianMs());
+        double sigma = Math.log(Math.max(median, config.getLatencyP99Ms()) / median) / P99_Z;
+        return Math.round(median * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    private String lastUserMessage(JsonNode request) {
+        String prompt = "";
+        for (JsonNode message : request.path("messages")) {
+            if ("user".equals(message.path("role").asText())) {
+                prompt = message.path("content").asText();
+            }
+        }
+        return prompt;
+    }
+
+    // 64-bit FNV-1a; String.hashCode alone would make distinct prompts share seeds far too often
+    private static long promptHash(String model, String prompt) {
+        long hash = 0xcbf29ce484222325L;
+        for (String part : new String[]{model, "\n", prompt}) {
+            for (int i = 0; i < part.length(); i++) {
+                hash ^= part.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    private ObjectNode completion(long requestId, String model, String prompt, String content) {
+        ObjectNode completion = objectMapper.createObjectNode();
+        completion.put("id", "chatcmpl-stub-" + requestId);
+        completion.put("object", "chat.completion");
+        completion.put("created", System.currentTimeMillis() / 1000);
+        completion.put("model", model);
+        ObjectNode choice = completion.putArray("choices").addObject();
+        choice.put("index", 0);
+        ObjectNode message = choice.putObject("message");
+        message.put("role", "assistant");
+        message.put("content", content);
+        choice.put("finish_reason", "stop");
+
+        // Same chars/4 rule of thumb the client uses for its estimates
+        ObjectNode usage = completion.putObject("usage");
+        usage.put("prompt_tokens", prompt.length() / 4);
+        usage.put("completion_tokens", content.length() / 4);
+        usage.put("total_tokens", (prompt.length() + content.length()) / 4);
+        return completion;
+    }
+
+    // Server-sent events in the chat.completion.chunk format, ending with [DONE]
+    private void stream(HttpExchange exchange, long requestId, String model, String content)
+            throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        for (int start = 0; start < content.length(); start += STREAM_CHUNK_CHARS) {
+            String piece = content.substring(start, Math.min(content.length(), start + STREAM_CHUNK_CHARS));
+            writeEvent(body, chunk(requestId, model, piece, null).toString());
+            sleep(config.getStreamChunkDelayMs());
+        }
+        writeEvent(body, chunk(requestId, model, null, "stop").toString());
+        writeEvent(body, "[DONE]");
+    }
+
+    private ObjectNode chunk(long requestId, String model, String piece, String finishReason) {
+        ObjectNode chunk = objectMapper.createObjectNode();
+        chunk.put("id", "chatcmpl-stub-" + requestId);
+        chunk.put("object", "chat.completion.chunk");
+        chunk.put("created", System.currentTimeMillis() / 1000);
+        chunk.put("model", model);
+        ObjectNode choice = chunk.putArray("choices").addObject();
+        choice.put("index", 0);
+        ObjectNode delta = choice.putObject("delta");
+        if (piece != null) {
+            delta.put("content", piece);
+        }
+        choice.put("finish_reason", finishReason);
+        return chunk;
+    }
+
+    private static void writeEvent(OutputStream body, String data) throws IOException {
+        body.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private ObjectNode error(String message, String type) {
+        ObjectNode error = objectMapper.createObjectNode();
+        ObjectNode details = error.putObject("error");
+        details.put("message", message);
+        details.put("type", type);
+        return error;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, ObjectNode body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+}
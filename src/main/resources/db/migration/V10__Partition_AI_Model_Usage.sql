@@ -0,0 +1,131 @@
+-- ai_model_usage becomes range partitioned by month on created_at. Old months are dropped as whole partitions
+-- and time-bounded queries only touch the months they cover.
+-- A partitioned table's primary key must include the partition key, so the key becomes (id, created_at);
+-- ids still come from ai_model_usage_seq and stay unique on their own.
+
+-- ai_model_errors can no longer reference usage(id) alone; errors are pruned by the same retention job instead
+ALTER TABLE ai_model_errors DROP CONSTRAINT IF EXISTS ai_model_errors_usage_id_fkey;
+
+ALTER TABLE ai_model_usage RENAME TO ai_model_usage_legacy;
+ALTER INDEX ai_model_usage_pkey RENAME TO ai_model_usage_legacy_pkey;
+DROP INDEX idx_ai_usage_topic;
+DROP INDEX idx_ai_usage_user;
+DROP INDEX idx_ai_usage_created_at;
+DROP INDEX idx_ai_usage_model;
+-- Otherwise dropping the legacy table would drop the sequence with it
+ALTER SEQUENCE ai_model_usage_seq OWNED BY NONE;
+
+CREATE TABLE ai_model_usage (
+    id BIGINT NOT NULL DEFAULT nextval('ai_model_usage_seq'),
+    topic_id BIGINT REFERENCES topics(id),
+    user_id BIGINT REFERENCES users(id),
+    session_id VARCHAR(255) REFERENCES quiz_sessions(id),
+    operation_type VARCHAR(50) NOT NULL,
+    model_provider VARCHAR(50) NOT NULL,
+    model_name VARCHAR(50) NOT NULL,
+    tokens_used INTEGER,
+    cost_in_usd DECIMAL(10,6),
+    response_time_ms BIGINT,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT ai_model_usage_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT valid_status CHECK (status IN ('SUCCESS', 'FAILED', 'TIMEOUT')),
+    CONSTRAINT valid_operation_type CHECK (operation_type IN ('ANSWER_EVALUATION', 'QUESTION_GENERATION'))
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE ai_model_usage_seq OWNED BY ai_model_usage.id;
+
+-- Creates the partition holding the month that contains the given day; used by the migration and the maintenance job.
+-- Rows of that month sitting in the default partition (a month the job missed) are moved into the new partition,
+-- since Postgres refuses to create a partition whose rows the default partition already holds
+CREATE OR REPLACE FUNCTION ensure_ai_model_usage_partition(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::DATE;
+    to_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'ai_model_usage_' || to_char(from_date, 'YYYY_MM');
+    stranded BOOLEAN := false;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    IF to_regclass('ai_model_usage_default') IS NOT NULL THEN
+        EXECUTE 'SELECT EXISTS (SELECT 1 FROM ai_model_usage_default WHERE created_at >= $1 AND created_at < $2)'
+            INTO stranded USING from_date, to_date;
+    END IF;
+
+    IF NOT stranded THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF ai_model_usage FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, from_date, to_date);
+        RETURN;
+    END IF;
+
+    -- Attaching builds the partition's indexes and checks the default partition no longer holds the month
+    EXECUTE format('CREATE TABLE %I (LIKE ai_model_usage INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM ai_model_usage_default WHERE created_at >= %L AND created_at < %L '
+                   'RETURNING *) INSERT INTO %I SELECT * FROM moved', from_date, to_date, partition_name);
+    EXECUTE format('ALTER TABLE ai_model_usage ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, from_date, to_date);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops the partition of the month that contains the given day, if any; the name is quoted, never concatenated
+CREATE OR REPLACE FUNCTION drop_ai_model_usage_partition(month_start DATE) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format('DROP TABLE IF EXISTS %I', 'ai_model_usage_' || to_char(month_start, 'YYYY_MM'));
+END;
+$$ LANGUAGE plpgsql;
+
+-- One partition per month of existing history, plus the current and next few months
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM ai_model_usage_legacy), now()))::DATE;
+BEGIN
+    WHILE month_start <= (date_trunc('month', now()) + INTERVAL '3 months')::DATE LOOP
+        PERFORM ensure_ai_model_usage_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- Catches rows outside every monthly range so an insert never fails. Creating the missing month moves its rows out,
+-- and retention deletes rows older than every month kept
+CREATE TABLE ai_model_usage_default PARTITION OF ai_model_usage DEFAULT;
+
+INSERT INTO ai_model_usage (id, topic_id, user_id, session_id, operation_type, model_provider, model_name,
+                            tokens_used, cost_in_usd, response_time_ms, status, created_at)
+SELECT id, topic_id, user_id, session_id, operation_type, model_provider, model_name,
+       tokens_used, cost_in_usd, response_time_ms, status, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM ai_model_usage_legacy;
+
+DROP TABLE ai_model_usage_legacy;
+
+-- Created on the parent, so every partition (including future ones) gets them
+CREATE INDEX idx_ai_usage_topic_created_at ON ai_model_usage(topic_id, created_at);
+CREATE INDEX idx_ai_usage_user_created_at ON ai_model_usage(user_id, created_at);
+CREATE INDEX idx_ai_usage_created_at ON ai_model_usage(created_at);
+CREATE INDEX idx_ai_errors_created_at ON ai_model_errors(created_at);
+
+-- Pre-aggregated usage per time bucket, topic, user, model and operation, rebuilt by the rollup job.
+-- HOUR buckets serve quota checks and recent charts, DAY buckets serve long-range cost dashboards
+CREATE TABLE ai_usage_rollups (
+    id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    topic_id BIGINT,
+    user_id BIGINT,
+    model_provider VARCHAR(50) NOT NULL,
+    model_name VARCHAR(50) NOT NULL,
+    operation_type VARCHAR(50) NOT NULL,
+    request_count BIGINT NOT NULL,
+    error_count BIGINT NOT NULL,
+    tokens_used BIGINT NOT NULL,
+    cost_in_usd DECIMAL(14,6) NOT NULL,
+    p50_response_time_ms DOUBLE PRECISION,
+    p95_response_time_ms DOUBLE PRECISION,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT valid_rollup_granularity CHECK (granularity IN ('HOUR', 'DAY'))
+);
+
+-- Buckets are rebuilt by deleting a (granularity, bucket_start) range and inserting it again
+CREATE INDEX idx_ai_usage_rollups_bucket ON ai_usage_rollups(granularity, bucket_start);
+CREATE INDEX idx_ai_usage_rollups_topic ON ai_usage_rollups(granularity, topic_id, bucket_start);
+CREATE INDEX idx_ai_usage_rollups_user ON ai_usage_rollups(granularity, user_id, bucket_start);
@@ -0,0 +1,11 @@
+-- Pooled sequence for outbox_events, as V9 did for the other tables, so the events of a request are inserted in one
+-- batch. Each node hands out ids from its own block of 50, so across nodes ids no longer follow creation order:
+-- events of a key are applied in (created_at, id) order and the pending index follows that order.
+
+ALTER TABLE outbox_events ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE outbox_events_seq INCREMENT BY 50 OWNED BY outbox_events.id;
+SELECT setval('outbox_events_seq', COALESCE((SELECT MAX(id) FROM outbox_events), 0) + 50);
+ALTER TABLE outbox_events ALTER COLUMN id SET DEFAULT nextval('outbox_events_seq');
+
+DROP INDEX idx_outbox_events_pending;
+CREATE INDEX idx_outbox_events_pending ON outbox_events(aggregate_key, created_at, id) WHERE status = 'PENDING';
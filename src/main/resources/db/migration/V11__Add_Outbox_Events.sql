@@ -0,0 +1,18 @@
+-- Transactional outbox: side effects of a request are written as rows in the request's own transaction
+-- and applied later by OutboxProcessor, in id order per aggregate_key (the user id)
+CREATE TABLE outbox_events (
+    id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_key VARCHAR(100) NOT NULL,
+    payload JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    CONSTRAINT valid_outbox_status CHECK (status IN ('PENDING', 'PROCESSED', 'FAILED'))
+);
+
+-- Only pending rows are polled, so the index stays as small as the backlog
+CREATE INDEX idx_outbox_events_pending ON outbox_events(aggregate_key, id) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_events_processed_at ON outbox_events(processed_at) WHERE status = 'PROCESSED';
@@ -0,0 +1,8 @@
+-- Existing questions start at their level's nominal rating
+UPDATE questions SET item_rating = 1200 WHERE difficulty = 'EASY';
+UPDATE questions SET item_rating = 1800 WHERE difficulty = 'HARD';
+
+-- Questions were stored without their topic so far; the bank looks them up by it
+UPDATE questions q SET topic_id = t.id
+FROM quiz_sessions s JOIN topics t ON t.name = s.topic
+WHERE q.quiz_session_id = s.id AND q.topic_id IS NULL;
@@ -0,0 +1,5 @@
+-- The question bank skips originals the user already answered, directly or through one of their copies.
+-- Both lookups go by question, which neither table is indexed on yet
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_answers_question ON user_answers(question_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_origin ON questions(origin_question_id)
+    WHERE origin_question_id IS NOT NULL;
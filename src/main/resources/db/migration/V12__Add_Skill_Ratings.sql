@@ -0,0 +1,25 @@
+-- Elo-style skill estimate per user and topic, updated incrementally from the answer outbox
+CREATE TABLE skill_ratings (
+    id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    topic_id BIGINT NOT NULL,
+    rating DOUBLE PRECISION NOT NULL,
+    answers_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT skill_ratings_user_topic_unique UNIQUE (user_id, topic_id),
+    CONSTRAINT skill_ratings_user_fk FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT skill_ratings_topic_fk FOREIGN KEY (topic_id) REFERENCES topics(id)
+);
+
+-- Item difficulty on the same scale. A question reused from the bank is copied into the new session and
+-- points at its original, which holds the rating for every copy
+ALTER TABLE questions ADD COLUMN origin_question_id VARCHAR(255);
+ALTER TABLE questions ADD COLUMN item_rating DOUBLE PRECISION NOT NULL DEFAULT 1500;
+ALTER TABLE questions ADD COLUMN times_answered INTEGER NOT NULL DEFAULT 0;
+
+-- Sessions are attributed to the user who started them, so the bank only leaves out what that user has answered.
+-- Sessions stored before this stay unattributed
+ALTER TABLE quiz_sessions ADD COLUMN user_id BIGINT;
+ALTER TABLE quiz_sessions ADD CONSTRAINT quiz_sessions_user_fk FOREIGN KEY (user_id) REFERENCES users(id);
+
+CREATE INDEX idx_questions_bank ON questions(topic_id, difficulty, item_rating) WHERE origin_question_id IS NULL;
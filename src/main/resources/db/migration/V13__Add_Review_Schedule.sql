@@ -0,0 +1,27 @@
+-- SM-2 spaced repetition state per user and question. question_id is the bank original, so every copy of a
+-- question shares one schedule. Ids come from a pooled sequence, as since V9; the upsert takes the column default
+CREATE SEQUENCE review_schedule_seq INCREMENT BY 50;
+CREATE TABLE review_schedule (
+    id BIGINT PRIMARY KEY DEFAULT nextval('review_schedule_seq'),
+    user_id BIGINT NOT NULL,
+    question_id VARCHAR(255) NOT NULL,
+    topic_id BIGINT NOT NULL,
+    ease_factor DOUBLE PRECISION NOT NULL,
+    interval_days INTEGER NOT NULL,
+    repetitions INTEGER NOT NULL,
+    lapses INTEGER NOT NULL DEFAULT 0,
+    due_at TIMESTAMP NOT NULL,
+    last_reviewed_at TIMESTAMP NOT NULL,
+    CONSTRAINT review_schedule_user_question_unique UNIQUE (user_id, question_id),
+    CONSTRAINT review_schedule_user_fk FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT review_schedule_question_fk FOREIGN KEY (question_id) REFERENCES questions(id) ON DELETE CASCADE,
+    CONSTRAINT review_schedule_topic_fk FOREIGN KEY (topic_id) REFERENCES topics(id)
+);
+ALTER SEQUENCE review_schedule_seq OWNED BY review_schedule.id;
+
+-- Due questions are read as one range scan: all of a user's, or a user's in one topic
+CREATE INDEX idx_review_schedule_user_due ON review_schedule(user_id, due_at);
+CREATE INDEX idx_review_schedule_user_topic_due ON review_schedule(user_id, topic_id, due_at);
+
+ALTER TABLE quiz_sessions ADD COLUMN session_type VARCHAR(20) NOT NULL DEFAULT 'QUIZ';
+ALTER TABLE quiz_sessions ADD CONSTRAINT valid_session_type CHECK (session_type IN ('QUIZ', 'REVIEW'));
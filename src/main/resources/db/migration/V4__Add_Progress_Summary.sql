@@ -0,0 +1,66 @@
+-- Read model for progress views, one row per (user, topic), updated with every progress write
+CREATE TABLE user_progress_summary (
+    id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    topic_id BIGINT NOT NULL,
+    start_date TIMESTAMP,
+    last_attempt_date TIMESTAMP,
+    cycle_expires_at TIMESTAMP,
+    is_active BOOLEAN NOT NULL DEFAULT true,
+    questions_attempted INTEGER NOT NULL DEFAULT 0,
+    questions_correct INTEGER NOT NULL DEFAULT 0,
+    overall_score DOUBLE PRECISION NOT NULL DEFAULT 0.0,
+    easy_attempted INTEGER NOT NULL DEFAULT 0,
+    easy_correct INTEGER NOT NULL DEFAULT 0,
+    easy_last_attempt_date TIMESTAMP,
+    medium_attempted INTEGER NOT NULL DEFAULT 0,
+    medium_correct INTEGER NOT NULL DEFAULT 0,
+    medium_last_attempt_date TIMESTAMP,
+    hard_attempted INTEGER NOT NULL DEFAULT 0,
+    hard_correct INTEGER NOT NULL DEFAULT 0,
+    hard_last_attempt_date TIMESTAMP,
+    current_difficulty VARCHAR(50) NOT NULL DEFAULT 'EASY',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT user_progress_summary_user_fk FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT user_progress_summary_topic_fk FOREIGN KEY (topic_id) REFERENCES topics(id) ON DELETE CASCADE,
+    CONSTRAINT user_progress_summary_user_topic_unique UNIQUE (user_id, topic_id)
+);
+
+-- Backfill from existing progress with the configured learning cycle; the placeholders are set by FlywayConfig
+INSERT INTO user_progress_summary (
+    user_id, topic_id, start_date, last_attempt_date, cycle_expires_at, is_active,
+    questions_attempted, questions_correct, overall_score,
+    easy_attempted, easy_correct, easy_last_attempt_date,
+    medium_attempted, medium_correct, medium_last_attempt_date,
+    hard_attempted, hard_correct, hard_last_attempt_date,
+    current_difficulty)
+SELECT tp.user_id, tp.topic_id, tp.start_date, tp.last_attempt_date,
+       tp.last_attempt_date + make_interval(days => ${learningCycleDays}), tp.is_active,
+       COALESCE(tp.questions_attempted, 0), COALESCE(tp.questions_correct, 0), COALESCE(tp.overall_score, 0.0),
+       d.easy_attempted, d.easy_correct, d.easy_last_attempt_date,
+       d.medium_attempted, d.medium_correct, d.medium_last_attempt_date,
+       d.hard_attempted, d.hard_correct, d.hard_last_attempt_date,
+       CASE
+           WHEN d.easy_attempted < ${learningCycleMinQuestions}
+                OR d.easy_score < ${learningCycleProgressionThreshold} THEN 'EASY'
+           WHEN d.medium_attempted < ${learningCycleMinQuestions}
+                OR d.medium_score < ${learningCycleProgressionThreshold} THEN 'MEDIUM'
+           ELSE 'HARD'
+       END
+FROM topic_progress tp
+CROSS JOIN LATERAL (
+    SELECT COALESCE(MAX(dp.questions_attempted) FILTER (WHERE dp.difficulty = 'EASY'), 0) AS easy_attempted,
+           COALESCE(MAX(dp.questions_correct) FILTER (WHERE dp.difficulty = 'EASY'), 0) AS easy_correct,
+           COALESCE(MAX(dp.score) FILTER (WHERE dp.difficulty = 'EASY'), 0.0) AS easy_score,
+           MAX(dp.last_attempt_date) FILTER (WHERE dp.difficulty = 'EASY') AS easy_last_attempt_date,
+           COALESCE(MAX(dp.questions_attempted) FILTER (WHERE dp.difficulty = 'MEDIUM'), 0) AS medium_attempted,
+           COALESCE(MAX(dp.questions_correct) FILTER (WHERE dp.difficulty = 'MEDIUM'), 0) AS medium_correct,
+           COALESCE(MAX(dp.score) FILTER (WHERE dp.difficulty = 'MEDIUM'), 0.0) AS medium_score,
+           MAX(dp.last_attempt_date) FILTER (WHERE dp.difficulty = 'MEDIUM') AS medium_last_attempt_date,
+           COALESCE(MAX(dp.questions_attempted) FILTER (WHERE dp.difficulty = 'HARD'), 0) AS hard_attempted,
+           COALESCE(MAX(dp.questions_correct) FILTER (WHERE dp.difficulty = 'HARD'), 0) AS hard_correct,
+           MAX(dp.last_attempt_date) FILTER (WHERE dp.difficulty = 'HARD') AS hard_last_attempt_date
+    FROM difficulty_progress dp
+    WHERE dp.topic_progress_id = tp.id
+) d
+WHERE tp.is_active = true;
@@ -0,0 +1,4 @@
+-- Cycles with no attempts yet now expire from their start date; give their summary rows the matching expiry
+UPDATE user_progress_summary
+SET cycle_expires_at = start_date + make_interval(days => ${learningCycleDays})
+WHERE last_attempt_date IS NULL AND start_date IS NOT NULL;
@@ -0,0 +1,37 @@
+-- Archived learning cycles. Expired topic_progress rows are copied here and then reset in place,
+-- which keeps topic_progress_user_topic_unique valid (one live row per user and topic)
+CREATE TABLE topic_progress_history (
+    id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    topic_progress_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    topic_id BIGINT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    last_attempt_date TIMESTAMP,
+    overall_score DOUBLE PRECISION DEFAULT 0.0,
+    questions_attempted INTEGER DEFAULT 0,
+    questions_correct INTEGER DEFAULT 0,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT topic_progress_history_user_fk FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT topic_progress_history_topic_fk FOREIGN KEY (topic_id) REFERENCES topics(id)
+);
+
+CREATE INDEX idx_topic_progress_history_user_topic ON topic_progress_history(user_id, topic_id, start_date);
+
+-- Per-difficulty breakdown of an archived cycle, linked by (topic_progress_id, cycle_start_date)
+CREATE TABLE difficulty_progress_history (
+    id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    topic_progress_id BIGINT NOT NULL,
+    cycle_start_date TIMESTAMP NOT NULL,
+    difficulty VARCHAR(50) NOT NULL,
+    score DOUBLE PRECISION DEFAULT 0.0,
+    questions_attempted INTEGER DEFAULT 0,
+    questions_correct INTEGER DEFAULT 0,
+    last_attempt_date TIMESTAMP
+);
+
+CREATE INDEX idx_difficulty_progress_history_cycle ON difficulty_progress_history(topic_progress_id, cycle_start_date);
+
+-- Serves the nightly expiry scan as an index range scan in keyset order. A cycle with no attempts yet
+-- runs from its start date
+CREATE INDEX idx_topic_progress_active_last_activity
+    ON topic_progress ((COALESCE(last_attempt_date, start_date)), id) WHERE is_active;
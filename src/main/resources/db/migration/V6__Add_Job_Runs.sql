@@ -0,0 +1,26 @@
+-- One row per execution of a cluster-wide scheduled job (runs skipped because another node held the lock or the
+-- slot had already run are not recorded). Ids come from a pooled sequence (INCREMENT BY 50 = Hibernate allocationSize)
+CREATE SEQUENCE job_runs_seq INCREMENT BY 50;
+
+CREATE TABLE job_runs (
+    id BIGINT PRIMARY KEY DEFAULT nextval('job_runs_seq'),
+    job_name VARCHAR(100) NOT NULL,
+    -- Schedule slot the run belongs to, e.g. the day of a daily job
+    slot TIMESTAMP NOT NULL,
+    node_id VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    duration_ms BIGINT,
+    rows_affected BIGINT,
+    error_message TEXT,
+    CONSTRAINT valid_job_run_status CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED', 'LEASE_LOST'))
+);
+
+ALTER SEQUENCE job_runs_seq OWNED BY job_runs.id;
+
+CREATE INDEX idx_job_runs_job_started ON job_runs(job_name, started_at DESC);
+
+-- A slot is claimed by its running or succeeded run; failed and interrupted runs leave it free to be run again
+CREATE UNIQUE INDEX uq_job_runs_job_slot ON job_runs(job_name, slot) WHERE status IN ('RUNNING', 'SUCCEEDED');
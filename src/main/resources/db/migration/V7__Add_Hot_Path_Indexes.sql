@@ -0,0 +1,12 @@
+-- Foreign keys on the session load path; Postgres does not index the referencing side of a foreign key
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_answers_quiz_session ON user_answers(quiz_session_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_quiz_session ON questions(quiz_session_id);
+
+-- QuestionRepository filters by topic alone and by topic plus difficulty; one composite index serves both
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_topic_difficulty ON questions(topic_id, difficulty);
+
+-- findByNameIgnoreCase compiles to upper(name) = upper(?), which the plain unique index on name cannot serve
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_topics_name_upper ON topics(upper(name));
+
+-- difficulty_progress(topic_progress_id) and topic_progress(user_id) are already the leading columns of
+-- their unique constraints, so they get no separate index
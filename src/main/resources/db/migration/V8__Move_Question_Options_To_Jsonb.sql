@@ -0,0 +1,15 @@
+-- Question options move from the question_options element collection into a JSONB array on questions
+ALTER TABLE questions ADD COLUMN options JSONB NOT NULL DEFAULT '[]'::jsonb;
+
+-- question_options has no order column; physical order is the insertion order Hibernate wrote them in
+UPDATE questions q
+SET options = o.options
+FROM (
+    SELECT question_id, jsonb_agg(option_value ORDER BY ctid) AS options
+    FROM question_options
+    WHERE option_value IS NOT NULL
+    GROUP BY question_id
+) o
+WHERE o.question_id = q.id;
+
+DROP TABLE question_options;
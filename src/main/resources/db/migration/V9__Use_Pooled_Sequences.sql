@@ -0,0 +1,23 @@
+-- Pooled sequences (INCREMENT BY 50 = Hibernate allocationSize) replace identity columns so inserts can be batched.
+-- Sequences start 50 past the current max id, because Hibernate's pooled optimizer hands out (value - 49 .. value].
+-- The column default keeps native inserts working; they simply consume one sequence value each.
+
+ALTER TABLE topic_progress ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE topic_progress_seq INCREMENT BY 50 OWNED BY topic_progress.id;
+SELECT setval('topic_progress_seq', COALESCE((SELECT MAX(id) FROM topic_progress), 0) + 50);
+ALTER TABLE topic_progress ALTER COLUMN id SET DEFAULT nextval('topic_progress_seq');
+
+ALTER TABLE difficulty_progress ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE difficulty_progress_seq INCREMENT BY 50 OWNED BY difficulty_progress.id;
+SELECT setval('difficulty_progress_seq', COALESCE((SELECT MAX(id) FROM difficulty_progress), 0) + 50);
+ALTER TABLE difficulty_progress ALTER COLUMN id SET DEFAULT nextval('difficulty_progress_seq');
+
+ALTER TABLE ai_model_usage ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE ai_model_usage_seq INCREMENT BY 50 OWNED BY ai_model_usage.id;
+SELECT setval('ai_model_usage_seq', COALESCE((SELECT MAX(id) FROM ai_model_usage), 0) + 50);
+ALTER TABLE ai_model_usage ALTER COLUMN id SET DEFAULT nextval('ai_model_usage_seq');
+
+ALTER TABLE ai_model_errors ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE ai_model_errors_seq INCREMENT BY 50 OWNED BY ai_model_errors.id;
+SELECT setval('ai_model_errors_seq', COALESCE((SELECT MAX(id) FROM ai_model_errors), 0) + 50);
+ALTER TABLE ai_model_errors ALTER COLUMN id SET DEFAULT nextval('ai_model_errors_seq');
@@ -0,0 +1,56 @@
+package com.interview.quizsystem.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.model.entity.Question;
+import com.interview.quizsystem.model.entity.Topic;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The session returned by the start endpoint carries its stored questions, whose topic is the near-cached reference
+class QuizSessionJsonTest extends PostgresIntegrationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void storedQuestionWithATopicProxyIsWritten() throws Exception {
+        Long topicId = jdbcTemplate.queryForObject("INSERT INTO topics (name) VALUES ('Json Topic') RETURNING id",
+                Long.class);
+        Topic topic = entityManager.getEntityManager().getReference(Topic.class, topicId);
+        assertThat(Hibernate.isInitialized(topic)).isFalse();
+        QuizSession session = QuizSession.builder()
+                .id("json-session")
+                .topic("Json Topic")
+                .difficulty(Difficulty.MEDIUM)
+                .startTime(LocalDateTime.now())
+                .status(SessionStatus.IN_PROGRESS)
+                .storedQuestions(List.of(Question.builder()
+                        .id("json-question")
+                        .topic(topic)
+                        .questionText("What is a proxy?")
+                        .questionType(QuestionType.SHORT_ANSWER)
+                        .difficulty(Difficulty.MEDIUM)
+                        .build()))
+                .build();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(session));
+
+        assertThat(json.path("topic").asText()).isEqualTo("Json Topic");
+        assertThat(json.path("storedQuestions").get(0).path("id").asText()).isEqualTo("json-question");
+        assertThat(json.path("storedQuestions").get(0).has("topic")).isFalse();
+    }
+}
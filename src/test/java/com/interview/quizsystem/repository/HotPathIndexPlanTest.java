@@ -0,0 +1,203 @@
+package com.interview.quizsystem.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks that the planner picks the hot-path indexes on its own: default planner settings, a few thousand users
+// worth of rows and fresh statistics. Rows are inserted and analyzed inside the test transaction, which rolls both
+// back, so other test classes never see them
+class HotPathIndexPlanTest extends PostgresIntegrationTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final int USERS = 2_000;
+    private static final int TOPICS = 1_000;
+    private static final int SESSIONS = 2_000;
+    private static final int QUESTIONS_PER_SESSION = 20;
+    private static final int TOPICS_PER_USER = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (username, email)
+                SELECT 'plan-user-' || g, 'plan-user-' || g || '@example.com' FROM generate_series(1, ?) g
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO topics (name, description)
+                SELECT 'Plan Topic ' || g, 'Generated for query plans' FROM generate_series(1, ?) g
+                """, TOPICS);
+        jdbcTemplate.update("""
+                INSERT INTO quiz_sessions (id, topic, difficulty, start_time, status)
+                SELECT 'plan-session-' || g, 'Plan Topic ' || (g % ? + 1), 'MEDIUM', now(), 'COMPLETED'
+                FROM generate_series(1, ?) g
+                """, TOPICS, SESSIONS);
+        jdbcTemplate.update("""
+                WITH plan_topics AS (
+                    SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM topics WHERE name LIKE 'Plan Topic %'
+                )
+                INSERT INTO questions (id, topic_id, quiz_session_id, question_text, question_type, difficulty)
+                SELECT 'plan-question-' || g, t.id, 'plan-session-' || (g % ? + 1), 'Question ' || g,
+                       'SHORT_ANSWER', (ARRAY['EASY', 'MEDIUM', 'HARD'])[g % 3 + 1]
+                FROM generate_series(1, ?) g
+                JOIN plan_topics t ON t.n = g % ?
+                """, SESSIONS, SESSIONS * QUESTIONS_PER_SESSION, TOPICS);
+        jdbcTemplate.update("""
+                INSERT INTO user_answers (id, quiz_session_id, question_id, answer, is_correct)
+                SELECT 'plan-answer-' || q.id, q.quiz_session_id, q.id, 'Answer', true
+                FROM questions q WHERE q.id LIKE 'plan-question-%'
+                """);
+        jdbcTemplate.update("""
+                WITH plan_users AS (
+                    SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM users WHERE username LIKE 'plan-user-%'
+                ), plan_topics AS (
+                    SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM topics WHERE name LIKE 'Plan Topic %'
+                )
+                INSERT INTO topic_progress (user_id, topic_id, start_date, is_active, questions_attempted,
+                                            questions_correct)
+                SELECT u.id, t.id, now() - interval '3 days', true, 9, 6
+                FROM plan_users u
+                CROSS JOIN generate_series(0, ? - 1) k
+                JOIN plan_topics t ON t.n = (u.n * ? + k) % ?
+                """, TOPICS_PER_USER, TOPICS_PER_USER, TOPICS);
+        jdbcTemplate.update("""
+                INSERT INTO difficulty_progress (topic_progress_id, difficulty, score, questions_attempted,
+                                                 questions_correct)
+                SELECT tp.id, d, 66.7, 3, 2
+                FROM topic_progress tp
+                JOIN users u ON u.id = tp.user_id AND u.username LIKE 'plan-user-%'
+                CROSS JOIN unnest(ARRAY['EASY', 'MEDIUM', 'HARD']) d
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO user_progress_summary (user_id, topic_id, start_date, is_active, questions_attempted,
+                                                   questions_correct, updated_at)
+                SELECT tp.user_id, tp.topic_id, tp.start_date, true, 9, 6, now()
+                FROM topic_progress tp
+                JOIN users u ON u.id = tp.user_id AND u.username LIKE 'plan-user-%'
+                """);
+        jdbcTemplate.update("""
+                WITH plan_users AS (
+                    SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM users WHERE username LIKE 'plan-user-%'
+                ), plan_questions AS (
+                    SELECT id, topic_id, row_number() OVER (ORDER BY id) - 1 AS n FROM questions
+                    WHERE id LIKE 'plan-question-%'
+                )
+                INSERT INTO review_schedule (user_id, question_id, topic_id, ease_factor, interval_days, repetitions,
+                                             due_at, last_reviewed_at)
+                SELECT u.id, q.id, q.topic_id, 2.5, 6, 2, now() + (q.n % 30) * interval '1 day', now()
+                FROM plan_questions q
+                JOIN plan_users u ON u.n = q.n % ?
+                """, USERS);
+        // ANALYZE samples the rows this transaction inserted, and its statistics roll back with them
+        jdbcTemplate.execute("""
+                ANALYZE users, topics, quiz_sessions, questions, user_answers, topic_progress, difficulty_progress,
+                        user_progress_summary, review_schedule
+                """);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'plan-user-42'", Long.class);
+    }
+
+    @Test
+    void topicLookupByNameIgnoringCaseUsesFunctionalIndex() {
+        // What findByNameIgnoreCase compiles to
+        assertThat(indexesUsed("SELECT * FROM topics t WHERE upper(t.name) = upper('plan topic 42')"))
+                .contains("idx_topics_name_upper");
+    }
+
+    @Test
+    void answersOfSessionUseForeignKeyIndex() {
+        assertThat(indexesUsed("SELECT * FROM user_answers ua WHERE ua.quiz_session_id = 'plan-session-7'"))
+                .contains("idx_user_answers_quiz_session");
+    }
+
+    @Test
+    void questionsOfSessionUseForeignKeyIndex() {
+        assertThat(indexesUsed("SELECT * FROM questions q WHERE q.quiz_session_id = 'plan-session-7'"))
+                .contains("idx_questions_quiz_session");
+    }
+
+    @Test
+    void questionsByTopicAndDifficultyUseCompositeIndex() {
+        long topicId = jdbcTemplate.queryForObject("SELECT id FROM topics WHERE name = 'Plan Topic 42'", Long.class);
+        assertThat(indexesUsed("SELECT * FROM questions q WHERE q.topic_id = %d AND q.difficulty = 'MEDIUM'"
+                .formatted(topicId)))
+                .contains("idx_questions_topic_difficulty");
+        assertThat(indexesUsed("SELECT * FROM questions q WHERE q.topic_id = " + topicId))
+                .contains("idx_questions_topic_difficulty");
+    }
+
+    @Test
+    void progressByUserUsesUniqueConstraintIndexes() {
+        long progressId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM topic_progress WHERE user_id = ?", Long.class, userId);
+        assertThat(indexesUsed("SELECT * FROM topic_progress tp WHERE tp.user_id = " + userId))
+                .contains("topic_progress_user_topic_unique");
+        assertThat(indexesUsed("SELECT * FROM difficulty_progress dp WHERE dp.topic_progress_id = " + progressId))
+                .contains("difficulty_progress_topic_difficulty_unique");
+        assertThat(indexesUsed("SELECT * FROM user_progress_summary s WHERE s.user_id = " + userId))
+                .contains("user_progress_summary_user_topic_unique");
+    }
+
+    @Test
+    void progressDashboardJoinsSummaryByIndex() {
+        assertThat(indexesUsed(UserProgressSummaryRepository.SUMMARY_SELECT + """
+                LEFT JOIN user_progress_summary s ON s.topic_id = t.id AND s.user_id = %d
+                ORDER BY t.name
+                """.formatted(userId)))
+                .contains("user_progress_summary_user_topic_unique");
+    }
+
+    @Test
+    void bankSelectionLooksUpAnsweredAndScheduledQuestionsByIndex() {
+        // The per-question probes behind the NOT EXISTS filters of QuestionRepository.findBankQuestions
+        assertThat(indexesUsed("SELECT 1 FROM user_answers ua WHERE ua.question_id = 'plan-question-7'"))
+                .contains("idx_user_answers_question");
+        assertThat(indexesUsed("SELECT 1 FROM questions c WHERE c.origin_question_id = 'plan-question-7'"))
+                .contains("idx_questions_origin");
+        assertThat(indexesUsed("SELECT 1 FROM review_schedule r WHERE r.user_id = %d AND r.question_id = 'plan-question-7'"
+                .formatted(userId)))
+                .contains("review_schedule_user_question_unique");
+    }
+
+    @Test
+    void dueReviewsOfTopicAreReadByIndex() {
+        long topicId = jdbcTemplate.queryForObject(
+                "SELECT topic_id FROM review_schedule WHERE user_id = ? LIMIT 1", Long.class, userId);
+        // What ReviewScheduleRepository.countDue and findDueQuestions filter on. With a few dozen schedules per
+        // user the planner may prefer the narrower per-user index; either one avoids reading other users' rows
+        assertThat(indexesUsed("SELECT * FROM review_schedule r WHERE r.user_id = %d AND r.topic_id = %d AND r.due_at <= now()"
+                .formatted(userId, topicId)))
+                .containsAnyOf("idx_review_schedule_user_topic_due", "idx_review_schedule_user_due");
+    }
+
+    private List<String> indexesUsed(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        List<String> indexes = new ArrayList<>();
+        try {
+            collectIndexNames(OBJECT_MAPPER.readTree(plan), indexes);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + plan, e);
+        }
+        return indexes;
+    }
+
+    private static void collectIndexNames(JsonNode node, List<String> indexes) {
+        if (node.has("Index Name")) {
+            indexes.add(node.get("Index Name").asText());
+        }
+        node.forEach(child -> collectIndexNames(child, indexes));
+    }
+}
@@ -0,0 +1,138 @@
+package com.interview.quizsystem.repository;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.model.entity.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bank originals are rated 1500 unless a test says otherwise; no jitter, so the order is by distance to the target
+class QuestionBankQueryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private long userId;
+    private long otherUserId;
+    private long topicId;
+
+    @BeforeEach
+    void setUp() {
+        userId = user("bank-user");
+        otherUserId = user("bank-other");
+        topicId = jdbcTemplate.queryForObject("INSERT INTO topics (name) VALUES ('Bank Topic') RETURNING id",
+                Long.class);
+        session("origin-session", null);
+    }
+
+    @Test
+    void closestRatedOriginalsComeFirst() {
+        original("far", 1900);
+        original("near", 1510);
+        original("middle", 1600);
+
+        assertThat(bank(2)).containsExactly("near", "middle");
+    }
+
+    @Test
+    void copiesAndQuestionsWithoutAnswerAreNotOffered() {
+        original("original", 1500);
+        session("copy-session", userId);
+        copy("copy", "original", "copy-session");
+        jdbcTemplate.update("""
+                INSERT INTO questions (id, topic_id, quiz_session_id, question_text, question_type, difficulty)
+                VALUES ('unanswerable', ?, 'origin-session', 'No answer', 'SHORT_ANSWER', 'MEDIUM')
+                """, topicId);
+
+        assertThat(bank(10)).containsExactly("original");
+    }
+
+    @Test
+    void originalsTheUserAnsweredDirectlyOrThroughACopyAreLeftOut() {
+        original("answered", 1500);
+        original("answered-copy", 1500);
+        original("fresh", 1500);
+        session("user-session", userId);
+        answer("user-session", "answered");
+        copy("copy", "answered-copy", "user-session");
+        answer("user-session", "copy");
+
+        assertThat(bank(10)).containsExactly("fresh");
+    }
+
+    @Test
+    void answersOfOtherUsersDoNotHideQuestions() {
+        original("answered-by-other", 1500);
+        original("copied-by-other", 1500);
+        session("other-session", otherUserId);
+        answer("other-session", "answered-by-other");
+        copy("copy", "copied-by-other", "other-session");
+        answer("other-session", "copy");
+
+        assertThat(bank(10)).containsExactlyInAnyOrder("answered-by-other", "copied-by-other");
+    }
+
+    @Test
+    void questionsScheduledForReviewAreLeftOut() {
+        original("scheduled", 1500);
+        original("fresh", 1500);
+        jdbcTemplate.update("""
+                INSERT INTO review_schedule (user_id, question_id, topic_id, ease_factor, interval_days, repetitions,
+                                             due_at, last_reviewed_at)
+                VALUES (?, 'scheduled', ?, 2.5, 6, 2, now() + interval '6 days', now())
+                """, userId, topicId);
+
+        assertThat(bank(10)).containsExactly("fresh");
+        assertThat(questionRepository.findBankQuestions(otherUserId, topicId, "MEDIUM", 1500, 0, 10))
+                .extracting(Question::getId)
+                .containsExactlyInAnyOrder("scheduled", "fresh");
+    }
+
+    private List<String> bank(int limit) {
+        return questionRepository.findBankQuestions(userId, topicId, "MEDIUM", 1500, 0, limit).stream()
+                .map(Question::getId)
+                .toList();
+    }
+
+    private long user(String name) {
+        return jdbcTemplate.queryForObject("INSERT INTO users (username, email) VALUES (?, ?) RETURNING id",
+                Long.class, name, name + "@example.com");
+    }
+
+    private void session(String id, Long owner) {
+        jdbcTemplate.update("""
+                INSERT INTO quiz_sessions (id, user_id, topic, difficulty, start_time, status)
+                VALUES (?, ?, 'Bank Topic', 'MEDIUM', now(), 'IN_PROGRESS')
+                """, id, owner);
+    }
+
+    private void original(String id, double itemRating) {
+        jdbcTemplate.update("""
+                INSERT INTO questions (id, topic_id, quiz_session_id, question_text, question_type, difficulty,
+                                       expected_answer, item_rating)
+                VALUES (?, ?, 'origin-session', ?, 'SHORT_ANSWER', 'MEDIUM', 'answer', ?)
+                """, id, topicId, "Question " + id, itemRating);
+    }
+
+    private void copy(String id, String originId, String sessionId) {
+        jdbcTemplate.update("""
+                INSERT INTO questions (id, topic_id, quiz_session_id, question_text, question_type, difficulty,
+                                       expected_answer, origin_question_id)
+                VALUES (?, ?, ?, ?, 'SHORT_ANSWER', 'MEDIUM', 'answer', ?)
+                """, id, topicId, sessionId, "Copy of " + originId, originId);
+    }
+
+    private void answer(String sessionId, String questionId) {
+        jdbcTemplate.update("""
+                INSERT INTO user_answers (id, quiz_session_id, question_id, answer, is_correct)
+                VALUES (?, ?, ?, 'answer', true)
+                """, sessionId + "-" + questionId, sessionId, questionId);
+    }
+}
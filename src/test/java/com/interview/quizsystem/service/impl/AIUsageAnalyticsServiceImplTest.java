@@ -0,0 +1,168 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.AIUsageConfig;
+import com.interview.quizsystem.dto.AIUsageLatencyDTO;
+import com.interview.quizsystem.dto.AIUsageStatsDTO;
+import com.interview.quizsystem.model.UsageGroupBy;
+import com.interview.quizsystem.model.UsageRollupGranularity;
+import com.interview.quizsystem.repository.AIModelUsageRepository;
+import com.interview.quizsystem.repository.AIUsageRollupRepository;
+import com.interview.quizsystem.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AIUsageAnalyticsServiceImplTest extends PostgresIntegrationTest {
+
+    // Inside the hourly rollup retention, so the summary reads HOUR buckets
+    private static final LocalDateTime TEN_AM = LocalDate.now().minusDays(2).atTime(10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AIUsageRollupRepository rollupRepository;
+    @Autowired
+    private AIModelUsageRepository aiModelUsageRepository;
+    @Autowired
+    private TopicRepository topicRepository;
+
+    private AIUsageAnalyticsServiceImpl analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = new AIUsageAnalyticsServiceImpl(new AIUsageConfig(), rollupRepository,
+                aiModelUsageRepository, topicRepository);
+    }
+
+    @Test
+    void summaryCountsEdgeBucketsWhole() {
+        rollup(TEN_AM, null, "gpt-small", 5, 1, "0.010", 80.0);
+        rollup(TEN_AM.plusHours(1), null, "gpt-small", 5, 0, "0.010", 90.0);
+        rollup(TEN_AM.plusHours(2), null, "gpt-small", 5, 0, "0.010", 70.0);
+
+        List<AIUsageStatsDTO> summary = analyticsService.getSummary(UsageGroupBy.MODEL,
+                TEN_AM.plusMinutes(30), TEN_AM.plusMinutes(90));
+
+        assertThat(summary).singleElement().satisfies(stats -> {
+            assertThat(stats.getRequestCount()).isEqualTo(10);
+            assertThat(stats.getErrorRate()).isEqualTo(10.0);
+            assertThat(stats.getWindowStart()).isEqualTo(TEN_AM);
+            assertThat(stats.getWindowEnd()).isEqualTo(TEN_AM.plusHours(2));
+        });
+    }
+
+    @Test
+    void summaryIsMostExpensiveFirstAndReportsTheWorstBucketP95() {
+        rollup(TEN_AM, null, "gpt-small", 50, 0, "0.020", 120.0);
+        rollup(TEN_AM.plusHours(1), null, "gpt-small", 50, 0, "0.020", 450.0);
+        rollup(TEN_AM, null, "gpt-large", 10, 0, "0.900", 900.0);
+
+        List<AIUsageStatsDTO> summary = analyticsService.getSummary(UsageGroupBy.MODEL, TEN_AM, TEN_AM.plusHours(2));
+
+        assertThat(summary)
+                .extracting(AIUsageStatsDTO::getKey, AIUsageStatsDTO::getCostInUsd,
+                        AIUsageStatsDTO::getWorstBucketP95ResponseTimeMs)
+                .containsExactly(
+                        tuple("openai/gpt-large", new BigDecimal("0.900000"), 900.0),
+                        tuple("openai/gpt-small", new BigDecimal("0.040000"), 450.0));
+    }
+
+    @Test
+    void topicGroupsAreLabelledWithTheTopicName() {
+        long topicId = jdbcTemplate.queryForObject(
+                "INSERT INTO topics (name) VALUES ('Analytics Topic') RETURNING id", Long.class);
+        rollup(TEN_AM, topicId, "gpt-small", 3, 0, "0.010", 50.0);
+        rollup(TEN_AM, null, "gpt-small", 2, 0, "0.001", 50.0);
+
+        List<AIUsageStatsDTO> summary = analyticsService.getSummary(UsageGroupBy.TOPIC, TEN_AM, TEN_AM.plusHours(1));
+
+        assertThat(summary)
+                .extracting(AIUsageStatsDTO::getKey, AIUsageStatsDTO::getLabel, AIUsageStatsDTO::getRequestCount)
+                .containsExactly(tuple(String.valueOf(topicId), "Analytics Topic", 3L), tuple("none", "none", 2L));
+    }
+
+    @Test
+    void timeseriesHasOnePointPerBucketAndGroup() {
+        rollup(TEN_AM, null, "gpt-small", 4, 0, "0.010", 50.0);
+        rollup(TEN_AM, null, "gpt-large", 1, 0, "0.100", 50.0);
+        rollup(TEN_AM.plusHours(1), null, "gpt-small", 2, 0, "0.010", 50.0);
+        // Another topic's bucket for the same model and hour merges into the model's point
+        long topicId = jdbcTemplate.queryForObject(
+                "INSERT INTO topics (name) VALUES ('Timeseries Topic') RETURNING id", Long.class);
+        rollup(TEN_AM.plusHours(1), topicId, "gpt-small", 3, 0, "0.010", 50.0);
+
+        List<AIUsageStatsDTO> points = analyticsService.getTimeseries(UsageGroupBy.MODEL,
+                UsageRollupGranularity.HOUR, TEN_AM.plusMinutes(15), TEN_AM.plusMinutes(75));
+
+        assertThat(points)
+                .extracting(AIUsageStatsDTO::getBucketStart, AIUsageStatsDTO::getKey, AIUsageStatsDTO::getRequestCount)
+                .containsExactlyInAnyOrder(
+                        tuple(TEN_AM, "openai/gpt-small", 4L),
+                        tuple(TEN_AM, "openai/gpt-large", 1L),
+                        tuple(TEN_AM.plusHours(1), "openai/gpt-small", 5L));
+        assertThat(points).extracting(AIUsageStatsDTO::getBucketStart).isSorted();
+    }
+
+    @Test
+    void latencyPercentilesComeFromRawUsage() {
+        LocalDateTime at = LocalDateTime.now().minusHours(1);
+        for (int responseTime = 1; responseTime <= 100; responseTime++) {
+            jdbcTemplate.update("""
+                    INSERT INTO ai_model_usage (operation_type, model_provider, model_name, response_time_ms, status,
+                                                created_at)
+                    VALUES ('ANSWER_EVALUATION', 'openai', 'latency-model', ?, 'SUCCESS', ?)
+                    """, responseTime, Timestamp.valueOf(at));
+        }
+
+        List<AIUsageLatencyDTO> latency = analyticsService.getLatency(UsageGroupBy.MODEL,
+                at.minusMinutes(1), at.plusMinutes(1));
+
+        assertThat(latency).filteredOn(group -> group.getKey().equals("openai/latency-model"))
+                .singleElement()
+                .satisfies(group -> {
+                    assertThat(group.getCount()).isEqualTo(100);
+                    assertThat(group.getP50Ms()).isEqualTo(50);
+                    assertThat(group.getP95Ms()).isEqualTo(95);
+                    assertThat(group.getP99Ms()).isEqualTo(99);
+                    assertThat(group.getMaxMs()).isEqualTo(100);
+                    assertThat(group.getMeanMs()).isEqualTo(50.5);
+                });
+    }
+
+    @Test
+    void emptyInvertedOrOverlongWindowsAreRejected() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThatThrownBy(() -> analyticsService.getSummary(UsageGroupBy.MODEL, now, now))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> analyticsService.getTimeseries(UsageGroupBy.MODEL, UsageRollupGranularity.DAY,
+                now, now.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> analyticsService.getLatency(UsageGroupBy.MODEL, now.minusDays(32), now))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("31 days");
+    }
+
+    private void rollup(LocalDateTime bucketStart, Long topicId, String model, long requests, long errors, String cost,
+                        double p95) {
+        jdbcTemplate.update("""
+                INSERT INTO ai_usage_rollups (granularity, bucket_start, topic_id, model_provider, model_name,
+                                              operation_type, request_count, error_count, tokens_used, cost_in_usd,
+                                              p50_response_time_ms, p95_response_time_ms, updated_at)
+                VALUES ('HOUR', ?, ?, 'openai', ?, 'ANSWER_EVALUATION', ?, ?, ?, ?, ?, ?, now())
+                """, Timestamp.valueOf(bucketStart), topicId, model, requests, errors, requests * 10,
+                new BigDecimal(cost), p95 / 2, p95);
+    }
+}
@@ -0,0 +1,151 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.AIUsageConfig;
+import com.interview.quizsystem.repository.AIModelErrorRepository;
+import com.interview.quizsystem.repository.AIUsageRollupRepository;
+import com.interview.quizsystem.service.ClusterJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Partition DDL is transactional in Postgres, so every partition created or dropped here rolls back with the test
+class AIUsageRollupServiceImplTest extends PostgresIntegrationTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String MODEL = "rollup-test-model";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private AIUsageRollupRepository rollupRepository;
+    @Autowired
+    private AIModelErrorRepository aiModelErrorRepository;
+
+    private AIUsageRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ClusterJobService clusterJobService = mock(ClusterJobService.class);
+        when(clusterJobService.runExclusive(any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, ClusterJobService.Job.class).run(() -> true);
+            return true;
+        });
+        rollupService = new AIUsageRollupServiceImpl(new AIUsageConfig(), rollupRepository, aiModelErrorRepository,
+                jdbcTemplate, new TransactionTemplate(transactionManager), clusterJobService);
+    }
+
+    @Test
+    void missingMonthIsCreatedWithTheRowsStrandedInDefault() {
+        YearMonth nextMonth = YearMonth.now().plusMonths(1);
+        jdbcTemplate.queryForList("SELECT drop_ai_model_usage_partition(?)", nextMonth.atDay(1));
+        LocalDateTime strandedAt = nextMonth.atDay(10).atTime(12, 0);
+        usage(strandedAt, "SUCCESS", 100);
+        assertThat(partitionOf(strandedAt)).isEqualTo("ai_model_usage_default");
+
+        rollupService.maintainPartitions();
+
+        assertThat(partitionOf(strandedAt)).isEqualTo(partitionName(nextMonth));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM ai_model_usage_default", Integer.class)).isZero();
+        // Attaching cloned the parent's indexes onto the new partition
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE tablename = ?", Integer.class, partitionName(nextMonth)))
+                .isEqualTo(jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM pg_indexes WHERE tablename = ?", Integer.class,
+                        partitionName(YearMonth.now())));
+    }
+
+    @Test
+    void ensuringAnExistingMonthIsANoOp() {
+        LocalDateTime now = LocalDateTime.now();
+        usage(now, "SUCCESS", 100);
+
+        jdbcTemplate.queryForList("SELECT ensure_ai_model_usage_partition(?)", YearMonth.now().atDay(1));
+
+        assertThat(partitionOf(now)).isEqualTo(partitionName(YearMonth.now()));
+    }
+
+    @Test
+    void partitionsAndStrandedRowsPastRetentionAreDropped() {
+        YearMonth expired = YearMonth.now().minusMonths(14);
+        jdbcTemplate.queryForList("SELECT ensure_ai_model_usage_partition(?)", expired.atDay(1));
+        usage(expired.atDay(3).atStartOfDay(), "SUCCESS", 100);
+        // No partition covers this month, so the row sits in the default partition
+        LocalDateTime strandedAt = LocalDateTime.now().minusMonths(20);
+        usage(strandedAt, "SUCCESS", 100);
+        jdbcTemplate.update("INSERT INTO ai_model_errors (error_code, created_at) VALUES ('timeout', ?)",
+                Timestamp.valueOf(strandedAt));
+
+        rollupService.maintainPartitions();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, partitionName(expired)))
+                .isNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM ai_model_usage WHERE model_name = ?", Integer.class, MODEL)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM ai_model_errors WHERE created_at = ?", Integer.class,
+                Timestamp.valueOf(strandedAt))).isZero();
+        for (int i = 0; i <= 3; i++) {
+            assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+                    partitionName(YearMonth.now().plusMonths(i)))).isNotNull();
+        }
+    }
+
+    @Test
+    void refreshRebuildsRecentBucketsFromRawUsage() {
+        LocalDateTime at = LocalDateTime.now().minusMinutes(1);
+        for (int responseTime = 1; responseTime <= 20; responseTime++) {
+            usage(at, responseTime <= 2 ? "FAILED" : "SUCCESS", responseTime);
+        }
+
+        rollupService.refreshRollups();
+        rollupService.refreshRollups();
+
+        Map<String, Object> hour = jdbcTemplate.queryForMap("""
+                SELECT * FROM ai_usage_rollups WHERE granularity = 'HOUR' AND model_name = ?
+                """, MODEL);
+        assertThat(hour.get("request_count")).isEqualTo(20L);
+        assertThat(hour.get("error_count")).isEqualTo(2L);
+        assertThat(hour.get("tokens_used")).isEqualTo(200L);
+        assertThat((double) hour.get("p50_response_time_ms")).isCloseTo(10.5, within(1e-9));
+        assertThat((double) hour.get("p95_response_time_ms")).isCloseTo(19.05, within(1e-9));
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT request_count FROM ai_usage_rollups WHERE granularity = 'DAY' AND model_name = ?
+                """, Long.class, MODEL)).isEqualTo(20L);
+    }
+
+    private void usage(LocalDateTime createdAt, String status, long responseTimeMs) {
+        jdbcTemplate.update("""
+                INSERT INTO ai_model_usage (operation_type, model_provider, model_name, tokens_used, cost_in_usd,
+                                            response_time_ms, status, created_at)
+                VALUES ('ANSWER_EVALUATION', 'openai', ?, 10, 0.0001, ?, ?, ?)
+                """, MODEL, responseTimeMs, status, Timestamp.valueOf(createdAt));
+    }
+
+    private String partitionOf(LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM ai_model_usage WHERE model_name = ? AND created_at = ?",
+                String.class, MODEL, Timestamp.valueOf(createdAt));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "ai_model_usage_" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,204 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.AdaptiveDifficultyConfig;
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.event.SkillRatingUpdatedEvent;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.repository.ItemRatingRow;
+import com.interview.quizsystem.repository.QuestionRepository;
+import com.interview.quizsystem.repository.SkillRatingRepository;
+import com.interview.quizsystem.repository.SkillRatingRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Elo updates with the default configuration: provisional K 40 for the first 20 answers, then K 16, item K 8
+@ExtendWith(MockitoExtension.class)
+class AdaptiveDifficultyServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Long TOPIC_ID = 3L;
+
+    @Mock
+    private SkillRatingRepository skillRatingRepository;
+    @Mock
+    private QuestionRepository questionRepository;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AdaptiveDifficultyServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AdaptiveDifficultyServiceImpl(new AdaptiveDifficultyConfig(), skillRatingRepository,
+                questionRepository, cacheManager, eventPublisher);
+    }
+
+    @Test
+    void targetItemRatingGivesTheTargetSuccessRate() {
+        double target = service.targetItemRating(1500);
+
+        // 70% expected success: 400 * log10(0.7 / 0.3) below the user's rating
+        assertThat(target).isCloseTo(1352.81, within(0.01));
+        assertThat(1 / (1 + Math.pow(10, (target - 1500) / 400))).isCloseTo(0.7, within(1e-9));
+    }
+
+    @Test
+    void targetItemRatingEqualsUserRatingAtEvenOdds() {
+        AdaptiveDifficultyConfig config = new AdaptiveDifficultyConfig();
+        config.setTargetSuccessRate(0.5);
+        AdaptiveDifficultyServiceImpl evenOdds = new AdaptiveDifficultyServiceImpl(config, skillRatingRepository,
+                questionRepository, cacheManager, eventPublisher);
+
+        assertThat(evenOdds.targetItemRating(1650)).isCloseTo(1650, within(1e-9));
+    }
+
+    @Test
+    void ratingIsLoadedOnceAndThenServedFromTheCache() {
+        when(cacheManager.getCache(CacheConfig.SKILL_RATINGS)).thenReturn(new ConcurrentMapCache("skill-ratings"));
+        when(skillRatingRepository.findRating(USER_ID, TOPIC_ID)).thenReturn(Optional.of(rating(1620, 30)));
+
+        assertThat(service.getRating(USER_ID, TOPIC_ID)).isEqualTo(1620);
+        assertThat(service.getRating(USER_ID, TOPIC_ID)).isEqualTo(1620);
+
+        verify(skillRatingRepository, times(1)).findRating(USER_ID, TOPIC_ID);
+    }
+
+    @Test
+    void unratedUserStartsAtTheInitialRatingWhichIsCachedToo() {
+        when(cacheManager.getCache(CacheConfig.SKILL_RATINGS)).thenReturn(new ConcurrentMapCache("skill-ratings"));
+        when(skillRatingRepository.findRating(USER_ID, TOPIC_ID)).thenReturn(Optional.empty());
+
+        assertThat(service.getRating(USER_ID, TOPIC_ID)).isEqualTo(new AdaptiveDifficultyConfig().getInitialRating());
+        service.getRating(USER_ID, TOPIC_ID);
+
+        verify(skillRatingRepository, times(1)).findRating(USER_ID, TOPIC_ID);
+    }
+
+    @Test
+    void switchesFromProvisionalToRegularKAfterProvisionalAnswers() {
+        when(skillRatingRepository.findRating(USER_ID, TOPIC_ID)).thenReturn(Optional.of(rating(1500, 19)));
+        when(questionRepository.findItemRatings(anyCollection()))
+                .thenReturn(List.of(item("q1", "q1", 1500), item("q2", "q2", 1500)));
+
+        service.applyAnswers(List.of(answer("q1", Difficulty.MEDIUM, true, false),
+                answer("q2", Difficulty.MEDIUM, true, false)));
+
+        // 20th answer: 1500 + 40 * 0.5 = 1520; 21st: 1520 + 16 * (1 - E(1520 vs 1500))
+        ArgumentCaptor<Double> newRating = ArgumentCaptor.forClass(Double.class);
+        verify(skillRatingRepository).upsert(eq(USER_ID), eq(TOPIC_ID), newRating.capture(), eq(21), any());
+        assertThat(newRating.getValue()).isCloseTo(1527.54, within(0.01));
+    }
+
+    @Test
+    void accumulatesItemDeltasOnTheBankOriginal() {
+        when(skillRatingRepository.findRating(USER_ID, TOPIC_ID)).thenReturn(Optional.empty());
+        // Two session copies of one bank question; the third question is no longer stored
+        when(questionRepository.findItemRatings(anyCollection()))
+                .thenReturn(List.of(item("copy-1", "original", 1500), item("copy-2", "original", 1500)));
+
+        service.applyAnswers(List.of(answer("copy-1", Difficulty.MEDIUM, true, false),
+                answer("copy-2", Difficulty.MEDIUM, false, false),
+                answer("gone", Difficulty.HARD, true, false)));
+
+        // Item: -8 * 0.5 for the correct answer, +8 * E(1520 vs 1500) for the wrong one
+        ArgumentCaptor<Double> itemDelta = ArgumentCaptor.forClass(Double.class);
+        verify(questionRepository).adjustItemRating(eq("original"), itemDelta.capture(), eq(2));
+        assertThat(itemDelta.getValue()).isCloseTo(0.23, within(0.001));
+        verify(questionRepository, never()).adjustItemRating(eq("gone"), anyDouble(), anyInt());
+
+        // The missing question is rated at HARD's nominal 1800
+        ArgumentCaptor<Double> newRating = ArgumentCaptor.forClass(Double.class);
+        verify(skillRatingRepository).upsert(eq(USER_ID), eq(TOPIC_ID), newRating.capture(), eq(3), any());
+        assertThat(newRating.getValue()).isCloseTo(1532.84, within(0.01));
+        verify(eventPublisher).publishEvent(new SkillRatingUpdatedEvent(USER_ID, Set.of(TOPIC_ID)));
+    }
+
+    @Test
+    void ignoresSkippedAnswers() {
+        when(skillRatingRepository.findRating(USER_ID, TOPIC_ID)).thenReturn(Optional.empty());
+        when(questionRepository.findItemRatings(anyCollection())).thenReturn(List.of(item("q1", "q1", 1500)));
+
+        service.applyAnswers(List.of(answer("q1", Difficulty.MEDIUM, true, false),
+                answer("q2", Difficulty.MEDIUM, false, true)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> requested = ArgumentCaptor.forClass(Collection.class);
+        verify(questionRepository).findItemRatings(requested.capture());
+        assertThat(requested.getValue()).containsExactly("q1");
+        verify(skillRatingRepository).upsert(eq(USER_ID), eq(TOPIC_ID), eq(1520.0), eq(1), any());
+        verify(questionRepository, never()).adjustItemRating(eq("q2"), anyDouble(), anyInt());
+    }
+
+    @Test
+    void doesNothingWhenEveryAnswerWasSkipped() {
+        service.applyAnswers(List.of(answer("q1", Difficulty.MEDIUM, false, true)));
+
+        verifyNoInteractions(skillRatingRepository, questionRepository, eventPublisher);
+    }
+
+    private static AnswerSubmittedEvent answer(String questionId, Difficulty difficulty, boolean correct,
+                                               boolean skipped) {
+        return new AnswerSubmittedEvent(USER_ID, TOPIC_ID, difficulty, correct, "session-1", questionId, skipped);
+    }
+
+    private static SkillRatingRow rating(double rating, int answersCount) {
+        return new SkillRatingRow() {
+            @Override
+            public double getRating() {
+                return rating;
+            }
+
+            @Override
+            public int getAnswersCount() {
+                return answersCount;
+            }
+        };
+    }
+
+    private static ItemRatingRow item(String questionId, String itemId, double itemRating) {
+        return new ItemRatingRow() {
+            @Override
+            public String getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public String getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public double getItemRating() {
+                return itemRating;
+            }
+        };
+    }
+}
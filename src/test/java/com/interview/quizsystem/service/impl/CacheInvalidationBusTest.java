@@ -0,0 +1,217 @@
+package com.interview.quizsystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.AdaptiveDifficultyConfig;
+import com.interview.quizsystem.config.CacheBusConfig;
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.config.EntityCacheConfig;
+import com.interview.quizsystem.config.TopicCacheConfig;
+import com.interview.quizsystem.event.RepositorySyncedEvent;
+import com.interview.quizsystem.event.SkillRatingUpdatedEvent;
+import com.interview.quizsystem.repository.QuestionRepository;
+import com.interview.quizsystem.repository.SkillRatingRepository;
+import com.interview.quizsystem.service.GitHubParserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Two nodes on one database, each with its own caches and clone. Not transactional: NOTIFY is delivered on commit,
+// and pg_stat_activity would stay frozen for the length of a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheInvalidationBusTest extends PostgresIntegrationTest {
+
+    private static final String HEAD = "8f2c1e0";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private String channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = "cache_bus_test_" + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(node -> node.bus.stop());
+    }
+
+    @Test
+    void contentChangeEvictsOnlyTheChangedTopicsOnOtherNodes() {
+        Node sender = start(HEAD);
+        Node receiver = start(HEAD);
+        Cache content = receiver.cache(CacheConfig.TOPIC_CONTENT);
+        content.put("java", Map.of("java-streams.md", "collectors"));
+        content.put("spring", Map.of("spring-beans.md", "scopes"));
+        receiver.cache(CacheConfig.TOPICS).put("all", List.of("java", "spring"));
+
+        sender.bus.onRepositorySynced(new RepositorySyncedEvent(HEAD, false, Set.of("java")));
+
+        await(() -> content.get("java") == null);
+        assertThat(content.get("spring")).isNotNull();
+        assertThat(receiver.cache(CacheConfig.TOPICS).get("all")).isNotNull();
+    }
+
+    @Test
+    void topicSetChangeEvictsTheTopicList() {
+        Node sender = start(HEAD);
+        Node receiver = start(HEAD);
+        receiver.cache(CacheConfig.TOPICS).put("all", List.of("java"));
+
+        sender.bus.onRepositorySynced(RepositorySyncedEvent.everything(HEAD));
+
+        await(() -> receiver.cache(CacheConfig.TOPICS).get("all") == null);
+    }
+
+    @Test
+    void nodeBehindTheAnnouncedHeadPullsInsteadOfEvicting() {
+        Node sender = start(HEAD);
+        Node receiver = start("1a2b3c4");
+
+        sender.bus.onRepositorySynced(new RepositorySyncedEvent(HEAD, false, Set.of("java")));
+
+        verify(receiver.parser, timeout(5000)).syncRepository();
+    }
+
+    @Test
+    void catchUpPullIsNotBroadcastAgain() throws InterruptedException {
+        Node sender = start(HEAD);
+        Node receiver = start("1a2b3c4");
+        Node witness = start(HEAD);
+        // A real pull publishes the local changes from the catch-up thread
+        doAnswer(invocation -> {
+            receiver.bus.onRepositorySynced(new RepositorySyncedEvent(HEAD, false, Set.of("spring")));
+            return null;
+        }).when(receiver.parser).syncRepository();
+        Cache witnessContent = witness.cache(CacheConfig.TOPIC_CONTENT);
+        witnessContent.put("spring", Map.of("spring-beans.md", "scopes"));
+
+        sender.bus.onRepositorySynced(new RepositorySyncedEvent(HEAD, false, Set.of("java")));
+
+        verify(receiver.parser, timeout(5000)).syncRepository();
+        Thread.sleep(300);
+        assertThat(witnessContent.get("spring")).isNotNull();
+    }
+
+    @Test
+    void nodeIgnoresItsOwnMessages() {
+        Node sender = start(HEAD);
+        Node receiver = start(HEAD);
+        Cache senderContent = sender.cache(CacheConfig.TOPIC_CONTENT);
+        senderContent.put("java", Map.of("java-streams.md", "collectors"));
+        receiver.cache(CacheConfig.TOPIC_CONTENT).put("java", Map.of("java-streams.md", "collectors"));
+
+        sender.bus.onRepositorySynced(new RepositorySyncedEvent(HEAD, false, Set.of("java")));
+
+        await(() -> receiver.cache(CacheConfig.TOPIC_CONTENT).get("java") == null);
+        assertThat(senderContent.get("java")).isNotNull();
+    }
+
+    @Test
+    void skillRatingUpdateEvictsTheUsersRatingsOnOtherNodes() {
+        Node sender = start(HEAD);
+        Node receiver = start(HEAD);
+        when(receiver.skillRatings.findRating(anyLong(), anyLong())).thenReturn(Optional.empty());
+        receiver.adaptiveDifficulty.getRating(7L, 1L);
+        receiver.adaptiveDifficulty.getRating(7L, 2L);
+        receiver.adaptiveDifficulty.getRating(8L, 1L);
+
+        sender.bus.onSkillRatingUpdated(new SkillRatingUpdatedEvent(7L, Set.of(1L)));
+
+        CaffeineCache ratings = (CaffeineCache) receiver.cache(CacheConfig.SKILL_RATINGS);
+        await(() -> ratings.getNativeCache().estimatedSize() == 2);
+        receiver.adaptiveDifficulty.getRating(7L, 1L);
+        receiver.adaptiveDifficulty.getRating(7L, 2L);
+        receiver.adaptiveDifficulty.getRating(8L, 1L);
+        verify(receiver.skillRatings, times(2)).findRating(7L, 1L);
+        verify(receiver.skillRatings).findRating(7L, 2L);
+        verify(receiver.skillRatings).findRating(8L, 1L);
+    }
+
+    private Node start(String head) {
+        CacheBusConfig config = new CacheBusConfig();
+        config.setEnabled(true);
+        config.setChannel(channel);
+        config.setPollTimeoutMs(50);
+        CacheManager cacheManager = new CacheConfig().cacheManager(new TopicCacheConfig(), new EntityCacheConfig(),
+                new AdaptiveDifficultyConfig());
+        GitHubParserService parser = mock(GitHubParserService.class);
+        when(parser.getRepositoryHead()).thenReturn(head);
+        SkillRatingRepository skillRatings = mock(SkillRatingRepository.class);
+        AdaptiveDifficultyServiceImpl adaptiveDifficulty = new AdaptiveDifficultyServiceImpl(
+                new AdaptiveDifficultyConfig(), skillRatings, mock(QuestionRepository.class), cacheManager,
+                mock(ApplicationEventPublisher.class));
+        CacheInvalidationBus bus = new CacheInvalidationBus(config, dataSourceProperties, jdbcTemplate,
+                new ObjectMapper(), new TopicCacheInvalidator(cacheManager), parser, adaptiveDifficulty,
+                transactionManager);
+
+        int listening = listeners();
+        bus.start();
+        // Caches are cleared on connect, so only fill them once the node is listening
+        await(() -> listeners() > listening);
+        Node node = new Node(bus, cacheManager, parser, adaptiveDifficulty, skillRatings);
+        nodes.add(node);
+        return node;
+    }
+
+    private int listeners() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE query = ?", Integer.class, "LISTEN " + channel);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 seconds").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private record Node(CacheInvalidationBus bus, CacheManager cacheManager, GitHubParserService parser,
+                        AdaptiveDifficultyServiceImpl adaptiveDifficulty, SkillRatingRepository skillRatings) {
+
+        Cache cache(String name) {
+            return cacheManager.getCache(name);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.JobConfig;
+import com.interview.quizsystem.dto.JobRunDTO;
+import com.interview.quizsystem.model.ClusterJob;
+import com.interview.quizsystem.model.JobRunStatus;
+import com.interview.quizsystem.repository.JobRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every service instance stands for a node. Runs need real commits and their own connections, so no test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClusterJobServiceImplTest extends PostgresIntegrationTest {
+
+    private static final ClusterJob JOB = ClusterJob.RESET_EXPIRED_PROGRESS;
+    private static final Duration DAILY = Duration.ofDays(1);
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    @Autowired
+    private JobRunRepository jobRunRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    @AfterEach
+    void deleteRuns() {
+        jdbcTemplate.update("DELETE FROM job_runs WHERE job_name = ?", JOB.getJobName());
+    }
+
+    @Test
+    void slotRunsOnceAcrossNodes() {
+        ClusterJobServiceImpl first = node();
+        ClusterJobServiceImpl second = node();
+
+        assertThat(first.runExclusive(JOB, DAILY, lease -> executions.incrementAndGet())).isTrue();
+        assertThat(second.runExclusive(JOB, DAILY, lease -> executions.incrementAndGet())).isFalse();
+        assertThat(first.runExclusive(JOB, DAILY, lease -> executions.incrementAndGet())).isFalse();
+
+        assertThat(executions).hasValue(1);
+        List<JobRunDTO> runs = first.getRecentRuns(JOB.getJobName());
+        assertThat(runs).singleElement().satisfies(run -> {
+            assertThat(run.getStatus()).isEqualTo(JobRunStatus.SUCCEEDED);
+            assertThat(run.getRowsAffected()).isEqualTo(1);
+            assertThat(run.getSlot()).isEqualTo(run.getSlot().toLocalDate().atStartOfDay());
+        });
+    }
+
+    @Test
+    void nodeSkipsWhileAnotherHoldsTheLock() throws Exception {
+        ClusterJobServiceImpl first = node();
+        ClusterJobServiceImpl second = node();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() ->
+                first.runExclusive(JOB, DAILY, lease -> {
+                    started.countDown();
+                    assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+                    return executions.incrementAndGet();
+                }));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // A different period means a different slot, so only the lock can stop this run
+        assertThat(second.runExclusive(JOB, Duration.ofSeconds(1), lease -> executions.incrementAndGet())).isFalse();
+        release.countDown();
+
+        assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executions).hasValue(1);
+        assertThat(second.getLatestRuns()).filteredOn(run -> run.getJobName().equals(JOB.getJobName()))
+                .singleElement()
+                .extracting(JobRunDTO::getStatus)
+                .isEqualTo(JobRunStatus.SUCCEEDED);
+    }
+
+    @Test
+    void failedRunLeavesItsSlotToBeRunAgain() {
+        ClusterJobServiceImpl node = node();
+
+        assertThat(node.runExclusive(JOB, DAILY, lease -> {
+            throw new IllegalStateException("database restarted");
+        })).isTrue();
+        assertThat(node.runExclusive(JOB, DAILY, lease -> executions.incrementAndGet())).isTrue();
+
+        assertThat(executions).hasValue(1);
+        assertThat(node.getRecentRuns(JOB.getJobName()))
+                .extracting(JobRunDTO::getStatus)
+                .containsExactlyInAnyOrder(JobRunStatus.FAILED, JobRunStatus.SUCCEEDED);
+    }
+
+    @Test
+    void runAbandonedByDeadNodeIsFailedAndItsSlotRunAgain() {
+        ClusterJobServiceImpl node = node();
+        node.runExclusive(JOB, DAILY, lease -> executions.incrementAndGet());
+        // As if the node had died before recording the outcome: its session, and so its lock, is gone
+        jdbcTemplate.update("UPDATE job_runs SET status = 'RUNNING', finished_at = NULL WHERE job_name = ?",
+                JOB.getJobName());
+
+        assertThat(node().runExclusive(JOB, DAILY, lease -> executions.incrementAndGet())).isTrue();
+
+        assertThat(executions).hasValue(2);
+        assertThat(node.getRecentRuns(JOB.getJobName()))
+                .extracting(JobRunDTO::getStatus)
+                .containsExactlyInAnyOrder(JobRunStatus.FAILED, JobRunStatus.SUCCEEDED);
+    }
+
+    @Test
+    void nextSlotRunsAgain() throws InterruptedException {
+        ClusterJobServiceImpl node = node();
+        Duration period = Duration.ofSeconds(1);
+
+        assertThat(node.runExclusive(JOB, period, lease -> executions.incrementAndGet())).isTrue();
+        Thread.sleep(1_100);
+        assertThat(node.runExclusive(JOB, period, lease -> executions.incrementAndGet())).isTrue();
+
+        assertThat(executions).hasValue(2);
+        assertThat(node.getRecentRuns(JOB.getJobName())).extracting(JobRunDTO::getSlot).doesNotHaveDuplicates();
+    }
+
+    private ClusterJobServiceImpl node() {
+        return new ClusterJobServiceImpl(new JobConfig(), dataSourceProperties, jobRunRepository);
+    }
+}
@@ -0,0 +1,139 @@
+package com.interview.quizsystem.service.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.interview.quizsystem.config.AdaptiveDifficultyConfig;
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.config.EntityCacheConfig;
+import com.interview.quizsystem.config.TopicCacheConfig;
+import com.interview.quizsystem.event.RepositorySyncedEvent;
+import com.interview.quizsystem.service.TopicService;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class GitHubParserServiceImplTest {
+
+    @TempDir
+    Path repository;
+
+    private final TopicService topicService = mock(TopicService.class);
+    private CacheManager cacheManager;
+    private GitHubParserServiceImpl parserService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager(new TopicCacheConfig(), new EntityCacheConfig(),
+                new AdaptiveDifficultyConfig());
+        parserService = new GitHubParserServiceImpl(mock(Git.class), topicService,
+                mock(ApplicationEventPublisher.class), cacheManager);
+        ReflectionTestUtils.setField(parserService, "localPath", repository.toString());
+        ReflectionTestUtils.setField(parserService, "filePatterns", "**/*.md");
+        ReflectionTestUtils.setField(parserService, "excludePatterns", "");
+    }
+
+    @Test
+    void cachedTopicsAreStillRegistered() throws IOException {
+        write("notes/algorithms-sorting.md", "quicksort");
+
+        assertThat(parserService.getAvailableTopics()).containsExactly("algorithms");
+        assertThat(parserService.getAvailableTopics()).containsExactly("algorithms");
+
+        verify(topicService, times(2)).getOrCreateTopic("algorithms");
+        assertThat(stats(CacheConfig.TOPICS).hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void emptyScanIsNotCached() throws IOException {
+        assertThat(parserService.getAvailableTopics()).isEmpty();
+
+        write("java_streams.md", "collectors");
+
+        assertThat(parserService.getAvailableTopics()).containsExactly("java");
+    }
+
+    @Test
+    void contentIsReadOnceAndTopicRegisteredEveryTime() throws IOException {
+        write("java-streams.md", "collectors");
+
+        parserService.getContentByTopic("java");
+        write("java-records.md", "compact constructors");
+
+        assertThat(parserService.getContentByTopic("java")).containsOnlyKeys("java-streams.md");
+        verify(topicService, times(2)).getOrCreateTopic("java");
+        assertThat(stats(CacheConfig.TOPIC_CONTENT).hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void syncInvalidatesScans() throws IOException {
+        write("java-streams.md", "collectors");
+        parserService.getAvailableTopics();
+        parserService.getContentByTopic("java");
+
+        write("spring-beans.md", "scopes");
+        write("java-records.md", "compact constructors");
+        new TopicCacheInvalidator(cacheManager).onRepositorySynced(RepositorySyncedEvent.everything("head"));
+
+        assertThat(parserService.getAvailableTopics()).containsExactlyInAnyOrder("java", "spring");
+        assertThat(parserService.getContentByTopic("java")).containsOnlyKeys("java-streams.md", "java-records.md");
+    }
+
+    @Test
+    void syncReportsOnlyTopicsOfContentFiles(@TempDir Path origin) throws Exception {
+        try (Git upstream = Git.init().setDirectory(origin.toFile()).call()) {
+            commit(upstream, origin, "java-streams.md", "collectors");
+            try (Git clone = Git.cloneRepository().setURI(origin.toUri().toString())
+                    .setDirectory(repository.resolve("clone").toFile()).call()) {
+                ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+                GitHubParserServiceImpl service = new GitHubParserServiceImpl(clone, topicService, publisher,
+                        cacheManager);
+                ReflectionTestUtils.setField(service, "localPath", repository.resolve("clone").toString());
+                ReflectionTestUtils.setField(service, "filePatterns", "**/*.md");
+                ReflectionTestUtils.setField(service, "excludePatterns", "**/drafts/**");
+
+                commit(upstream, origin, "java-streams.md", "collectors and gatherers");
+                commit(upstream, origin, "build-script.gradle", "plugins {}");
+                commit(upstream, origin, "drafts/kafka-basics.md", "partitions");
+                service.syncRepository();
+
+                ArgumentCaptor<RepositorySyncedEvent> event = ArgumentCaptor.forClass(RepositorySyncedEvent.class);
+                verify(publisher).publishEvent(event.capture());
+                assertThat(event.getValue().changedTopics()).containsExactly("java");
+                assertThat(event.getValue().topicSetChanged()).isFalse();
+                assertThat(event.getValue().head()).isEqualTo(service.getRepositoryHead());
+            }
+        }
+    }
+
+    private static void commit(Git git, Path workTree, String relativePath, String content) throws Exception {
+        Path file = workTree.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        git.add().addFilepattern(relativePath).call();
+        git.commit().setMessage("Update " + relativePath).setSign(false).call();
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path file = repository.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private CacheStats stats(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache().stats();
+    }
+}
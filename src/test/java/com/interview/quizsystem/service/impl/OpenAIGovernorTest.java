@@ -0,0 +1,180 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.OpenAIGovernorConfig;
+import com.interview.quizsystem.exception.RateLimitExceededException;
+import com.interview.quizsystem.model.AIRequestPriority;
+import io.github.bucket4j.TimeMeter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The governor runs on a manual clock. With no queue wait allowed, acquire grants or fails without blocking
+class OpenAIGovernorTest {
+
+    private final ManualClock clock = new ManualClock();
+    private OpenAIGovernorConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new OpenAIGovernorConfig();
+        config.setRequestsPerMinute(2);
+        config.setTokensPerMinute(100);
+        config.setMaxQueueWaitMs(0);
+        config.setDefaultBackoffMs(2_000);
+    }
+
+    @Test
+    void requestsRefillWithTheClock() {
+        OpenAIGovernor governor = new OpenAIGovernor(config, clock);
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 1);
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 1);
+
+        assertRejected(governor, 1);
+
+        clock.advance(Duration.ofSeconds(30));
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 1);
+    }
+
+    @Test
+    void rateLimitResponsePausesGrantsForRetryAfter() {
+        OpenAIGovernor governor = new OpenAIGovernor(config, clock);
+
+        governor.backOff(Duration.ofSeconds(5));
+        assertRejected(governor, 1);
+        clock.advance(Duration.ofMillis(4_999));
+        assertRejected(governor, 1);
+
+        clock.advance(Duration.ofMillis(1));
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 1);
+    }
+
+    @Test
+    void rateLimitResponseWithoutRetryAfterPausesForDefaultBackoff() {
+        OpenAIGovernor governor = new OpenAIGovernor(config, clock);
+
+        governor.backOff(null);
+        clock.advance(Duration.ofMillis(1_999));
+        assertRejected(governor, 1);
+
+        clock.advance(Duration.ofMillis(1));
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 1);
+    }
+
+    @Test
+    void shorterBackOffDoesNotCutALongerPauseShort() {
+        OpenAIGovernor governor = new OpenAIGovernor(config, clock);
+
+        governor.backOff(Duration.ofSeconds(10));
+        governor.backOff(Duration.ofSeconds(1));
+        clock.advance(Duration.ofSeconds(5));
+
+        assertRejected(governor, 1);
+    }
+
+    @Test
+    void completeReplacesTheEstimateWithBilledTokens() {
+        OpenAIGovernor governor = new OpenAIGovernor(config, clock);
+
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 60).complete(20);
+
+        assertRejected(governor, 81);
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 80);
+    }
+
+    @Test
+    void completeChargesAnUnderestimate() {
+        OpenAIGovernor governor = new OpenAIGovernor(config, clock);
+
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 50).complete(90);
+
+        assertRejected(governor, 11);
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 10);
+    }
+
+    @Test
+    void cancelGivesTokensBackAndSettlesOnlyOnce() {
+        OpenAIGovernor governor = new OpenAIGovernor(config, clock);
+        OpenAIGovernor.Reservation reservation = governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 100);
+
+        reservation.cancel();
+        reservation.complete(100);
+
+        governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 100);
+    }
+
+    @Test
+    void waitersAreServedByPriorityThenArrival() throws Exception {
+        config.setRequestsPerMinute(10);
+        config.setMaxQueueWaitMs(30_000);
+        OpenAIGovernor governor = new OpenAIGovernor(config, clock);
+        OpenAIGovernor.Reservation all = governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, 100);
+
+        Waiter background = Waiter.start(governor, AIRequestPriority.BACKGROUND_GENERATION);
+        Waiter firstGeneration = Waiter.start(governor, AIRequestPriority.INTERACTIVE_GENERATION);
+        Waiter secondGeneration = Waiter.start(governor, AIRequestPriority.INTERACTIVE_GENERATION);
+        Waiter evaluation = Waiter.start(governor, AIRequestPriority.INTERACTIVE_EVALUATION);
+
+        // Each waiter needs the whole token budget, so freeing it grants exactly one of them
+        all.cancel();
+        evaluation.granted().cancel();
+        firstGeneration.granted().cancel();
+        assertThat(background.reservation).isNotDone();
+        secondGeneration.granted().cancel();
+        background.granted();
+    }
+
+    private static void assertRejected(OpenAIGovernor governor, long tokens) {
+        assertThatThrownBy(() -> governor.acquire(AIRequestPriority.INTERACTIVE_EVALUATION, tokens))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    private record Waiter(Thread thread, CompletableFuture<OpenAIGovernor.Reservation> reservation) {
+
+        // Returns once the waiter is queued, i.e. parked on the governor's condition with a timeout
+        static Waiter start(OpenAIGovernor governor, AIRequestPriority priority) throws InterruptedException {
+            CompletableFuture<OpenAIGovernor.Reservation> reservation = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    reservation.complete(governor.acquire(priority, 100));
+                } catch (RuntimeException e) {
+                    reservation.completeExceptionally(e);
+                }
+            });
+            thread.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (thread.getState() != Thread.State.TIMED_WAITING) {
+                assertThat(System.nanoTime()).as("waiter never queued").isLessThan(deadline);
+                Thread.sleep(5);
+            }
+            return new Waiter(thread, reservation);
+        }
+
+        OpenAIGovernor.Reservation granted() throws Exception {
+            return reservation.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static final class ManualClock implements TimeMeter {
+        private volatile long nanos = TimeUnit.HOURS.toNanos(1);
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+
+        @Override
+        public long currentTimeNanos() {
+            return nanos;
+        }
+
+        @Override
+        public boolean isWallClockBased() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.OutboxConfig;
+import com.interview.quizsystem.model.entity.OutboxEvent;
+import com.interview.quizsystem.repository.OutboxEventRepository;
+import com.interview.quizsystem.service.ClusterJobService;
+import com.interview.quizsystem.service.OutboxHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// The processor opens its own transactions and takes transaction-scoped advisory locks, so nothing is rolled back
+// for it; every test cleans up its events
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxProcessorTest extends PostgresIntegrationTest {
+
+    private static final String EVENT_TYPE = "outbox_processor_test";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    // Ids of the events in each handler call, including calls whose transaction was rolled back
+    private final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxProcessor processor;
+
+    @BeforeEach
+    @AfterEach
+    void deleteEvents() {
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE event_type = ?", EVENT_TYPE);
+    }
+
+    @BeforeEach
+    void setUp() {
+        OutboxConfig config = new OutboxConfig();
+        config.setMaxAttempts(3);
+        OutboxHandler handler = new OutboxHandler() {
+            @Override
+            public String eventType() {
+                return EVENT_TYPE;
+            }
+
+            @Override
+            public void handle(List<OutboxEvent> events) {
+                calls.add(events.stream().map(OutboxEvent::getId).toList());
+                if (events.stream().anyMatch(event -> event.getPayload().contains("poison"))) {
+                    throw new IllegalStateException("poison event");
+                }
+            }
+        };
+        processor = new OutboxProcessor(config, outboxEventRepository, new TransactionTemplate(transactionManager),
+                mock(ClusterJobService.class), meterRegistry, List.of(handler));
+    }
+
+    @Test
+    void pendingEventsAreAppliedInOneBatchAndMarkedProcessed() {
+        LocalDateTime now = LocalDateTime.now();
+        long first = event(1, "user-1", now, "ok");
+        long second = event(2, "user-1", now.plusSeconds(1), "ok");
+        long third = event(3, "user-1", now.plusSeconds(2), "ok");
+
+        processor.poll();
+
+        assertThat(calls).containsExactly(List.of(first, second, third));
+        assertThat(row(first)).containsEntry("status", "PROCESSED").containsEntry("attempts", 0);
+        assertThat(row(third).get("processed_at")).isNotNull();
+
+        processor.poll();
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void failedBatchIsRetriedEventByEventAndLaterEventsWait() {
+        LocalDateTime now = LocalDateTime.now();
+        long applied = event(1, "user-1", now, "ok");
+        long poison = event(2, "user-1", now.plusSeconds(1), "poison");
+        long waiting = event(3, "user-1", now.plusSeconds(2), "ok");
+
+        processor.poll();
+
+        assertThat(calls).containsExactly(List.of(applied, poison, waiting), List.of(applied), List.of(poison));
+        assertThat(row(applied)).containsEntry("status", "PROCESSED");
+        assertThat(row(poison)).containsEntry("status", "PENDING").containsEntry("attempts", 1)
+                .containsEntry("last_error", "poison event");
+        assertThat(row(waiting)).containsEntry("status", "PENDING").containsEntry("attempts", 0);
+    }
+
+    @Test
+    void everyHandlerCallIsTimedButOnlyAppliedEventsRecordLag() {
+        LocalDateTime now = LocalDateTime.now();
+        event(1, "user-1", now, "ok");
+        event(2, "user-1", now.plusSeconds(1), "poison");
+
+        processor.poll();
+
+        // The failed batch, the applied event and the failed retry of the poison event
+        assertThat(meterRegistry.get("outbox.handler").tag("event.type", EVENT_TYPE).timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("outbox.event.lag").tag("event.type", EVENT_TYPE).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void eventIsSetAsideAfterMaxAttemptsAndUnblocksItsKey() {
+        LocalDateTime now = LocalDateTime.now();
+        long poison = event(1, "user-1", now, "poison");
+        long waiting = event(2, "user-1", now.plusSeconds(1), "ok");
+
+        processor.poll();
+        processor.poll();
+        assertThat(row(poison)).containsEntry("status", "PENDING").containsEntry("attempts", 2);
+        processor.poll();
+        assertThat(row(poison)).containsEntry("status", "FAILED").containsEntry("attempts", 3);
+        assertThat(row(waiting)).containsEntry("status", "PENDING");
+
+        processor.poll();
+
+        assertThat(row(waiting)).containsEntry("status", "PROCESSED");
+        assertThat(calls.get(calls.size() - 1)).containsExactly(waiting);
+    }
+
+    @Test
+    void eventsOfAKeyAreAppliedInCreationOrderNotIdOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        // Pooled ids from two nodes: the later event got the lower id
+        long fromSecondNode = event(101, "user-1", now, "ok");
+        long fromFirstNode = event(51, "user-1", now.plusSeconds(1), "ok");
+        long otherUser = event(52, "user-2", now.plusSeconds(2), "ok");
+
+        processor.poll();
+
+        assertThat(calls).containsExactly(List.of(fromSecondNode, fromFirstNode), List.of(otherUser));
+    }
+
+    @Test
+    void keyLockedByAnotherNodeIsLeftForLater() throws Exception {
+        long event = event(1, "user-1", LocalDateTime.now(), "ok");
+
+        try (Connection otherNode = dataSource.getConnection()) {
+            otherNode.setAutoCommit(false);
+            try (PreparedStatement lock = otherNode.prepareStatement(
+                    "SELECT pg_advisory_xact_lock(?, hashtext('user-1'))")) {
+                lock.setInt(1, OutboxProcessor.LOCK_NAMESPACE);
+                lock.executeQuery().close();
+            }
+
+            processor.poll();
+            assertThat(calls).isEmpty();
+            assertThat(row(event)).containsEntry("status", "PENDING").containsEntry("attempts", 0);
+            otherNode.commit();
+        }
+
+        processor.poll();
+        assertThat(row(event)).containsEntry("status", "PROCESSED");
+    }
+
+    // Explicit ids stand in for the pooled sequence; they sit far above anything the sequence hands out here
+    private long event(long offset, String key, LocalDateTime createdAt, String payload) {
+        long id = 1_000_000_000L + offset;
+        jdbcTemplate.update("""
+                INSERT INTO outbox_events (id, event_type, aggregate_key, payload, created_at)
+                VALUES (?, ?, ?, jsonb_build_object('value', ?::text), ?)
+                """, id, EVENT_TYPE, key, payload, Timestamp.valueOf(createdAt));
+        return id;
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbcTemplate.queryForMap("SELECT status, attempts, last_error, processed_at FROM outbox_events WHERE id = ?",
+                id);
+    }
+}
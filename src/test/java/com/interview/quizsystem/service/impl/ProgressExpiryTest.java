@@ -0,0 +1,229 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.LearningCycleConfig;
+import com.interview.quizsystem.repository.DifficultyProgressRepository;
+import com.interview.quizsystem.repository.TopicProgressRepository;
+import com.interview.quizsystem.repository.UserProgressSummaryRepository;
+import com.interview.quizsystem.service.ClusterJobService;
+import com.interview.quizsystem.service.ProgressQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Default learning cycle of 10 days; the reset batch size is 2 so every test crosses a chunk boundary. The cluster
+// lock and slot bookkeeping are covered by ClusterJobServiceImplTest, here the job always runs
+class ProgressExpiryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private TopicProgressRepository topicProgressRepository;
+    @Autowired
+    private DifficultyProgressRepository difficultyProgressRepository;
+    @Autowired
+    private UserProgressSummaryRepository userProgressSummaryRepository;
+
+    private ProgressServiceImpl progressService;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ClusterJobService clusterJobService = mock(ClusterJobService.class);
+        when(clusterJobService.runExclusive(any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, ClusterJobService.Job.class).run(() -> true);
+            return true;
+        });
+        LearningCycleConfig learningCycleConfig = new LearningCycleConfig();
+        learningCycleConfig.setResetBatchSize(2);
+        progressService = new ProgressServiceImpl(topicProgressRepository, difficultyProgressRepository,
+                learningCycleConfig, mock(ProgressCounterWriter.class), mock(ProgressQueryService.class),
+                mock(ApplicationEventPublisher.class), userProgressSummaryRepository,
+                new TransactionTemplate(transactionManager), clusterJobService);
+        String name = "expiry-" + UUID.randomUUID().toString().substring(0, 8);
+        userId = jdbcTemplate.queryForObject("INSERT INTO users (username, email) VALUES (?, ?) RETURNING id",
+                Long.class, name, name + "@example.com");
+    }
+
+    @Test
+    void expiredCycleIsArchivedAndRestartedInPlace() {
+        LocalDateTime started = LocalDateTime.now().minusDays(30).withNano(0);
+        LocalDateTime lastAttempt = LocalDateTime.now().minusDays(11).withNano(0);
+        long expired = progress(started, lastAttempt, 10, 7);
+        jdbcTemplate.update("""
+                INSERT INTO difficulty_progress (topic_progress_id, difficulty, score, questions_attempted,
+                                                 questions_correct, last_attempt_date)
+                VALUES (?, 'EASY', 80.0, 5, 4, ?), (?, 'MEDIUM', 60.0, 5, 3, ?)
+                """, expired, Timestamp.valueOf(lastAttempt), expired, Timestamp.valueOf(lastAttempt));
+        long topicId = topicOf(expired);
+        jdbcTemplate.update("""
+                INSERT INTO user_progress_summary (user_id, topic_id, start_date, last_attempt_date, is_active,
+                                                   questions_attempted, questions_correct, overall_score,
+                                                   easy_attempted, easy_correct, medium_attempted, medium_correct,
+                                                   current_difficulty, updated_at)
+                VALUES (?, ?, ?, ?, true, 10, 7, 70.0, 5, 4, 5, 3, 'MEDIUM', now())
+                """, userId, topicId, Timestamp.valueOf(started), Timestamp.valueOf(lastAttempt));
+        long current = progress(started, LocalDateTime.now().minusDays(2), 3, 3);
+
+        progressService.resetExpiredProgress();
+
+        Map<String, Object> archived = jdbcTemplate.queryForMap(
+                "SELECT * FROM topic_progress_history WHERE topic_progress_id = ?", expired);
+        assertThat(archived.get("start_date")).isEqualTo(Timestamp.valueOf(started));
+        assertThat(archived.get("last_attempt_date")).isEqualTo(Timestamp.valueOf(lastAttempt));
+        assertThat(archived.get("questions_attempted")).isEqualTo(10);
+        assertThat(archived.get("questions_correct")).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM difficulty_progress_history
+                WHERE topic_progress_id = ? AND cycle_start_date = ?
+                """, Integer.class, expired, Timestamp.valueOf(started))).isEqualTo(2);
+
+        // Same row restarted, so topic_progress_user_topic_unique still holds
+        Map<String, Object> restarted = row(expired);
+        assertThat(restarted.get("is_active")).isEqualTo(true);
+        assertThat(restarted.get("last_attempt_date")).isNull();
+        assertThat(restarted.get("questions_attempted")).isEqualTo(0);
+        assertThat(((Timestamp) restarted.get("start_date")).toLocalDateTime()).isAfter(lastAttempt);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM difficulty_progress WHERE topic_progress_id = ?", Integer.class, expired))
+                .isZero();
+
+        Map<String, Object> summary = jdbcTemplate.queryForMap(
+                "SELECT * FROM user_progress_summary WHERE user_id = ? AND topic_id = ?", userId, topicId);
+        assertThat(summary.get("questions_attempted")).isEqualTo(0);
+        assertThat((double) summary.get("overall_score")).isCloseTo(0.0, within(1e-9));
+        assertThat(summary.get("current_difficulty")).isEqualTo("EASY");
+        assertThat(((Timestamp) summary.get("cycle_expires_at")).toLocalDateTime())
+                .isEqualTo(((Timestamp) summary.get("start_date")).toLocalDateTime().plusDays(10));
+
+        assertThat(row(current).get("questions_attempted")).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM topic_progress_history WHERE topic_progress_id = ?", Integer.class, current))
+                .isZero();
+    }
+
+    @Test
+    void cycleWithoutAttemptsExpiresFromItsStartDate() {
+        long abandoned = progress(LocalDateTime.now().minusDays(11), null, 0, 0);
+        long fresh = progress(LocalDateTime.now().minusDays(2), null, 0, 0);
+
+        progressService.resetExpiredProgress();
+
+        assertThat(((Timestamp) row(abandoned).get("start_date")).toLocalDateTime())
+                .isAfter(LocalDateTime.now().minusMinutes(1));
+        assertThat(((Timestamp) row(fresh).get("start_date")).toLocalDateTime())
+                .isBefore(LocalDateTime.now().minusDays(1));
+    }
+
+    @Test
+    void everyExpiredCycleIsResetAcrossChunks() {
+        LocalDateTime lastAttempt = LocalDateTime.now().minusDays(20);
+        for (int i = 0; i < 5; i++) {
+            progress(lastAttempt.minusDays(i), lastAttempt, 1, 1);
+        }
+
+        progressService.resetExpiredProgress();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM topic_progress WHERE user_id = ? AND last_attempt_date IS NOT NULL",
+                Integer.class, userId)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM topic_progress_history WHERE user_id = ?", Integer.class, userId))
+                .isEqualTo(5);
+    }
+
+    // Needs real commits: the job and the lock holder run on their own connections
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void rowLockedBySubmitIsResetOnceReleased() throws Exception {
+        LocalDateTime lastAttempt = LocalDateTime.now().minusDays(15);
+        long free = progress(lastAttempt, lastAttempt, 1, 1);
+        long locked = progress(lastAttempt, lastAttempt, 1, 0);
+        try (Connection submit = dataSource.getConnection()) {
+            submit.setAutoCommit(false);
+            try (PreparedStatement lock = submit.prepareStatement("SELECT id FROM topic_progress WHERE id = ? FOR UPDATE")) {
+                lock.setLong(1, locked);
+                lock.executeQuery().close();
+            }
+
+            CompletableFuture<Void> job = CompletableFuture.runAsync(progressService::resetExpiredProgress);
+            awaitLockWait();
+            assertThat(row(free).get("last_attempt_date")).isNull();
+            assertThat(job).isNotDone();
+
+            submit.commit();
+            job.get(10, TimeUnit.SECONDS);
+            assertThat(row(locked).get("last_attempt_date")).isNull();
+        } finally {
+            deleteUser();
+        }
+    }
+
+    private long progress(LocalDateTime started, LocalDateTime lastAttempt, int attempted, int correct) {
+        long topicId = jdbcTemplate.queryForObject("INSERT INTO topics (name) VALUES (?) RETURNING id", Long.class,
+                "expiry-topic-" + UUID.randomUUID());
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO topic_progress (user_id, topic_id, start_date, last_attempt_date, is_active,
+                                            questions_attempted, questions_correct)
+                VALUES (?, ?, ?, ?, true, ?, ?) RETURNING id
+                """, Long.class, userId, topicId, Timestamp.valueOf(started),
+                lastAttempt == null ? null : Timestamp.valueOf(lastAttempt), attempted, correct);
+    }
+
+    private long topicOf(long topicProgressId) {
+        return jdbcTemplate.queryForObject("SELECT topic_id FROM topic_progress WHERE id = ?", Long.class,
+                topicProgressId);
+    }
+
+    private Map<String, Object> row(long topicProgressId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM topic_progress WHERE id = ?", topicProgressId);
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class) == 0) {
+            assertThat(System.nanoTime()).as("expiry job never waited on the locked row").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private void deleteUser() {
+        jdbcTemplate.update("DELETE FROM difficulty_progress_history WHERE topic_progress_id IN "
+                + "(SELECT id FROM topic_progress WHERE user_id = ?)", userId);
+        jdbcTemplate.update("DELETE FROM topic_progress_history WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM user_progress_summary WHERE user_id = ?", userId);
+        List<Long> topicIds = jdbcTemplate.queryForList(
+                "SELECT topic_id FROM topic_progress WHERE user_id = ?", Long.class, userId);
+        jdbcTemplate.update("DELETE FROM topic_progress WHERE user_id = ?", userId);
+        topicIds.forEach(topicId -> jdbcTemplate.update("DELETE FROM topics WHERE id = ?", topicId));
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+}
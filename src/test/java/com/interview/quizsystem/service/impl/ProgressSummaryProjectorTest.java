@@ -0,0 +1,120 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.LearningCycleConfig;
+import com.interview.quizsystem.event.ProgressIncrementedEvent;
+import com.interview.quizsystem.event.ProgressUpdatedEvent;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.repository.DifficultyProgressRepository;
+import com.interview.quizsystem.repository.TopicProgressRepository;
+import com.interview.quizsystem.repository.UserProgressSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Default learning cycle: 10 days, 20 questions and 80% before moving up a difficulty
+class ProgressSummaryProjectorTest extends PostgresIntegrationTest {
+
+    private static final LocalDateTime FIRST_ANSWER = LocalDateTime.of(2024, 3, 1, 9, 30);
+    private static final LocalDateTime SECOND_ANSWER = LocalDateTime.of(2024, 3, 4, 18, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TopicProgressRepository topicProgressRepository;
+    @Autowired
+    private DifficultyProgressRepository difficultyProgressRepository;
+    @Autowired
+    private UserProgressSummaryRepository userProgressSummaryRepository;
+
+    private ProgressSummaryProjector projector;
+    private Long userId;
+    private Long topicId;
+
+    @BeforeEach
+    void setUp() {
+        projector = new ProgressSummaryProjector(userProgressSummaryRepository, topicProgressRepository,
+                new LearningCycleConfig());
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email) VALUES ('projector', 'projector@example.com') RETURNING id",
+                Long.class);
+        topicId = jdbcTemplate.queryForObject(
+                "INSERT INTO topics (name) VALUES ('Java Concurrency') RETURNING id", Long.class);
+    }
+
+    @Test
+    void incrementsAddToTheStoredRow() {
+        projector.onProgressIncremented(ProgressIncrementedEvent.of(userId, topicId, Difficulty.EASY, 2, 2, FIRST_ANSWER));
+        projector.onProgressIncremented(ProgressIncrementedEvent.of(userId, topicId, Difficulty.EASY, 1, 0, SECOND_ANSWER));
+        projector.onProgressIncremented(ProgressIncrementedEvent.of(userId, topicId, Difficulty.HARD, 1, 1, SECOND_ANSWER));
+
+        Map<String, Object> summary = summary();
+        assertThat(summary.get("questions_attempted")).isEqualTo(4);
+        assertThat(summary.get("questions_correct")).isEqualTo(3);
+        assertThat((double) summary.get("overall_score")).isCloseTo(75.0, within(1e-9));
+        assertThat(summary.get("easy_attempted")).isEqualTo(3);
+        assertThat(summary.get("easy_correct")).isEqualTo(2);
+        assertThat(summary.get("hard_attempted")).isEqualTo(1);
+        assertThat(summary.get("medium_attempted")).isEqualTo(0);
+        assertThat(summary.get("medium_last_attempt_date")).isNull();
+        assertThat(summary.get("start_date")).isEqualTo(Timestamp.valueOf(FIRST_ANSWER));
+        assertThat(summary.get("last_attempt_date")).isEqualTo(Timestamp.valueOf(SECOND_ANSWER));
+        assertThat(summary.get("cycle_expires_at")).isEqualTo(Timestamp.valueOf(SECOND_ANSWER.plusDays(10)));
+        assertThat(summary.get("current_difficulty")).isEqualTo("EASY");
+    }
+
+    @Test
+    void currentDifficultyMovesUpOnceTheLevelIsMastered() {
+        projector.onProgressIncremented(ProgressIncrementedEvent.of(userId, topicId, Difficulty.EASY, 19, 19, FIRST_ANSWER));
+        assertThat(summary().get("current_difficulty")).isEqualTo("EASY");
+
+        projector.onProgressIncremented(ProgressIncrementedEvent.of(userId, topicId, Difficulty.EASY, 1, 0, FIRST_ANSWER));
+        assertThat(summary().get("current_difficulty")).isEqualTo("MEDIUM");
+
+        // 75% on MEDIUM is below the threshold
+        projector.onProgressIncremented(ProgressIncrementedEvent.of(userId, topicId, Difficulty.MEDIUM, 20, 15, SECOND_ANSWER));
+        assertThat(summary().get("current_difficulty")).isEqualTo("MEDIUM");
+    }
+
+    @Test
+    void rebuildReplacesTheRowWithTheWriteSide() {
+        // A stale summary row, then the write side as it stands after a reset and a few answers
+        projector.onProgressIncremented(ProgressIncrementedEvent.of(userId, topicId, Difficulty.MEDIUM, 20, 20, FIRST_ANSWER));
+        topicProgressRepository.incrementCounters(userId, topicId, 4, 3, SECOND_ANSWER);
+        difficultyProgressRepository.incrementCounters(userId, topicId, "EASY", 3, 3, SECOND_ANSWER);
+        difficultyProgressRepository.incrementCounters(userId, topicId, "HARD", 1, 0, SECOND_ANSWER);
+
+        projector.onProgressUpdated(ProgressUpdatedEvent.of(userId, topicId));
+
+        Map<String, Object> summary = summary();
+        assertThat(summary.get("questions_attempted")).isEqualTo(4);
+        assertThat(summary.get("questions_correct")).isEqualTo(3);
+        assertThat(summary.get("easy_attempted")).isEqualTo(3);
+        assertThat(summary.get("medium_attempted")).isEqualTo(0);
+        assertThat(summary.get("medium_last_attempt_date")).isNull();
+        assertThat(summary.get("hard_attempted")).isEqualTo(1);
+        assertThat(summary.get("hard_last_attempt_date")).isEqualTo(Timestamp.valueOf(SECOND_ANSWER));
+        assertThat(summary.get("current_difficulty")).isEqualTo("EASY");
+        assertThat(summary.get("is_active")).isEqualTo(true);
+    }
+
+    @Test
+    void rebuildIgnoresTopicsWithoutProgress() {
+        projector.onProgressUpdated(ProgressUpdatedEvent.of(userId, topicId));
+
+        assertThat(userProgressSummaryRepository.findByUserIdAndTopicId(userId, topicId)).isEmpty();
+    }
+
+    private Map<String, Object> summary() {
+        return jdbcTemplate.queryForMap("SELECT * FROM user_progress_summary WHERE user_id = ? AND topic_id = ?",
+                userId, topicId);
+    }
+}
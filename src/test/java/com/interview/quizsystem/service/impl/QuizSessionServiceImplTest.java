@@ -0,0 +1,128 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.QuestionDTO;
+import com.interview.quizsystem.model.QuestionType;
+import com.interview.quizsystem.model.QuizSession;
+import com.interview.quizsystem.model.entity.Question;
+import com.interview.quizsystem.model.entity.Topic;
+import com.interview.quizsystem.model.entity.User;
+import com.interview.quizsystem.repository.QuizSessionRepository;
+import com.interview.quizsystem.service.AdaptiveDifficultyService;
+import com.interview.quizsystem.service.QuestionGeneratorService;
+import com.interview.quizsystem.service.TopicService;
+import com.interview.quizsystem.service.UserService;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+// Collaborators the tested paths never touch are left null by @InjectMocks
+@ExtendWith(MockitoExtension.class)
+class QuizSessionServiceImplTest {
+
+    @Mock
+    private QuestionGeneratorService questionGeneratorService;
+    @Mock
+    private QuizSessionRepository quizSessionRepository;
+    @Mock
+    private AdaptiveDifficultyService adaptiveDifficultyService;
+    @Mock
+    private TopicService topicService;
+    @Mock
+    private UserService userService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate();
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @InjectMocks
+    private QuizSessionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.setTransactionManager(transactionManager);
+        when(quizSessionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userService.getCurrentUser()).thenReturn(User.builder().id(7L).build());
+        when(topicService.getOrCreateTopic("java")).thenReturn(Topic.builder().id(3L).name("java").build());
+    }
+
+    @Test
+    void questionsAreGeneratedBetweenThePlanAndTheSessionTransactions() {
+        when(questionGeneratorService.generateQuestions("java", 2, Difficulty.MEDIUM))
+                .thenReturn(List.of(question("q1"), question("q2")));
+
+        service.startSession("java", Difficulty.MEDIUM, 2);
+
+        InOrder order = inOrder(adaptiveDifficultyService, questionGeneratorService, transactionManager,
+                quizSessionRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(adaptiveDifficultyService).selectBankQuestions(7L, 3L, Difficulty.MEDIUM, 2);
+        order.verify(transactionManager).commit(any());
+        order.verify(questionGeneratorService).generateQuestions("java", 2, Difficulty.MEDIUM);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(quizSessionRepository).save(any());
+        order.verify(transactionManager).commit(any());
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void bankQuestionsAreCopiedAndOnlyTheRestIsGenerated() {
+        when(adaptiveDifficultyService.selectBankQuestions(eq(7L), eq(3L), eq(Difficulty.MEDIUM), anyInt()))
+                .thenReturn(List.of(Question.builder()
+                        .id("original")
+                        .questionText("Question original")
+                        .questionType(QuestionType.SHORT_ANSWER)
+                        .options(List.of())
+                        .difficulty(Difficulty.MEDIUM)
+                        .expectedAnswer("answer original")
+                        .build()));
+        when(questionGeneratorService.generateQuestions("java", 1, Difficulty.MEDIUM)).thenReturn(List.of(question("q1")));
+
+        QuizSession session = service.startSession("java", Difficulty.MEDIUM, 2);
+
+        assertThat(session.getStoredQuestions()).extracting(Question::getOriginQuestionId)
+                .containsExactly("original", null);
+        assertThat(session.getStoredQuestions().get(0).getId()).isNotEqualTo("original");
+        assertThat(session.getUserId()).isEqualTo(7L);
+    }
+
+    @Test
+    void startedSessionHidesTheCorrectAnswers() {
+        when(questionGeneratorService.generateQuestions("java", 1, Difficulty.EASY)).thenReturn(List.of(question("q1")));
+
+        QuizSession session = service.startSession("java", Difficulty.EASY, 1);
+
+        assertThat(session.getQuestions()).extracting(QuestionDTO::getCorrectAnswer).containsOnlyNulls();
+        assertThat(session.getStoredQuestions()).extracting(Question::getExpectedAnswer).containsExactly("answer q1");
+    }
+
+    private static QuestionDTO question(String id) {
+        return QuestionDTO.builder()
+                .id(id)
+                .content("Question " + id)
+                .type(QuestionType.SHORT_ANSWER)
+                .correctAnswer("answer " + id)
+                .topic("java")
+                .difficulty(Difficulty.MEDIUM)
+                .build();
+    }
+}
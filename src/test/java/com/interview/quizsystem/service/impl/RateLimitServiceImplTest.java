@@ -0,0 +1,103 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.RateLimitConfig;
+import com.interview.quizsystem.model.AIOperationType;
+import com.interview.quizsystem.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitServiceImplTest {
+
+    private static final User ALICE = User.builder().id(1L).build();
+    private static final User BOB = User.builder().id(2L).build();
+
+    private RateLimitConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new RateLimitConfig();
+        config.setSessionStartsPerUserPerMinute(2);
+        config.setSessionStartsPerTopicPerMinute(3);
+        config.setAiCallsPerUserPerMinute(new EnumMap<>(Map.of(AIOperationType.QUESTION_GENERATION, 2L)));
+        config.setDefaultAiCallsPerUserPerMinute(1);
+        config.setAiTokensPerUserPerHour(1_000);
+    }
+
+    @Test
+    void sessionStartsAreLimitedPerUser() {
+        RateLimitServiceImpl rateLimits = new RateLimitServiceImpl(config);
+
+        assertThat(rateLimits.tryStartSession(ALICE, "java")).isTrue();
+        assertThat(rateLimits.tryStartSession(ALICE, "spring")).isTrue();
+        assertThat(rateLimits.tryStartSession(ALICE, "kafka")).isFalse();
+
+        assertThat(rateLimits.tryStartSession(BOB, "kafka")).isTrue();
+    }
+
+    @Test
+    void rejectionByTopicHandsBackTheUsersToken() {
+        RateLimitServiceImpl rateLimits = new RateLimitServiceImpl(config);
+        User carol = User.builder().id(3L).build();
+        rateLimits.tryStartSession(BOB, "java");
+        rateLimits.tryStartSession(BOB, "java");
+        rateLimits.tryStartSession(carol, "java");
+
+        assertThat(rateLimits.tryStartSession(ALICE, "Java")).isFalse();
+
+        assertThat(rateLimits.tryStartSession(ALICE, "spring")).isTrue();
+        assertThat(rateLimits.tryStartSession(ALICE, "kafka")).isTrue();
+    }
+
+    @Test
+    void unconfiguredOperationGetsTheDefaultLimit() {
+        RateLimitServiceImpl rateLimits = new RateLimitServiceImpl(config);
+
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.ANSWER_EVALUATION, 10)).isTrue();
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.ANSWER_EVALUATION, 10)).isFalse();
+
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 10)).isTrue();
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 10)).isTrue();
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 10)).isFalse();
+    }
+
+    @Test
+    void exhaustedTokenBudgetHandsBackTheCallToken() {
+        RateLimitServiceImpl rateLimits = new RateLimitServiceImpl(config);
+
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 1_001)).isFalse();
+
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 500)).isTrue();
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 500)).isTrue();
+    }
+
+    @Test
+    void underestimateIsChargedAsDebtAndOverestimateRefunded() {
+        RateLimitServiceImpl rateLimits = new RateLimitServiceImpl(config);
+
+        rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 100);
+        rateLimits.reconcileAiTokens(ALICE, 100, 1_300);
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 1)).isFalse();
+
+        // Refunding an over-estimate of 400 leaves the budget at 100
+        rateLimits.reconcileAiTokens(ALICE, 400, 0);
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 101)).isFalse();
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 100)).isTrue();
+    }
+
+    @Test
+    void debtIsCappedAtOneHoursBudget() {
+        RateLimitServiceImpl rateLimits = new RateLimitServiceImpl(config);
+
+        rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 1_000);
+        rateLimits.reconcileAiTokens(ALICE, 1_000, 1_000_000);
+
+        // Uncapped, the debt would be 999,000 tokens; capped it is 1,000, which a refund of 1,500 clears
+        rateLimits.reconcileAiTokens(ALICE, 1_500, 0);
+        assertThat(rateLimits.tryAcquireAiCall(ALICE, AIOperationType.QUESTION_GENERATION, 500)).isTrue();
+    }
+}
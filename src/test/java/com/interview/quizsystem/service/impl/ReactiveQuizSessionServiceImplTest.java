@@ -0,0 +1,169 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.dto.AnswerFeedback;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.QuestionDTO;
+import com.interview.quizsystem.model.QuestionType;
+import com.interview.quizsystem.model.QuizSession;
+import com.interview.quizsystem.model.SessionPlan;
+import com.interview.quizsystem.model.UserAnswer;
+import com.interview.quizsystem.service.AnswerEvaluationService;
+import com.interview.quizsystem.service.GitHubParserService;
+import com.interview.quizsystem.service.QuestionGeneratorService;
+import com.interview.quizsystem.service.QuizSessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveQuizSessionServiceImplTest {
+
+    private final GitHubParserService gitHubParserService = mock(GitHubParserService.class);
+    private final QuestionGeneratorService questionGeneratorService = mock(QuestionGeneratorService.class);
+    private final QuizSessionService quizSessionService = mock(QuizSessionService.class);
+    private final AnswerEvaluationService answerEvaluationService = mock(AnswerEvaluationService.class);
+    private ReactiveQuizSessionServiceImpl reactiveService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveService = new ReactiveQuizSessionServiceImpl(gitHubParserService, questionGeneratorService,
+                quizSessionService, answerEvaluationService);
+        ReflectionTestUtils.setField(reactiveService, "generationConcurrency", 1);
+        when(quizSessionService.planSession(eq("java"), any(), anyInt()))
+                .thenReturn(SessionPlan.builder().difficulty(Difficulty.EASY).build());
+        when(gitHubParserService.getContentByTopic("java")).thenReturn(Map.of("java-streams.md", "collectors"));
+        AtomicInteger generated = new AtomicInteger();
+        when(questionGeneratorService.generateQuestionAsync(anyString(), eq("java"), eq(Difficulty.EASY)))
+                .thenAnswer(invocation -> Mono.fromSupplier(() -> question("q" + generated.incrementAndGet(),
+                        QuestionType.TRUE_FALSE)));
+    }
+
+    @Test
+    void completedStreamStoresTheSessionOnce() {
+        List<QuestionDTO> streamed = reactiveService.startSession("session-1", "java", Difficulty.EASY, 2)
+                .collectList().block();
+
+        assertThat(streamed).extracting(QuestionDTO::getCorrectAnswer).containsOnlyNulls();
+        List<QuestionDTO> stored = storedQuestions("session-1");
+        assertThat(stored).extracting(QuestionDTO::getId).containsExactly("q1", "q2");
+        assertThat(stored).extracting(QuestionDTO::getCorrectAnswer).containsOnly("true");
+        verify(quizSessionService, after(200)).createSession(anyString(), anyString(), any(), anyList());
+    }
+
+    @Test
+    void cancelledStreamStoresTheQuestionsAlreadySent() {
+        QuestionDTO first = reactiveService.startSession("session-2", "java", Difficulty.EASY, 5).blockFirst();
+
+        assertThat(first.getId()).isEqualTo("q1");
+        assertThat(storedQuestions("session-2")).extracting(QuestionDTO::getId).containsExactly("q1");
+    }
+
+    @Test
+    void bankQuestionsAreSentFirstAndOnlyTheRestIsGenerated() {
+        QuestionDTO banked = question("bank-1", QuestionType.TRUE_FALSE);
+        when(quizSessionService.planSession("java", null, 3))
+                .thenReturn(SessionPlan.builder().difficulty(Difficulty.EASY).bankQuestions(List.of(banked)).build());
+
+        List<QuestionDTO> streamed = reactiveService.startSession("session-5", "java", null, 3).collectList().block();
+
+        assertThat(streamed).extracting(QuestionDTO::getId).containsExactly("bank-1", "q1", "q2");
+        assertThat(streamed).extracting(QuestionDTO::getCorrectAnswer).containsOnlyNulls();
+        assertThat(storedQuestions("session-5")).extracting(QuestionDTO::getId).containsExactly("bank-1", "q1", "q2");
+        verify(questionGeneratorService, times(2)).generateQuestionAsync(anyString(), eq("java"), eq(Difficulty.EASY));
+    }
+
+    @Test
+    void sessionFilledFromTheBankGeneratesNothing() {
+        List<QuestionDTO> banked = List.of(question("bank-1", QuestionType.TRUE_FALSE),
+                question("bank-2", QuestionType.SHORT_ANSWER));
+        when(quizSessionService.planSession("java", Difficulty.EASY, 2))
+                .thenReturn(SessionPlan.builder().difficulty(Difficulty.EASY).bankQuestions(banked).build());
+
+        List<QuestionDTO> streamed = reactiveService.startSession("session-6", "java", Difficulty.EASY, 2)
+                .collectList().block();
+
+        assertThat(streamed).extracting(QuestionDTO::getId).containsExactly("bank-1", "bank-2");
+        assertThat(storedQuestions("session-6")).extracting(QuestionDTO::getId).containsExactly("bank-1", "bank-2");
+        verify(gitHubParserService, never()).getContentByTopic(anyString());
+        verify(questionGeneratorService, never()).generateQuestionAsync(anyString(), anyString(), any());
+    }
+
+    @Test
+    void freeTextAnswerIsEvaluatedOutsideTheSubmitTransaction() {
+        QuestionDTO question = question("q1", QuestionType.SHORT_ANSWER);
+        AnswerFeedback evaluation = AnswerFeedback.builder().similarityScore(90.0).feedback("Good").build();
+        when(quizSessionService.getQuestionForAnswer("session-3", "q1")).thenReturn(question);
+        when(answerEvaluationService.evaluateAnswerAsync(question, "lazy streams")).thenReturn(Mono.just(evaluation));
+        when(quizSessionService.submitAnswer("session-3", "q1", " lazy streams ", evaluation))
+                .thenReturn(answered(question.toBuilder().answerFeedback(evaluation).build(), true));
+
+        AnswerFeedback feedback = reactiveService.submitAnswer("session-3", "q1", " lazy streams ").block();
+
+        assertThat(feedback.isCorrect()).isTrue();
+        assertThat(feedback.getFeedback()).isEqualTo("Good");
+        verify(answerEvaluationService, never()).evaluateAnswer(any(), any());
+        verify(quizSessionService, never()).submitAnswer("session-3", "q1", " lazy streams ");
+    }
+
+    @Test
+    void exactMatchAndBlankAnswersSkipEvaluation() {
+        QuestionDTO trueFalse = question("q1", QuestionType.TRUE_FALSE);
+        QuestionDTO shortAnswer = question("q2", QuestionType.SHORT_ANSWER);
+        when(quizSessionService.getQuestionForAnswer("session-4", "q1")).thenReturn(trueFalse);
+        when(quizSessionService.getQuestionForAnswer("session-4", "q2")).thenReturn(shortAnswer);
+        when(quizSessionService.submitAnswer(eq("session-4"), eq("q1"), eq("true"), isNull()))
+                .thenReturn(answered(trueFalse, true));
+        when(quizSessionService.submitAnswer(eq("session-4"), eq("q2"), eq(" "), isNull()))
+                .thenReturn(answered(shortAnswer, false));
+
+        assertThat(reactiveService.submitAnswer("session-4", "q1", "true").block().isCorrect()).isTrue();
+        assertThat(reactiveService.submitAnswer("session-4", "q2", " ").block().isCorrect()).isFalse();
+        verify(answerEvaluationService, never()).evaluateAnswerAsync(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<QuestionDTO> storedQuestions(String sessionId) {
+        ArgumentCaptor<List<QuestionDTO>> questions = ArgumentCaptor.forClass(List.class);
+        verify(quizSessionService, timeout(5000)).createSession(eq(sessionId), eq("java"), eq(Difficulty.EASY),
+                questions.capture());
+        return questions.getValue();
+    }
+
+    private static QuestionDTO question(String id, QuestionType type) {
+        return QuestionDTO.builder()
+                .id(id)
+                .content("Question " + id)
+                .type(type)
+                .correctAnswer("true")
+                .topic("java")
+                .difficulty(Difficulty.EASY)
+                .build();
+    }
+
+    private static QuizSession answered(QuestionDTO question, boolean correct) {
+        return QuizSession.builder()
+                .visibleQuestions(List.of(question))
+                .answers(List.of(UserAnswer.builder().questionId(question.getId()).correct(correct).build()))
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.config.ReviewConfig;
+import com.interview.quizsystem.event.AnswerSubmittedEvent;
+import com.interview.quizsystem.model.Difficulty;
+import com.interview.quizsystem.model.entity.ReviewSchedule;
+import com.interview.quizsystem.repository.ItemRatingRow;
+import com.interview.quizsystem.repository.QuestionRepository;
+import com.interview.quizsystem.repository.ReviewScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// SM-2 with the default configuration: intervals of 1 and 6 days, ease 2.5 with a floor of 1.3, capped at 365 days.
+// A correct answer (quality 4) leaves the ease as it is, a wrong one (quality 1) lowers it by 0.54
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Long TOPIC_ID = 3L;
+
+    @Mock
+    private ReviewScheduleRepository reviewScheduleRepository;
+    @Mock
+    private QuestionRepository questionRepository;
+
+    private ReviewServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReviewServiceImpl(new ReviewConfig(), reviewScheduleRepository, questionRepository);
+    }
+
+    @Test
+    void intervalsGrowByTheEaseFactorAfterTheFirstTwoReviews() {
+        stored("q1");
+        when(reviewScheduleRepository.findByUserIdAndQuestionIdIn(eq(USER_ID), anyCollection())).thenReturn(List.of());
+
+        service.applyAnswers(List.of(answer("q1", true), answer("q1", true), answer("q1", true),
+                answer("q1", true)));
+
+        // 1, 6, then round(6 * 2.5) = 15 and round(15 * 2.5) = 38
+        Upsert upsert = upsert();
+        assertThat(upsert.intervalDays).isEqualTo(38);
+        assertThat(upsert.repetitions).isEqualTo(4);
+        assertThat(upsert.lapses).isZero();
+        assertThat(upsert.easeFactor).isCloseTo(2.5, within(1e-9));
+        assertThat(Duration.between(upsert.now, upsert.dueAt)).isEqualTo(Duration.ofDays(38));
+    }
+
+    @Test
+    void lapseResetsTheIntervalAndLowersTheEase() {
+        stored("q1");
+        existing("q1", 2.5, 30, 4, 0);
+
+        service.applyAnswers(List.of(answer("q1", false)));
+
+        Upsert upsert = upsert();
+        assertThat(upsert.intervalDays).isEqualTo(1);
+        assertThat(upsert.repetitions).isZero();
+        assertThat(upsert.lapses).isEqualTo(1);
+        assertThat(upsert.easeFactor).isCloseTo(1.96, within(1e-9));
+        assertThat(Duration.between(upsert.now, upsert.dueAt)).isEqualTo(Duration.ofDays(1));
+    }
+
+    @Test
+    void relearnedQuestionStartsOverFromTheFirstInterval() {
+        stored("q1");
+        existing("q1", 2.5, 30, 4, 0);
+
+        service.applyAnswers(List.of(answer("q1", false), answer("q1", true), answer("q1", true),
+                answer("q1", true)));
+
+        // 1 after the lapse, then 1, 6 and round(6 * 1.96) = 12
+        Upsert upsert = upsert();
+        assertThat(upsert.intervalDays).isEqualTo(12);
+        assertThat(upsert.repetitions).isEqualTo(3);
+        assertThat(upsert.lapses).isEqualTo(1);
+    }
+
+    @Test
+    void easeFactorNeverDropsBelowTheFloor() {
+        stored("q1");
+        existing("q1", 1.4, 3, 2, 5);
+
+        service.applyAnswers(List.of(answer("q1", false), answer("q1", false)));
+
+        Upsert upsert = upsert();
+        assertThat(upsert.easeFactor).isCloseTo(1.3, within(1e-9));
+        assertThat(upsert.lapses).isEqualTo(7);
+    }
+
+    @Test
+    void intervalIsCappedAtTheMaximum() {
+        stored("q1");
+        existing("q1", 2.5, 300, 6, 0);
+
+        service.applyAnswers(List.of(answer("q1", true)));
+
+        assertThat(upsert().intervalDays).isEqualTo(365);
+    }
+
+    @Test
+    void copiesAreScheduledOnTheBankOriginal() {
+        when(questionRepository.findItemRatings(anyCollection())).thenReturn(List.of(item("copy-1", "original")));
+        when(reviewScheduleRepository.findByUserIdAndQuestionIdIn(eq(USER_ID), anyCollection())).thenReturn(List.of());
+
+        // The second question is no longer stored
+        service.applyAnswers(List.of(answer("copy-1", true), answer("gone", true)));
+
+        verify(reviewScheduleRepository).upsert(eq(USER_ID), eq("original"), eq(TOPIC_ID), anyDouble(), eq(1),
+                eq(1), eq(0), any(), any());
+        verify(reviewScheduleRepository, never()).upsert(anyLong(), eq("gone"), anyLong(), anyDouble(), anyInt(),
+                anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void skippedAnswersLeaveTheScheduleAlone() {
+        service.applyAnswers(List.of(skipped("q1")));
+
+        verifyNoInteractions(reviewScheduleRepository, questionRepository);
+    }
+
+    private void stored(String... questionIds) {
+        when(questionRepository.findItemRatings(anyCollection())).thenReturn(Arrays.stream(questionIds)
+                .map(id -> item(id, id))
+                .toList());
+    }
+
+    private void existing(String questionId, double easeFactor, int intervalDays, int repetitions, int lapses) {
+        LocalDateTime reviewed = LocalDateTime.now().minusDays(intervalDays);
+        when(reviewScheduleRepository.findByUserIdAndQuestionIdIn(eq(USER_ID), anyCollection()))
+                .thenReturn(List.of(ReviewSchedule.builder()
+                        .id(1L)
+                        .userId(USER_ID)
+                        .questionId(questionId)
+                        .topicId(TOPIC_ID)
+                        .easeFactor(easeFactor)
+                        .intervalDays(intervalDays)
+                        .repetitions(repetitions)
+                        .lapses(lapses)
+                        .dueAt(reviewed.plusDays(intervalDays))
+                        .lastReviewedAt(reviewed)
+                        .build()));
+    }
+
+    private Upsert upsert() {
+        ArgumentCaptor<Double> easeFactor = ArgumentCaptor.forClass(Double.class);
+        ArgumentCaptor<Integer> intervalDays = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> repetitions = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> lapses = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<LocalDateTime> dueAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reviewScheduleRepository).upsert(eq(USER_ID), anyString(), eq(TOPIC_ID), easeFactor.capture(),
+                intervalDays.capture(), repetitions.capture(), lapses.capture(), dueAt.capture(), now.capture());
+        return new Upsert(easeFactor.getValue(), intervalDays.getValue(), repetitions.getValue(), lapses.getValue(),
+                dueAt.getValue(), now.getValue());
+    }
+
+    private static AnswerSubmittedEvent answer(String questionId, boolean correct) {
+        return new AnswerSubmittedEvent(USER_ID, TOPIC_ID, Difficulty.MEDIUM, correct, "session-1", questionId, false);
+    }
+
+    private static AnswerSubmittedEvent skipped(String questionId) {
+        return new AnswerSubmittedEvent(USER_ID, TOPIC_ID, Difficulty.MEDIUM, false, "session-1", questionId, true);
+    }
+
+    private static ItemRatingRow item(String questionId, String itemId) {
+        return new ItemRatingRow() {
+            @Override
+            public String getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public String getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public double getItemRating() {
+                return 1500;
+            }
+        };
+    }
+
+    private record Upsert(double easeFactor, int intervalDays, int repetitions, int lapses, LocalDateTime dueAt,
+                          LocalDateTime now) {
+    }
+}
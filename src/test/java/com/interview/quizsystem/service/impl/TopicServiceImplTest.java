@@ -0,0 +1,116 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.AdaptiveDifficultyConfig;
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.config.EntityCacheConfig;
+import com.interview.quizsystem.config.TopicCacheConfig;
+import com.interview.quizsystem.model.entity.Topic;
+import com.interview.quizsystem.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TopicServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TopicRepository topicRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CacheManager cacheManager;
+    private TopicServiceImpl topicService;
+    private String name;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager(new TopicCacheConfig(), new EntityCacheConfig(),
+                new AdaptiveDifficultyConfig());
+        topicService = new TopicServiceImpl(topicRepository, mock(ApplicationEventPublisher.class), cacheManager);
+        name = "topic-" + UUID.randomUUID();
+    }
+
+    @Test
+    void missIsNotCached() {
+        assertThat(topicService.getTopicByName(name)).isNull();
+
+        Long id = jdbcTemplate.queryForObject("INSERT INTO topics (name) VALUES (?) RETURNING id", Long.class, name);
+
+        assertThat(topicService.getTopicByName(name).getId()).isEqualTo(id);
+    }
+
+    @Test
+    void hitIsCachedAsIdUnderCaseInsensitiveKey() {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO topics (name) VALUES (?) RETURNING id", Long.class, name);
+
+        topicService.getTopicByName(name.toUpperCase());
+
+        assertThat(cacheManager.getCache(CacheConfig.TOPICS_BY_NAME).get("topic:" + name, Long.class)).isEqualTo(id);
+        assertThat(topicService.getTopicByName(name).getId()).isEqualTo(id);
+    }
+
+    @Test
+    void getOrCreateReturnsTheExistingRow() {
+        Topic created = topicService.getOrCreateTopic(name);
+
+        assertThat(topicService.getOrCreateTopic(name).getId()).isEqualTo(created.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM topics WHERE name = ?", Integer.class, name))
+                .isEqualTo(1);
+    }
+
+    // The second creator's insert waits on the first one's uncommitted row, then finds it
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentCreatorsGetTheSameRow() throws Exception {
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> transactions.execute(status -> {
+                Long id = topicService.getOrCreateTopic(name).getId();
+                inserted.countDown();
+                await(release);
+                return id;
+            }));
+            assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<Long> second = CompletableFuture.supplyAsync(() -> transactions.execute(
+                    status -> topicService.getOrCreateTopic(name).getId()));
+            Thread.sleep(200);
+            assertThat(second).isNotDone();
+            release.countDown();
+
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(first.get(10, TimeUnit.SECONDS));
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM topics WHERE name = ?", Integer.class, name))
+                    .isEqualTo(1);
+        } finally {
+            release.countDown();
+            jdbcTemplate.update("DELETE FROM topics WHERE name = ?", name);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
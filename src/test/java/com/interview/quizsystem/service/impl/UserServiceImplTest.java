@@ -0,0 +1,57 @@
+package com.interview.quizsystem.service.impl;
+
+import com.interview.quizsystem.PostgresIntegrationTest;
+import com.interview.quizsystem.config.AdaptiveDifficultyConfig;
+import com.interview.quizsystem.config.CacheConfig;
+import com.interview.quizsystem.config.EntityCacheConfig;
+import com.interview.quizsystem.config.TopicCacheConfig;
+import com.interview.quizsystem.model.entity.User;
+import com.interview.quizsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class UserServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserServiceImpl userService;
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, mock(ApplicationEventPublisher.class),
+                new CacheConfig().cacheManager(new TopicCacheConfig(), new EntityCacheConfig(),
+                        new AdaptiveDifficultyConfig()));
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void getOrCreateInsertsOnce() {
+        User created = userService.getOrCreateUser(username, username + "@example.com");
+
+        assertThat(userService.getOrCreateUser(username, username + "@example.com").getId()).isEqualTo(created.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE username = ?", Integer.class,
+                username)).isEqualTo(1);
+    }
+
+    @Test
+    void usernameTakenByAnotherEmailIsRejected() {
+        userService.getOrCreateUser(username, username + "@example.com");
+
+        assertThatThrownBy(() -> userService.getOrCreateUser(username, "second-" + username + "@example.com"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(username);
+    }
+}
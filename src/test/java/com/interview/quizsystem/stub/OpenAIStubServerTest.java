@@ -0,0 +1,180 @@
+package com.interview.quizsystem.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.quizsystem.config.OpenAIStubConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Latency is pinned to 1 ms so the tests only exercise what the seed decides
+class OpenAIStubServerTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final List<String> PROMPTS = List.of(
+            "Difficulty level: EASY\nContent: streams",
+            "Difficulty level: HARD\nContent: records",
+            "Difficulty level: MEDIUM\nContent: generics",
+            "Difficulty level: EASY\nContent: streams");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<OpenAIStubServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (OpenAIStubServer server : servers) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void outcomesDependOnTheRequestsNotOnTheirOrder() throws Exception {
+        OpenAIStubConfig config = config();
+        config.setErrorRate(0.4);
+        int inOrder = start(config);
+        OpenAIStubConfig sameConfig = config();
+        sameConfig.setErrorRate(0.4);
+        int reversed = start(sameConfig);
+
+        Map<String, List<String>> first = new LinkedHashMap<>();
+        for (String prompt : PROMPTS) {
+            first.computeIfAbsent(prompt, p -> new ArrayList<>()).add(outcome(post(inOrder, prompt, false)));
+        }
+        Map<String, List<String>> second = new LinkedHashMap<>();
+        for (int i = PROMPTS.size() - 1; i >= 0; i--) {
+            String prompt = PROMPTS.get(i);
+            second.computeIfAbsent(prompt, p -> new ArrayList<>()).add(outcome(post(reversed, prompt, false)));
+        }
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void repeatedPromptGetsAFreshPayload() throws Exception {
+        int port = start(config());
+
+        // Seeded by the occurrence too, so the generator's duplicate check accepts the second question
+        assertThat(outcome(post(port, PROMPTS.get(0), false))).isNotEqualTo(outcome(post(port, PROMPTS.get(0), false)));
+    }
+
+    @Test
+    void differentSeedsGiveDifferentPayloads() throws Exception {
+        OpenAIStubConfig config = config();
+        int seeded = start(config);
+        OpenAIStubConfig otherConfig = config();
+        otherConfig.setSeed(7);
+        int otherSeed = start(otherConfig);
+
+        assertThat(outcome(post(seeded, PROMPTS.get(1), false)))
+                .isNotEqualTo(outcome(post(otherSeed, PROMPTS.get(1), false)));
+    }
+
+    @Test
+    void rateLimitedRequestsGetRetryAfter() throws Exception {
+        OpenAIStubConfig config = config();
+        config.setRateLimitRate(1.0);
+        config.setRetryAfterSeconds(3);
+        int port = start(config);
+
+        HttpResponse<String> response = post(port, PROMPTS.get(0), false);
+
+        assertThat(response.statusCode()).isEqualTo(429);
+        assertThat(response.headers().firstValue("Retry-After")).contains("3");
+        assertThat(OBJECT_MAPPER.readTree(response.body()).path("error").path("type").asText())
+                .isEqualTo("rate_limit_exceeded");
+    }
+
+    @Test
+    void evaluationIsCorrectOnlyForTheExpectedAnswer() throws Exception {
+        int port = start(config());
+
+        JsonNode right = content(post(port, evaluationPrompt("a stream is lazy", "A stream is lazy"), false));
+        JsonNode wrong = content(post(port, evaluationPrompt("a stream is lazy", "a stream is eager"), false));
+
+        assertThat(right.path("correct").asBoolean()).isTrue();
+        assertThat(right.path("similarityScore").asDouble()).isGreaterThanOrEqualTo(90);
+        assertThat(wrong.path("correct").asBoolean()).isFalse();
+        assertThat(wrong.path("similarityScore").asDouble()).isLessThan(70);
+    }
+
+    @Test
+    void streamedResponseIsChunkedAndEndsWithDone() throws Exception {
+        OpenAIStubConfig config = config();
+        config.setStreamChunkDelayMs(0);
+        int port = start(config);
+
+        HttpResponse<String> response = post(port, PROMPTS.get(2), true);
+
+        assertThat(response.headers().firstValue("Content-Type")).contains("text/event-stream");
+        List<String> events = response.body().lines().filter(line -> line.startsWith("data: ")).toList();
+        assertThat(events).last().isEqualTo("data: [DONE]");
+        StringBuilder content = new StringBuilder();
+        for (String event : events.subList(0, events.size() - 1)) {
+            content.append(OBJECT_MAPPER.readTree(event.substring(6)).path("choices").get(0).path("delta")
+                    .path("content").asText(""));
+        }
+        assertThat(content.toString()).contains("\"question\"").contains("MEDIUM");
+    }
+
+    // Each server gets a free port of its own
+    private static OpenAIStubConfig config() throws IOException {
+        OpenAIStubConfig config = new OpenAIStubConfig();
+        try (ServerSocket socket = new ServerSocket(0)) {
+            config.setPort(socket.getLocalPort());
+        }
+        config.setThreads(4);
+        config.setLatencyMedianMs(1);
+        config.setLatencyP99Ms(1);
+        return config;
+    }
+
+    private int start(OpenAIStubConfig config) throws IOException {
+        OpenAIStubServer server = new OpenAIStubServer(config, OBJECT_MAPPER);
+        server.start();
+        servers.add(server);
+        return config.getPort();
+    }
+
+    private HttpResponse<String> post(int port, String prompt, boolean stream) throws Exception {
+        Map<String, Object> body = Map.of(
+                "model", "gpt-stub",
+                "stream", stream,
+                "messages", List.of(Map.of("role", "system", "content", "You are a tutor"),
+                        Map.of("role", "user", "content", prompt)));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/chat/completions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String outcome(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            return Integer.toString(response.statusCode());
+        }
+        return content(response).toString();
+    }
+
+    private static JsonNode content(HttpResponse<String> response) throws IOException {
+        String content = OBJECT_MAPPER.readTree(response.body()).path("choices").get(0).path("message")
+                .path("content").asText();
+        return OBJECT_MAPPER.readTree(content.replace("```json", "").replace("```", ""));
+    }
+
+    private static String evaluationPrompt(String correctAnswer, String userAnswer) {
+        return "Question: What is a stream?\nCorrect Answer: " + correctAnswer + "\nUser's Answer: " + userAnswer
+                + "\nQuestion's Explanation: Streams are evaluated on demand.";
+    }
+}